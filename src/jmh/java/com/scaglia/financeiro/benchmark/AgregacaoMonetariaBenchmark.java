@@ -0,0 +1,127 @@
+package com.scaglia.financeiro.benchmark;
+
+import com.scaglia.financeiro.dto.SerieRelatorioDTO;
+import com.scaglia.financeiro.dto.TotalMensalCategoriaDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.mapper.BalancoMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Série mensal do relatório: soma em centavos (BalancoMapper atual) contra a soma em BigDecimal
+ * (implementação anterior, reproduzida aqui como referência). Rodar com -prof gc (já incluído no perfil
+ * benchmark) para comparar também os bytes alocados por operação (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AgregacaoMonetariaBenchmark {
+
+    // 12 = um ano; 120 = limite da série (10 anos)
+    @Param({"12", "120"})
+    private int meses;
+
+    @Param({"10", "50"})
+    private int categorias;
+
+    private BalancoMapper balancoMapper;
+    private YearMonth inicio;
+    private YearMonth fim;
+    private List<TotalMensalCategoriaDTO> totais;
+
+    @Setup
+    public void setup() {
+        balancoMapper = new BalancoMapper();
+        inicio = YearMonth.of(2016, 1);
+        fim = inicio.plusMonths(meses - 1);
+        totais = new ArrayList<>(meses * categorias);
+        for (int m = 0; m < meses; m++) {
+            YearMonth mes = inicio.plusMonths(m);
+            for (int c = 0; c < categorias; c++) {
+                TipoMovimentacao tipo = c % 2 == 0 ? TipoMovimentacao.RECEITA : TipoMovimentacao.DESPESA;
+                BigDecimal total = BigDecimal.valueOf(10_000L + (m * 31L + c * 17L) % 90_000L, 2);
+                totais.add(new TotalMensalCategoriaDTO(mes.getYear(), mes.getMonthValue(), tipo, "Categoria " + c, total));
+            }
+        }
+    }
+
+    @Benchmark
+    public SerieRelatorioDTO centavos() {
+        return balancoMapper.toSerieDTO(inicio, fim, totais);
+    }
+
+    @Benchmark
+    public SerieRelatorioDTO bigDecimal() {
+        return toSerieDTOComBigDecimal(inicio, fim, totais);
+    }
+
+    // Implementação anterior do BalancoMapper.toSerieDTO (um BigDecimal novo a cada soma)
+    private static SerieRelatorioDTO toSerieDTOComBigDecimal(YearMonth inicio, YearMonth fim, List<TotalMensalCategoriaDTO> totais) {
+        int quantidadeMeses = (int) ChronoUnit.MONTHS.between(inicio, fim) + 1;
+        BigDecimal[] receitas = vetorZerado(quantidadeMeses);
+        BigDecimal[] despesas = vetorZerado(quantidadeMeses);
+        Map<String, BigDecimal[]> receitasPorCategoria = new LinkedHashMap<>();
+        Map<String, BigDecimal[]> despesasPorCategoria = new LinkedHashMap<>();
+
+        for (TotalMensalCategoriaDTO item : totais) {
+            int indice = (int) ChronoUnit.MONTHS.between(inicio, YearMonth.of(item.ano(), item.mes()));
+            if (indice < 0 || indice >= quantidadeMeses) {
+                continue;
+            }
+
+            boolean receita = item.tipo() == TipoMovimentacao.RECEITA;
+            BigDecimal[] totalDoTipo = receita ? receitas : despesas;
+            BigDecimal[] totalDaCategoria = (receita ? receitasPorCategoria : despesasPorCategoria)
+                    .computeIfAbsent(item.categoria(), categoria -> vetorZerado(quantidadeMeses));
+
+            totalDoTipo[indice] = totalDoTipo[indice].add(item.total());
+            totalDaCategoria[indice] = totalDaCategoria[indice].add(item.total());
+        }
+
+        List<String> meses = new ArrayList<>(quantidadeMeses);
+        BigDecimal[] saldo = new BigDecimal[quantidadeMeses];
+        BigDecimal totalReceitas = BigDecimal.ZERO;
+        BigDecimal totalDespesas = BigDecimal.ZERO;
+        for (int i = 0; i < quantidadeMeses; i++) {
+            meses.add(inicio.plusMonths(i).toString());
+            saldo[i] = receitas[i].subtract(despesas[i]);
+            totalReceitas = totalReceitas.add(receitas[i]);
+            totalDespesas = totalDespesas.add(despesas[i]);
+        }
+
+        Map<String, List<BigDecimal>> receitasSeries = new LinkedHashMap<>();
+        receitasPorCategoria.forEach((categoria, valores) -> receitasSeries.put(categoria, List.of(valores)));
+        Map<String, List<BigDecimal>> despesasSeries = new LinkedHashMap<>();
+        despesasPorCategoria.forEach((categoria, valores) -> despesasSeries.put(categoria, List.of(valores)));
+
+        return SerieRelatorioDTO.builder()
+                .meses(meses)
+                .receitas(List.of(receitas))
+                .despesas(List.of(despesas))
+                .saldo(List.of(saldo))
+                .receitasPorCategoria(receitasSeries)
+                .despesasPorCategoria(despesasSeries)
+                .totalReceitas(totalReceitas)
+                .totalDespesas(totalDespesas)
+                .saldoPeriodo(totalReceitas.subtract(totalDespesas))
+                .build();
+    }
+
+    private static BigDecimal[] vetorZerado(int tamanho) {
+        BigDecimal[] vetor = new BigDecimal[tamanho];
+        Arrays.fill(vetor, BigDecimal.ZERO);
+        return vetor;
+    }
+}
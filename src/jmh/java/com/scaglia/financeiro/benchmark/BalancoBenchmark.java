@@ -0,0 +1,45 @@
+package com.scaglia.financeiro.benchmark;
+
+import com.scaglia.financeiro.dto.BalancoResponseDTO;
+import com.scaglia.financeiro.dto.TotalCategoriaDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.mapper.BalancoMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agregação em memória do relatório de balanço (totais + mapas por categoria).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BalancoBenchmark {
+
+    @Param({"10", "50"})
+    private int categorias;
+
+    private BalancoMapper balancoMapper;
+    private List<TotalCategoriaDTO> totais;
+
+    @Setup
+    public void setup() {
+        balancoMapper = new BalancoMapper();
+        totais = new ArrayList<>();
+        for (int i = 0; i < categorias; i++) {
+            TipoMovimentacao tipo = i % 2 == 0 ? TipoMovimentacao.RECEITA : TipoMovimentacao.DESPESA;
+            totais.add(new TotalCategoriaDTO(tipo, "Categoria " + i, new BigDecimal(1000 + i * 37).movePointLeft(2)));
+        }
+    }
+
+    @Benchmark
+    public BalancoResponseDTO montarBalanco() {
+        return balancoMapper.toResponseDTO(totais);
+    }
+}
@@ -0,0 +1,124 @@
+package com.scaglia.financeiro.benchmark;
+
+import com.scaglia.financeiro.FinanceiroApplication;
+import com.scaglia.financeiro.dto.ReceitaResponseDTO;
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.mapper.ReceitaMapper;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.Receita;
+import com.scaglia.financeiro.model.User;
+import com.scaglia.financeiro.repository.ReceitaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uma página da listagem de receitas: entidades + mapper (caminho anterior) contra projeção JPQL direta no DTO.
+ * Roda sobre o H2 em memória do perfil de teste; compare principalmente gc.alloc.rate.norm (bytes por página),
+ * já que o tempo absoluto do H2 não representa o PostgreSQL.
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.include=ListagemBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListagemBenchmark {
+
+    private static final String JPQL_ENTIDADES = "SELECT r FROM Receita r JOIN FETCH r.categoria WHERE r.usuario.id = :usuarioId " +
+            "ORDER BY r.data DESC, r.id DESC";
+
+    @Param({"20", "100"})
+    private int tamanhoPagina;
+
+    private ConfigurableApplicationContext contexto;
+    private ReceitaRepository receitaRepository;
+    private ReceitaMapper receitaMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate leitura;
+    private String usuarioId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        contexto = new SpringApplicationBuilder(FinanceiroApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false")
+                .run();
+        receitaRepository = contexto.getBean(ReceitaRepository.class);
+        receitaMapper = contexto.getBean(ReceitaMapper.class);
+        // Proxy que usa o EntityManager da transação corrente, como nos repositórios
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(contexto.getBean(EntityManagerFactory.class));
+
+        PlatformTransactionManager transactionManager = contexto.getBean(PlatformTransactionManager.class);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+
+        usuarioId = new TransactionTemplate(transactionManager).execute(status -> popular());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<ReceitaResponseDTO> entidadesComMapper() {
+        return leitura.execute(status -> entityManager.createQuery(JPQL_ENTIDADES, Receita.class)
+                .setParameter("usuarioId", usuarioId)
+                .setMaxResults(tamanhoPagina)
+                .getResultList()
+                .stream()
+                .map(receitaMapper::toResponseDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ReceitaResponseDTO> projecaoDto() {
+        return leitura.execute(status -> receitaRepository.buscarPrimeiraPagina(
+                usuarioId, null, null, null, Limit.of(tamanhoPagina)));
+    }
+
+    // 500 receitas com observação preenchida, como em uma conta real com histórico
+    private String popular() {
+        User usuario = new User();
+        usuario.setName("Benchmark");
+        usuario.setEmail("benchmark@email.com");
+        usuario.setPassword("hash");
+        entityManager.persist(usuario);
+
+        Categoria categoria = new Categoria();
+        categoria.setNome("Salário");
+        categoria.setTipo(TipoMovimentacao.RECEITA);
+        entityManager.persist(categoria);
+
+        String observacao = "Observação de exemplo. ".repeat(20);
+        LocalDate data = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < 500; i++) {
+            Receita receita = new Receita();
+            receita.setDescricao("Receita " + i);
+            receita.setValor(new BigDecimal(100 + i).movePointLeft(2));
+            receita.setData(data.plusDays(i % 365));
+            receita.setNatureza(NaturezaMovimentacao.VARIAVEL);
+            receita.setObservacao(observacao);
+            receita.setCategoria(categoria);
+            receita.setUsuario(usuario);
+            entityManager.persist(receita);
+        }
+        return usuario.getId();
+    }
+}
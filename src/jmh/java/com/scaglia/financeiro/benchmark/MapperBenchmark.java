@@ -0,0 +1,89 @@
+package com.scaglia.financeiro.benchmark;
+
+import com.scaglia.financeiro.FinanceiroApplication;
+import com.scaglia.financeiro.dto.DespesaResponseDTO;
+import com.scaglia.financeiro.dto.ReceitaResponseDTO;
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.mapper.DespesaMapper;
+import com.scaglia.financeiro.mapper.ReceitaMapper;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.Despesa;
+import com.scaglia.financeiro.model.Receita;
+import com.scaglia.financeiro.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de conversão entidade -> DTO executado para cada linha das listagens.
+ * Os mappers vêm do contexto Spring (perfil de teste, sem servidor web), como no ListagemBenchmark: o benchmark
+ * não depende de como os mappers são construídos e continua compilando quando as dependências deles mudam.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ConfigurableApplicationContext contexto;
+    private ReceitaMapper receitaMapper;
+    private DespesaMapper despesaMapper;
+    private Receita receita;
+    private Despesa despesa;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        contexto = new SpringApplicationBuilder(FinanceiroApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false")
+                .run();
+        receitaMapper = contexto.getBean(ReceitaMapper.class);
+        despesaMapper = contexto.getBean(DespesaMapper.class);
+
+        // Categorias já carregadas (não são proxies): o mapper não consulta o CategoriaCache
+        User usuario = new User();
+        usuario.setId("8b0f6c1e-4a53-4d6e-9d4f-1f2c3b4a5d6e");
+
+        receita = new Receita();
+        receita.setId(1L);
+        receita.setDescricao("Salário");
+        receita.setValor(new BigDecimal("5432.10"));
+        receita.setData(LocalDate.of(2024, 3, 5));
+        receita.setNatureza(NaturezaMovimentacao.FIXA);
+        receita.setCategoria(new Categoria(1L, "Salário", TipoMovimentacao.RECEITA));
+        receita.setUsuario(usuario);
+
+        despesa = new Despesa();
+        despesa.setId(2L);
+        despesa.setDescricao("Aluguel");
+        despesa.setValor(new BigDecimal("1800.00"));
+        despesa.setData(LocalDate.of(2024, 3, 10));
+        despesa.setNatureza(NaturezaMovimentacao.FIXA);
+        despesa.setCategoria(new Categoria(2L, "Moradia", TipoMovimentacao.DESPESA));
+        despesa.setUsuario(usuario);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public ReceitaResponseDTO receitaToResponseDTO() {
+        return receitaMapper.toResponseDTO(receita);
+    }
+
+    @Benchmark
+    public DespesaResponseDTO despesaToResponseDTO() {
+        return despesaMapper.toResponseDTO(despesa);
+    }
+}
@@ -0,0 +1,63 @@
+package com.scaglia.financeiro.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.scaglia.financeiro.dto.ApiResponse;
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.dto.ReceitaResponseDTO;
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON da resposta de listagem (envelope ApiResponse com uma página de receitas).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({"10", "100"})
+    private int tamanhoPagina;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Page<ReceitaResponseDTO>> resposta;
+
+    @Setup
+    public void setup() {
+        // Mesma configuração relevante do ObjectMapper do Spring Boot (java.time como ISO-8601)
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        CategoriaResponseDTO categoria = new CategoriaResponseDTO(1L, "Salário", TipoMovimentacao.RECEITA);
+        List<ReceitaResponseDTO> receitas = new ArrayList<>();
+        for (int i = 0; i < tamanhoPagina; i++) {
+            receitas.add(new ReceitaResponseDTO((long) i, "Receita " + i, new BigDecimal("1234.56"),
+                    LocalDate.of(2024, 1, 1).plusDays(i), NaturezaMovimentacao.VARIAVEL, categoria,
+                    "8b0f6c1e-4a53-4d6e-9d4f-1f2c3b4a5d6e"));
+        }
+        Page<ReceitaResponseDTO> pagina = new PageImpl<>(receitas, PageRequest.of(0, tamanhoPagina), 1000);
+        resposta = new ApiResponse<>(pagina, "Receitas listadas com sucesso.");
+    }
+
+    @Benchmark
+    public byte[] serializarPaginaDeReceitas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(resposta);
+    }
+}
@@ -0,0 +1,55 @@
+package com.scaglia.financeiro.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.scaglia.financeiro.config.TokenService;
+import com.scaglia.financeiro.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de validação de JWT sob carga concorrente.
+ * "verificadorReconstruido" reproduz a implementação anterior (Algorithm + JWTVerifier criados a cada chamada);
+ * "verificadorReutilizado" usa o TokenService atual, com verificador criado uma única vez.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "segredo-benchmark-com-tamanho-adequado";
+
+    private TokenService tokenService;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenService = new TokenService(SECRET, "principal", "");
+
+        User user = new User();
+        user.setId("8b0f6c1e-4a53-4d6e-9d4f-1f2c3b4a5d6e");
+        user.setEmail("benchmark@email.com");
+        user.setName("Benchmark");
+        token = tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String verificadorReconstruido() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        return JWT.require(algorithm)
+                .withIssuer("financeiro")
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public String verificadorReutilizado() {
+        return tokenService.validateToken(token);
+    }
+}
@@ -0,0 +1,12 @@
+package com.scaglia.financeiro.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas (@Scheduled), ex.: limpeza dos refresh tokens expirados e criação das ocorrências das recorrências.
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
@@ -0,0 +1,98 @@
+package com.scaglia.financeiro.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Fonte recarregável das chaves JWT: um arquivo properties (ex.: secret montado pelo orquestrador), lido na
+ * inicialização e verificado periodicamente. Quando o conteúdo muda, o TokenService passa a usar o novo
+ * conjunto de chaves sem reiniciar a aplicação. Formato:
+ * <pre>
+ * ativa=v2
+ * v2=segredo-novo
+ * v1=segredo-anterior
+ * </pre>
+ * {@code ativa} é o kid que assina os novos tokens; as demais linhas são os kids aceitos na validação
+ * (uma chave antiga deixa de ser aceita quando sai do arquivo, normalmente após o prazo do refresh token).
+ * Sem api.security.token.arquivo-chaves, valem as chaves fixas de api.security.token.* e a rotação exige reinício.
+ */
+@Component
+@ConditionalOnProperty("api.security.token.arquivo-chaves")
+@Slf4j
+public class ArquivoChavesToken {
+
+    private static final String CHAVE_ATIVA = "ativa";
+
+    private final TokenService tokenService;
+    private final Path arquivo;
+
+    // Último conteúdo aplicado: a verificação periódica só reconstrói as chaves quando o arquivo muda
+    private String conteudoAplicado;
+
+    public ArquivoChavesToken(TokenService tokenService,
+                              @Value("${api.security.token.arquivo-chaves}") Path arquivo) {
+        this.tokenService = tokenService;
+        this.arquivo = arquivo;
+
+        // Na inicialização um arquivo ausente ou inválido impede a subida, em vez de assinar com a chave errada
+        try {
+            recarregar();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o arquivo de chaves JWT: " + arquivo, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.token.arquivo-chaves-intervalo:60s}",
+            initialDelayString = "${api.security.token.arquivo-chaves-intervalo:60s}")
+    public void verificar() {
+        try {
+            recarregar();
+        } catch (IOException | IllegalArgumentException e) {
+            // Um arquivo salvo pela metade não derruba a autenticação: as chaves atuais continuam valendo
+            log.error("Arquivo de chaves JWT inválido; chaves atuais mantidas. arquivo={}, erro={}", arquivo, e.getMessage());
+        }
+    }
+
+    /**
+     * Lê o arquivo e aplica as chaves se o conteúdo mudou.
+     *
+     * @return true se as chaves foram trocadas
+     */
+    boolean recarregar() throws IOException {
+        String conteudo = Files.readString(arquivo);
+        if (conteudo.equals(conteudoAplicado)) {
+            return false;
+        }
+
+        Properties propriedades = new Properties();
+        propriedades.load(new StringReader(conteudo));
+        String ativa = propriedades.getProperty(CHAVE_ATIVA, "").trim();
+        if (ativa.isEmpty()) {
+            throw new IllegalArgumentException("Propriedade '" + CHAVE_ATIVA + "' ausente.");
+        }
+
+        Map<String, String> segredos = new HashMap<>();
+        for (String keyId : propriedades.stringPropertyNames()) {
+            if (!keyId.equals(CHAVE_ATIVA)) {
+                segredos.put(keyId, propriedades.getProperty(keyId).trim());
+            }
+        }
+
+        tokenService.atualizarChaves(ativa, segredos);
+        conteudoAplicado = conteudo;
+        log.info("Chaves JWT recarregadas. ativa={}, aceitas={}", ativa, segredos.keySet());
+        return true;
+    }
+}
@@ -24,6 +24,9 @@ public class AuditingConfig {
             if (principal instanceof com.scaglia.financeiro.model.User user) {
                 return Optional.ofNullable(user.getId());
             }
+            if (principal instanceof UsuarioToken usuarioToken) {
+                return Optional.ofNullable(usuarioToken.id());
+            }
             return Optional.ofNullable(authentication.getName());
         };
     }
@@ -0,0 +1,176 @@
+package com.scaglia.financeiro.config;
+
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.repository.CategoriaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cache em memória das categorias (tabela pequena e quase sempre lida).
+ * Guarda um snapshot imutável, trocado por inteiro em uma única escrita volatile: leitores nunca veem
+ * um estado parcial e não há lock na leitura. Alterações de categoria invalidam o snapshot após o commit;
+ * o TTL cobre alterações feitas por outras instâncias da aplicação.
+ */
+@Component
+public class CategoriaCache {
+
+    private final CategoriaRepository categoriaRepository;
+    private final Duration ttl;
+
+    // Incrementada a cada invalidação: um snapshot carregado durante uma alteração não é publicado
+    private final AtomicLong versao = new AtomicLong();
+
+    // Lock explícito em vez de synchronized: a recarga faz I/O (JDBC) e, no Java 21, uma virtual thread
+    // bloqueada dentro de synchronized prende a thread carregadora
+    private final ReentrantLock recarga = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public CategoriaCache(CategoriaRepository categoriaRepository,
+                          @Value("${app.categorias.cache.ttl:5m}") Duration ttl) {
+        this.categoriaRepository = categoriaRepository;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Busca no snapshot; em caso de miss (ex.: categoria criada por outra instância) consulta o banco,
+     * sem recarregar o snapshot inteiro, para que ids inexistentes não provoquem recargas sucessivas.
+     */
+    public Optional<CategoriaResponseDTO> buscarPorId(Long id) {
+        ItemCategoria item = snapshotAtual().porId().get(id);
+        if (item != null) {
+            return Optional.of(item.toResponseDTO());
+        }
+        return categoriaRepository.findById(id).map(ItemCategoria::de).map(ItemCategoria::toResponseDTO);
+    }
+
+    public List<CategoriaResponseDTO> listarTodas() {
+        return snapshotAtual().todas().stream().map(ItemCategoria::toResponseDTO).toList();
+    }
+
+    /**
+     * Resumo do conteúdo do snapshot (id, nome e tipo de todas as categorias). Igual em todas as instâncias
+     * que enxergam os mesmos dados, por isso pode compor ETags.
+     */
+    public String assinatura() {
+        return snapshotAtual().assinatura();
+    }
+
+    /**
+     * Data da última criação/alteração de categoria (exclusões não entram: use a assinatura para detectá-las).
+     */
+    public Instant ultimaAlteracao() {
+        return snapshotAtual().ultimaAlteracao();
+    }
+
+    /**
+     * Descarta o snapshot. Dentro de uma transação, o descarte acontece após o commit,
+     * para que a próxima leitura já enxergue a alteração.
+     */
+    public void invalidar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidarAgora();
+                }
+            });
+        }
+        invalidarAgora();
+    }
+
+    private void invalidarAgora() {
+        versao.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot snapshotAtual() {
+        Snapshot atual = snapshot;
+        if (atual != null && !atual.expirado(ttl)) {
+            return atual;
+        }
+
+        // Apenas uma thread recarrega; as demais aguardam e reaproveitam o resultado
+        recarga.lock();
+        try {
+            atual = snapshot;
+            if (atual == null || atual.expirado(ttl)) {
+                long versaoInicial = versao.get();
+                atual = carregar();
+                if (versao.get() == versaoInicial) {
+                    snapshot = atual;
+                }
+            }
+            return atual;
+        } finally {
+            recarga.unlock();
+        }
+    }
+
+    private Snapshot carregar() {
+        List<ItemCategoria> todas = categoriaRepository.findAll(Sort.by("id")).stream()
+                .map(ItemCategoria::de)
+                .toList();
+        Map<Long, ItemCategoria> porId = todas.stream()
+                .collect(Collectors.toUnmodifiableMap(ItemCategoria::id, Function.identity()));
+        Instant ultimaAlteracao = todas.stream()
+                .map(ItemCategoria::atualizadoEm)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(Instant.EPOCH);
+        return new Snapshot(porId, todas, calcularAssinatura(todas), ultimaAlteracao, System.nanoTime());
+    }
+
+    private static String calcularAssinatura(List<ItemCategoria> todas) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (ItemCategoria item : todas) {
+                digest.update((item.id() + ";" + item.nome() + ";" + item.tipo().name() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private record ItemCategoria(Long id, String nome, TipoMovimentacao tipo, Instant atualizadoEm) {
+
+        private static ItemCategoria de(Categoria categoria) {
+            return new ItemCategoria(categoria.getId(), categoria.getNome(), categoria.getTipo(), categoria.getUpdatedAt());
+        }
+
+        // O DTO é mutável: cada chamada recebe a sua cópia
+        private CategoriaResponseDTO toResponseDTO() {
+            return new CategoriaResponseDTO(id, nome, tipo);
+        }
+    }
+
+    private record Snapshot(Map<Long, ItemCategoria> porId, List<ItemCategoria> todas, String assinatura,
+                            Instant ultimaAlteracao, long carregadoEm) {
+
+        private boolean expirado(Duration ttl) {
+            return System.nanoTime() - carregadoEm > ttl.toNanos();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.scaglia.financeiro.config;
+
+import com.scaglia.financeiro.model.VersaoDadosUsuario;
+import com.scaglia.financeiro.service.UsuarioAutenticadoService;
+import com.scaglia.financeiro.service.VersaoDadosService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Requisições condicionais (ETag / If-None-Match e Last-Modified / If-Modified-Since) para listagens e relatórios.
+ * A validação custa apenas a leitura da versão dos dados do usuário (chave primária) e do CategoriaCache;
+ * quando o cliente já tem a versão atual, a resposta 304 é preparada e o controller retorna null,
+ * sem executar consultas nem serializar o corpo.
+ * Uso no controller: {@code if (respostaCondicional.dadosDoUsuarioNaoModificados(request)) return null;}
+ */
+@Component
+@RequiredArgsConstructor
+public class RespostaCondicional {
+
+    // O navegador pode guardar a resposta, mas deve revalidar sempre (e nunca em caches compartilhados)
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final UsuarioAutenticadoService usuarioAutenticadoService;
+    private final VersaoDadosService versaoDadosService;
+    private final CategoriaCache categoriaCache;
+
+    /**
+     * Respostas montadas a partir das receitas/despesas do usuário logado (que também exibem categorias).
+     *
+     * @param complementos o que mais altera a resposta além dos dados (ex.: o mês usado por "balanço atual")
+     * @return true se o cliente já tem a versão atual (304 preparado)
+     */
+    public boolean dadosDoUsuarioNaoModificados(WebRequest request, String... complementos) {
+        // A versão é lida antes dos dados: uma escrita concorrente gera no máximo um 200 a mais, nunca um 304 indevido
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
+        VersaoDadosUsuario versao = versaoDadosService.buscar(usuarioId);
+
+        String etag = etag(usuarioId, String.valueOf(versao.getVersao()), categoriaCache.assinatura(), String.join(",", complementos));
+        Instant ultimaAlteracao = versao.getAtualizadoEm().isAfter(categoriaCache.ultimaAlteracao())
+                ? versao.getAtualizadoEm()
+                : categoriaCache.ultimaAlteracao();
+
+        prepararCabecalhos(request);
+        return request.checkNotModified(etag, ultimaAlteracao.toEpochMilli());
+    }
+
+    /**
+     * Respostas que dependem apenas das categorias. Usa somente ETag: a exclusão de uma categoria
+     * não avança nenhuma data de alteração, mas muda a assinatura do snapshot.
+     */
+    public boolean categoriasNaoModificadas(WebRequest request) {
+        prepararCabecalhos(request);
+        return request.checkNotModified(etag("categorias", categoriaCache.assinatura()));
+    }
+
+    private void prepararCabecalhos(WebRequest request) {
+        if (request instanceof ServletWebRequest servletWebRequest && servletWebRequest.getResponse() != null) {
+            HttpServletResponse response = servletWebRequest.getResponse();
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            // A mesma URL tem conteúdo diferente para cada token
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        }
+    }
+
+    // ETag fraca: o corpo é equivalente, não necessariamente idêntico byte a byte
+    private static String etag(String... partes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] resumo = digest.digest(String.join("|", partes).getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(resumo, 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
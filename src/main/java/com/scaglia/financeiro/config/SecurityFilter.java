@@ -1,12 +1,12 @@
 package com.scaglia.financeiro.config;
 
 import com.scaglia.financeiro.model.User;
-import com.scaglia.financeiro.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,7 +22,11 @@ public class SecurityFilter extends OncePerRequestFilter {
     TokenService tokenService;
 
     @Autowired
-    UserRepository userRepository;
+    UsuarioCache usuarioCache;
+
+    // Modo claims-only: o principal vem apenas do JWT verificado, sem nenhuma consulta de usuário
+    @Value("${api.security.token.claims-only:false}")
+    boolean claimsOnly;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -32,24 +36,23 @@ public class SecurityFilter extends OncePerRequestFilter {
         var token = this.recoverToken(request);
 
         // 2. Só tenta autenticar se um token foi encontrado
-        if (token != null) {
+        if (token != null && claimsOnly) {
+            UsuarioToken usuario = this.tokenService.validateTokenClaims(token);
+            if (usuario != null && usuario.id() != null) {
+                autenticar(usuario);
+            }
+        } else if (token != null) {
 
             // 3. Valida o token e tenta extrair o login (email)
             var login = this.tokenService.validateToken(token);
 
             // 4. Se o login for válido, autentica no contexto do Spring Security
             if (login != null) {
-                User user = userRepository.findByEmail(login)
+                // Busca no cache (TTL curto); o banco só é consultado em caso de miss
+                User user = usuarioCache.buscarPorEmail(login)
                         .orElseThrow(() -> new RuntimeException("Usuário não encontrado: " + login)); // Boa prática incluir o login na msg
 
-                // Definição das Autoridades (ROLE_USER é suficiente para este projeto)
-                var authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
-
-                // Criação do objeto de autenticação (passando o objeto User para o contexto)
-                var authentication = new UsernamePasswordAuthenticationToken(user, null, authorities);
-
-                // Autentica o usuário na requisição atual
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                autenticar(user);
             }
             // Se o token for inválido (login == null), o SecurityContextHolder fica vazio.
             // O Spring Security tratará isso na próxima etapa como não autenticado.
@@ -59,6 +62,17 @@ public class SecurityFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private void autenticar(Object principal) {
+        // Definição das Autoridades (ROLE_USER é suficiente para este projeto)
+        var authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+
+        // Criação do objeto de autenticação (User completo ou UsuarioToken, conforme o modo)
+        var authentication = new UsernamePasswordAuthenticationToken(principal, null, authorities);
+
+        // Autentica o usuário na requisição atual
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
     private String recoverToken(HttpServletRequest request) {
         var authHeader = request.getHeader("Authorization");
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -3,67 +3,154 @@ package com.scaglia.financeiro.config;
 
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.scaglia.financeiro.model.User;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 
+/**
+ * Emissão e validação de JWT.
+ * Algorithm e JWTVerifier são imutáveis e thread-safe: são criados uma vez por chave e reutilizados
+ * em todas as requisições. Cada token carrega o id da chave (kid) no header, o que permite rotacionar
+ * a chave de assinatura sem invalidar tokens já emitidos: pelas propriedades api.security.token.*
+ * (com reinício) ou, sem reiniciar, pelo arquivo de chaves lido pelo {@link ArquivoChavesToken}.
+ */
 @Service
+@Slf4j
 public class TokenService {
-    @Value("${api.security.token.secret}")
-    private String secret;
+
+    private static final String ISSUER = "financeiro";
+
+    private final String secret;
+
+    // Chave usada por tokens emitidos antes do kid existir no header
+    private final String keyIdLegado;
+
+    // Snapshot imutável das chaves; trocado por inteiro (uma escrita volatile) na rotação
+    private volatile Chaves chaves;
+
+    public TokenService(@Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.key-id:principal}") String keyId,
+                        @Value("${api.security.token.chaves-anteriores:}") String chavesAnteriores) {
+        this.secret = secret;
+        this.keyIdLegado = keyId;
+
+        Map<String, JWTVerifier> verificadores = new HashMap<>();
+        // Formato: kid1:segredo1,kid2:segredo2 (aceitas apenas para validação)
+        Arrays.stream(chavesAnteriores.split(","))
+                .map(String::trim)
+                .filter(chave -> chave.contains(":"))
+                .forEach(chave -> {
+                    String[] partes = chave.split(":", 2);
+                    verificadores.put(partes[0], criarVerificador(Algorithm.HMAC256(partes[1])));
+                });
+
+        Algorithm algoritmo = Algorithm.HMAC256(secret);
+        verificadores.put(keyId, criarVerificador(algoritmo));
+        this.chaves = new Chaves(keyId, algoritmo, Map.copyOf(verificadores));
+    }
 
     // Garante que a aplicação não suba sem uma secret configurada adequadamente
     @PostConstruct
     public void validateSecret() {
         if (secret == null || secret.trim().isEmpty() || secret.equals("minha-chave-secreta-padrao-para-dev")) {
-            System.err.println("AVISO: A chave secreta JWT não foi configurada corretamente em variáveis de ambiente!");
+            log.warn("A chave secreta JWT não foi configurada corretamente em variáveis de ambiente.");
+        }
+    }
+
+    /**
+     * Troca o conjunto de chaves de uma só vez: novos tokens passam a ser assinados com {@code keyIdAtivo} e
+     * apenas os kids presentes em {@code segredos} continuam aceitos na validação. Chamado pelo
+     * {@link ArquivoChavesToken} quando o arquivo de chaves muda.
+     *
+     * @param segredos segredo de cada kid aceito, incluindo o da chave ativa
+     */
+    public void atualizarChaves(String keyIdAtivo, Map<String, String> segredos) {
+        String segredoAtivo = segredos.get(keyIdAtivo);
+        if (segredoAtivo == null || segredoAtivo.isBlank()) {
+            throw new IllegalArgumentException("A chave ativa '" + keyIdAtivo + "' não tem segredo configurado.");
         }
+
+        Map<String, JWTVerifier> verificadores = new HashMap<>();
+        segredos.forEach((keyId, segredo) -> verificadores.put(keyId, criarVerificador(Algorithm.HMAC256(segredo))));
+        this.chaves = new Chaves(keyIdAtivo, Algorithm.HMAC256(segredoAtivo), Map.copyOf(verificadores));
     }
+
     public String validateToken(String token) {
-        try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("financeiro")
-                    .build()
-                    .verify(token)
-                    .getSubject();
-        } catch (JWTVerificationException exception) {
-            // Em vez de apenas null, você poderia logar: "Token inválido ou expirado"
-            return "";
+        DecodedJWT jwt = verificar(token);
+        // Em vez de apenas vazio, você poderia logar: "Token inválido ou expirado"
+        return jwt != null ? jwt.getSubject() : "";
+    }
+
+    /**
+     * Valida o token e devolve o usuário descrito nas claims (id, email, nome), ou null se o token for inválido
+     * ou não trouxer o id (o principal do modo claims-only não tem outra forma de identificar o usuário).
+     */
+    public UsuarioToken validateTokenClaims(String token) {
+        DecodedJWT jwt = verificar(token);
+        if (jwt == null) {
+            return null;
+        }
+        String id = jwt.getClaim("id").asString();
+        if (id == null || id.isBlank()) {
+            return null;
         }
+        return new UsuarioToken(id, jwt.getSubject(), jwt.getClaim("name").asString());
     }
+
     public String generateToken(User user) {
         return createToken(user, 2); // Access Token: 2 horas
     }
 
-    public String generateRefreshToken(User user) {
-        return createToken(user, 168); // Refresh Token: 7 dias (24 * 7)
+    private DecodedJWT verificar(String token) {
+        try {
+            // Decodifica uma única vez: o kid escolhe o verificador e o mesmo DecodedJWT é verificado
+            DecodedJWT decodificado = JWT.decode(token);
+            String keyId = decodificado.getKeyId() != null ? decodificado.getKeyId() : keyIdLegado;
+
+            JWTVerifier verificador = chaves.verificadores().get(keyId);
+            if (verificador == null) {
+                return null;
+            }
+            return verificador.verify(decodificado);
+        } catch (JWTVerificationException exception) {
+            return null;
+        }
     }
 
     private String createToken(User user, int hours) {
+        Chaves atuais = chaves;
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
-                    .withIssuer("financeiro")
+                    .withIssuer(ISSUER)
+                    .withKeyId(atuais.keyIdAtivo())
                     .withSubject(user.getEmail())
                     .withClaim("id", user.getId())
+                    .withClaim("name", user.getName())
                     .withExpiresAt(Instant.now().plusSeconds(hours * 3600L)) // Flexível por horas
-                    .sign(algorithm);
+                    .sign(atuais.algoritmoAtivo());
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Erro ao gerar token JWT", exception);
         }
     }
 
-    // Refatoramos para ser mais genérico
-    private Instant generateExpirationDate() {
-        return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
+    private static JWTVerifier criarVerificador(Algorithm algoritmo) {
+        return JWT.require(algoritmo)
+                .withIssuer(ISSUER)
+                .build();
+    }
+
+    private record Chaves(String keyIdAtivo, Algorithm algoritmoAtivo, Map<String, JWTVerifier> verificadores) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+package com.scaglia.financeiro.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.scaglia.financeiro.model.User;
+import com.scaglia.financeiro.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache limitado (tamanho + TTL) do usuário autenticado, indexado pelo subject do JWT (email).
+ * Métricas de hit/miss/evicção ficam disponíveis no Actuator como cache.* com a tag cache=usuarios.
+ */
+@Component
+public class UsuarioCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> cache;
+
+    // Índice id -> email das entradas do cache: se o email mudar, a entrada antiga é removida direto pela chave
+    private final ConcurrentMap<String, String> emailPorId = new ConcurrentHashMap<>();
+
+    public UsuarioCache(UserRepository userRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.security.usuario-cache.max-size:10000}") long maxSize,
+                        @Value("${app.security.usuario-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                // Só remove do índice se ele ainda apontar para a entrada que saiu (pode já ter sido recarregada)
+                .removalListener((String email, User user, RemovalCause causa) -> {
+                    if (user != null && user.getId() != null) {
+                        emailPorId.remove(user.getId(), email);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "usuarios");
+    }
+
+    /**
+     * Busca o usuário pelo email, indo ao banco apenas em caso de miss. Usuários inexistentes não são cacheados.
+     */
+    public Optional<User> buscarPorEmail(String email) {
+        return Optional.ofNullable(cache.get(email, chave -> {
+            User user = userRepository.findByEmail(chave).orElse(null);
+            if (user != null && user.getId() != null) {
+                emailPorId.put(user.getId(), chave);
+            }
+            return user;
+        }));
+    }
+
+    /**
+     * Remove o usuário do cache. Dentro de uma transação, a remoção acontece após o commit,
+     * para que uma requisição concorrente não recoloque no cache o estado antigo.
+     */
+    public void remover(User user) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removerAgora(user);
+                }
+            });
+        }
+        removerAgora(user);
+    }
+
+    private void removerAgora(User user) {
+        if (user.getEmail() != null) {
+            cache.invalidate(user.getEmail());
+        }
+        // O email pode ter mudado: remove também a entrada do email anterior, encontrada pelo id
+        if (user.getId() != null) {
+            String emailAnterior = emailPorId.remove(user.getId());
+            if (emailAnterior != null) {
+                cache.invalidate(emailAnterior);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.scaglia.financeiro.config;
+
+import com.scaglia.financeiro.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA da entidade User: invalida o UsuarioCache sempre que um usuário é alterado ou excluído.
+ * Registrado em META-INF/orm.xml, e não com @EntityListeners, para o modelo não depender da camada config.
+ * O cache é obtido sob demanda (ObjectProvider) para não criar ciclo com o EntityManagerFactory.
+ */
+@Component
+public class UsuarioCacheListener {
+
+    @Autowired
+    private ObjectProvider<UsuarioCache> usuarioCache;
+
+    @PostUpdate
+    @PostRemove
+    public void invalidar(User user) {
+        usuarioCache.ifAvailable(cache -> cache.remover(user));
+    }
+}
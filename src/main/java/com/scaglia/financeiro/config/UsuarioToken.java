@@ -0,0 +1,8 @@
+package com.scaglia.financeiro.config;
+
+/**
+ * Principal leve montado apenas a partir das claims verificadas do JWT (modo claims-only).
+ * Não exige nenhuma consulta ao banco para autenticar a requisição.
+ */
+public record UsuarioToken(String id, String email, String name) {
+}
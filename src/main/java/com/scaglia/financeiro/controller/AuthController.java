@@ -47,4 +47,10 @@ public class AuthController {
         ResponseDto response = authService.regerarTokens(body.refreshToken());
         return ResponseEntity.ok(new ApiResponse<>(response, "Token renovado com sucesso."));
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(@RequestBody @Valid RefreshTokenRequestDto body) {
+        authService.logout(body.refreshToken());
+        return ResponseEntity.ok(new ApiResponse<>(null, "Sessão encerrada com sucesso."));
+    }
 }
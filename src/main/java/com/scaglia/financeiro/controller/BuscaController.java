@@ -0,0 +1,42 @@
+package com.scaglia.financeiro.controller;
+
+import com.scaglia.financeiro.config.RespostaCondicional;
+import com.scaglia.financeiro.dto.ApiResponse;
+import com.scaglia.financeiro.dto.ResultadoBuscaDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.service.BuscaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@Tag(name = "Busca", description = "Busca textual nas receitas e despesas do usuário")
+@RestController
+@RequestMapping("/api/v1/busca")
+@RequiredArgsConstructor
+public class BuscaController {
+
+    private final BuscaService buscaService;
+    private final RespostaCondicional respostaCondicional;
+
+    @Operation(summary = "Busca receitas e/ou despesas por texto (descrição e observação), ordenadas por relevância. "
+            + "Aceita aspas para frases, \"-palavra\" para excluir e tolera erros de digitação.")
+    @GetMapping
+    public ResponseEntity<ApiResponse<Page<ResultadoBuscaDTO>>> buscar(
+            @RequestParam("q") String termo,
+            @RequestParam(required = false) TipoMovimentacao tipo,
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest request) {
+        if (respostaCondicional.dadosDoUsuarioNaoModificados(request)) {
+            return null; // 304 Not Modified
+        }
+
+        Page<ResultadoBuscaDTO> resultados = buscaService.buscar(termo, tipo, pageable);
+        return ResponseEntity.ok(new ApiResponse<>(resultados, "Busca concluída com sucesso."));
+    }
+}
@@ -1,5 +1,6 @@
 package com.scaglia.financeiro.controller;
 
+import com.scaglia.financeiro.config.RespostaCondicional;
 import com.scaglia.financeiro.dto.ApiResponse; // Importe o seu novo DTO
 import com.scaglia.financeiro.dto.CategoriaRequestDTO;
 import com.scaglia.financeiro.dto.CategoriaResponseDTO;
@@ -11,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,17 +23,26 @@ import java.util.List;
 public class CategoriaController {
 
     private final CategoriaService categoriaService;
+    private final RespostaCondicional respostaCondicional;
 
     @Operation(summary = "Lista todas as categorias (Receita/Despesa)")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CategoriaResponseDTO>>> listarCategorias() {
+    public ResponseEntity<ApiResponse<List<CategoriaResponseDTO>>> listarCategorias(WebRequest request) {
+        if (respostaCondicional.categoriasNaoModificadas(request)) {
+            return null; // 304 Not Modified
+        }
+
         List<CategoriaResponseDTO> categorias = categoriaService.listarTodas();
         return ResponseEntity.ok(new ApiResponse<>(categorias, "Categorias listadas com sucesso."));
     }
 
     @Operation(summary = "Busca uma categoria por ID")
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<CategoriaResponseDTO>> buscarCategoria(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<CategoriaResponseDTO>> buscarCategoria(@PathVariable Long id, WebRequest request) {
+        if (respostaCondicional.categoriasNaoModificadas(request)) {
+            return null; // 304 Not Modified
+        }
+
         CategoriaResponseDTO categoria = categoriaService.buscarPorId(id);
         return ResponseEntity.ok(new ApiResponse<>(categoria, "Categoria encontrada."));
     }
@@ -1,9 +1,18 @@
 package com.scaglia.financeiro.controller;
 
+import com.scaglia.financeiro.config.RespostaCondicional;
 import com.scaglia.financeiro.dto.ApiResponse; // Importe seu envelope
+import com.scaglia.financeiro.dto.CursorPageDTO;
+import com.scaglia.financeiro.dto.ExclusaoEmLoteRequestDTO;
 import com.scaglia.financeiro.dto.DespesaRequestDTO;
 import com.scaglia.financeiro.dto.DespesaResponseDTO;
+import com.scaglia.financeiro.dto.ImportacaoResponseDTO;
+import com.scaglia.financeiro.dto.OperacaoEmLoteResponseDTO;
+import com.scaglia.financeiro.dto.RecategorizacaoRequestDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
 import com.scaglia.financeiro.service.DespesaService;
+import com.scaglia.financeiro.service.ImportacaoService;
+import com.scaglia.financeiro.service.OperacaoEmLoteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -14,10 +23,14 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.List;
 
 @Tag(name = "Despesas", description = "Endpoints para gerenciamento das Despesas financeiras")
 @RestController
@@ -26,6 +39,9 @@ import java.time.LocalDate;
 public class DespesaController {
 
     private final DespesaService despesaService;
+    private final ImportacaoService importacaoService;
+    private final OperacaoEmLoteService operacaoEmLoteService;
+    private final RespostaCondicional respostaCondicional;
 
     @Operation(summary = "Lista despesas do usuário com filtros, paginação e ordenação")
     @GetMapping
@@ -33,7 +49,11 @@ public class DespesaController {
             @RequestParam(required = false) Long categoriaId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
-            @PageableDefault(size = 10, sort = "data", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "data", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest request) {
+        if (respostaCondicional.dadosDoUsuarioNaoModificados(request)) {
+            return null; // 304 Not Modified
+        }
 
         Page<DespesaResponseDTO> despesas = despesaService.listarDespesasUsuario(
                 categoriaId, dataInicial, dataFinal, pageable
@@ -41,9 +61,33 @@ public class DespesaController {
         return ResponseEntity.ok(new ApiResponse<>(despesas, "Despesas listadas com sucesso."));
     }
 
+    @Operation(summary = "Lista despesas do usuário por cursor (rolagem contínua, custo constante por página)")
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPageDTO<DespesaResponseDTO>>> listarDespesasPorCursor(
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean incluirTotal,
+            WebRequest request) {
+        if (respostaCondicional.dadosDoUsuarioNaoModificados(request)) {
+            return null; // 304 Not Modified
+        }
+
+        CursorPageDTO<DespesaResponseDTO> despesas = despesaService.listarDespesasPorCursor(
+                categoriaId, dataInicial, dataFinal, cursor, size, incluirTotal
+        );
+        return ResponseEntity.ok(new ApiResponse<>(despesas, "Despesas listadas com sucesso."));
+    }
+
     @Operation(summary = "Busca uma despesa por ID (pertencente ao usuário)")
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<DespesaResponseDTO>> buscarDespesa(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<DespesaResponseDTO>> buscarDespesa(@PathVariable Long id, WebRequest request) {
+        if (respostaCondicional.dadosDoUsuarioNaoModificados(request)) {
+            return null; // 304 Not Modified
+        }
+
         DespesaResponseDTO despesa = despesaService.buscarPorId(id);
         return ResponseEntity.ok(new ApiResponse<>(despesa, "Despesa encontrada."));
     }
@@ -56,6 +100,20 @@ public class DespesaController {
                 .body(new ApiResponse<>(novaDespesa, "Despesa registrada com sucesso."));
     }
 
+    @Operation(summary = "Importa despesas em lote (array JSON); linhas inválidas são devolvidas sem interromper a importação")
+    @PostMapping(value = "/importacao", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<ImportacaoResponseDTO>> importarDespesas(@RequestBody List<DespesaRequestDTO> despesas) {
+        ImportacaoResponseDTO resultado = importacaoService.importar(TipoMovimentacao.DESPESA, despesas);
+        return ResponseEntity.ok(new ApiResponse<>(resultado, "Importação de despesas concluída."));
+    }
+
+    @Operation(summary = "Importa despesas em lote a partir de CSV (descricao;valor;data;natureza;categoriaId)")
+    @PostMapping(value = "/importacao", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<ImportacaoResponseDTO>> importarDespesasCsv(InputStream csv) {
+        ImportacaoResponseDTO resultado = importacaoService.importarCsv(TipoMovimentacao.DESPESA, csv);
+        return ResponseEntity.ok(new ApiResponse<>(resultado, "Importação de despesas concluída."));
+    }
+
     @Operation(summary = "Atualiza uma despesa existente")
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<DespesaResponseDTO>> atualizarDespesa(@PathVariable Long id, @Valid @RequestBody DespesaRequestDTO dto) {
@@ -70,4 +128,18 @@ public class DespesaController {
         // Alterado para 200 OK para manter o padrão de mensagem no envelope
         return ResponseEntity.ok(new ApiResponse<>(null, "Despesa excluída com sucesso."));
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Exclui despesas em lote por ids e/ou período (e categoria), em uma única instrução")
+    @PostMapping("/exclusao-em-lote")
+    public ResponseEntity<ApiResponse<OperacaoEmLoteResponseDTO>> excluirDespesasEmLote(@Valid @RequestBody ExclusaoEmLoteRequestDTO dto) {
+        OperacaoEmLoteResponseDTO resultado = operacaoEmLoteService.excluir(TipoMovimentacao.DESPESA, dto);
+        return ResponseEntity.ok(new ApiResponse<>(resultado, "Despesas excluídas com sucesso."));
+    }
+
+    @Operation(summary = "Move despesas para outra categoria em lote, em uma única instrução")
+    @PostMapping("/recategorizacao")
+    public ResponseEntity<ApiResponse<OperacaoEmLoteResponseDTO>> recategorizarDespesas(@Valid @RequestBody RecategorizacaoRequestDTO dto) {
+        OperacaoEmLoteResponseDTO resultado = operacaoEmLoteService.recategorizar(TipoMovimentacao.DESPESA, dto);
+        return ResponseEntity.ok(new ApiResponse<>(resultado, "Despesas recategorizadas com sucesso."));
+    }
+}
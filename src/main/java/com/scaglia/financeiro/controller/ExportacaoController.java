@@ -0,0 +1,43 @@
+package com.scaglia.financeiro.controller;
+
+import com.scaglia.financeiro.enums.FormatoExportacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.service.ExportacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@Tag(name = "Exportação", description = "Exportação das movimentações do usuário em CSV (completo ou no layout da importação) ou NDJSON")
+@RestController
+@RequestMapping("/api/v1/exportacao")
+@RequiredArgsConstructor
+public class ExportacaoController {
+
+    private final ExportacaoService exportacaoService;
+
+    @Operation(summary = "Exporta receitas e/ou despesas de um período como arquivo (streaming, sem paginação)")
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(required = false) TipoMovimentacao tipo,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+            @RequestParam(defaultValue = "CSV") FormatoExportacao formato) {
+
+        StreamingResponseBody corpo = exportacaoService.exportar(tipo, dataInicial, dataFinal, formato);
+
+        String nomeArquivo = "movimentacoes_" + dataInicial + "_" + dataFinal + "." + formato.getExtensao();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(nomeArquivo).build().toString())
+                .body(corpo);
+    }
+}
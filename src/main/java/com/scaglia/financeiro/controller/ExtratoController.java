@@ -0,0 +1,43 @@
+package com.scaglia.financeiro.controller;
+
+import com.scaglia.financeiro.config.RespostaCondicional;
+import com.scaglia.financeiro.dto.ApiResponse;
+import com.scaglia.financeiro.dto.CursorPageDTO;
+import com.scaglia.financeiro.dto.LancamentoExtratoDTO;
+import com.scaglia.financeiro.service.ExtratoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+
+@Tag(name = "Extrato", description = "Receitas e despesas do usuário em uma única listagem, com saldo acumulado")
+@RestController
+@RequestMapping("/api/v1/extrato")
+@RequiredArgsConstructor
+public class ExtratoController {
+
+    private final ExtratoService extratoService;
+    private final RespostaCondicional respostaCondicional;
+
+    @Operation(summary = "Lista receitas e despesas intercaladas por data (mais recentes primeiro), por cursor, "
+            + "com o saldo acumulado após cada lançamento")
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPageDTO<LancamentoExtratoDTO>>> listar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        if (respostaCondicional.dadosDoUsuarioNaoModificados(request)) {
+            return null; // 304 Not Modified
+        }
+
+        CursorPageDTO<LancamentoExtratoDTO> extrato = extratoService.listar(dataInicial, dataFinal, cursor, size);
+        return ResponseEntity.ok(new ApiResponse<>(extrato, "Extrato listado com sucesso."));
+    }
+}
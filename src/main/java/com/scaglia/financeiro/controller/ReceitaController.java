@@ -1,8 +1,17 @@
 package com.scaglia.financeiro.controller;
 
+import com.scaglia.financeiro.config.RespostaCondicional;
 import com.scaglia.financeiro.dto.ApiResponse; // Certifique-se de importar o novo DTO
+import com.scaglia.financeiro.dto.CursorPageDTO;
+import com.scaglia.financeiro.dto.ExclusaoEmLoteRequestDTO;
+import com.scaglia.financeiro.dto.ImportacaoResponseDTO;
+import com.scaglia.financeiro.dto.OperacaoEmLoteResponseDTO;
+import com.scaglia.financeiro.dto.RecategorizacaoRequestDTO;
 import com.scaglia.financeiro.dto.ReceitaRequestDTO;
 import com.scaglia.financeiro.dto.ReceitaResponseDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.service.ImportacaoService;
+import com.scaglia.financeiro.service.OperacaoEmLoteService;
 import com.scaglia.financeiro.service.ReceitaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,10 +23,14 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.List;
 
 @Tag(name = "Receitas", description = "Endpoints para gerenciamento das Receitas financeiras")
 @RestController
@@ -26,6 +39,9 @@ import java.time.LocalDate;
 public class ReceitaController {
 
     private final ReceitaService receitaService;
+    private final ImportacaoService importacaoService;
+    private final OperacaoEmLoteService operacaoEmLoteService;
+    private final RespostaCondicional respostaCondicional;
 
     @Operation(summary = "Lista receitas do usuário com filtros, paginação e ordenação")
     @GetMapping
@@ -33,7 +49,11 @@ public class ReceitaController {
             @RequestParam(required = false) Long categoriaId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
-            @PageableDefault(size = 10, sort = "data", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "data", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest request) {
+        if (respostaCondicional.dadosDoUsuarioNaoModificados(request)) {
+            return null; // 304 Not Modified
+        }
 
         Page<ReceitaResponseDTO> receitas = receitaService.listarReceitasUsuario(
                 categoriaId, dataInicial, dataFinal, pageable
@@ -41,9 +61,33 @@ public class ReceitaController {
         return ResponseEntity.ok(new ApiResponse<>(receitas, "Receitas listadas com sucesso."));
     }
 
+    @Operation(summary = "Lista receitas do usuário por cursor (rolagem contínua, custo constante por página)")
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPageDTO<ReceitaResponseDTO>>> listarReceitasPorCursor(
+            @RequestParam(required = false) Long categoriaId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean incluirTotal,
+            WebRequest request) {
+        if (respostaCondicional.dadosDoUsuarioNaoModificados(request)) {
+            return null; // 304 Not Modified
+        }
+
+        CursorPageDTO<ReceitaResponseDTO> receitas = receitaService.listarReceitasPorCursor(
+                categoriaId, dataInicial, dataFinal, cursor, size, incluirTotal
+        );
+        return ResponseEntity.ok(new ApiResponse<>(receitas, "Receitas listadas com sucesso."));
+    }
+
     @Operation(summary = "Busca uma receita por ID (pertencente ao usuário)")
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<ReceitaResponseDTO>> buscarReceita(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<ReceitaResponseDTO>> buscarReceita(@PathVariable Long id, WebRequest request) {
+        if (respostaCondicional.dadosDoUsuarioNaoModificados(request)) {
+            return null; // 304 Not Modified
+        }
+
         ReceitaResponseDTO receita = receitaService.buscarPorId(id);
         return ResponseEntity.ok(new ApiResponse<>(receita, "Receita encontrada com sucesso."));
     }
@@ -56,6 +100,20 @@ public class ReceitaController {
                 .body(new ApiResponse<>(novaReceita, "Receita registrada com sucesso."));
     }
 
+    @Operation(summary = "Importa receitas em lote (array JSON); linhas inválidas são devolvidas sem interromper a importação")
+    @PostMapping(value = "/importacao", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<ImportacaoResponseDTO>> importarReceitas(@RequestBody List<ReceitaRequestDTO> receitas) {
+        ImportacaoResponseDTO resultado = importacaoService.importar(TipoMovimentacao.RECEITA, receitas);
+        return ResponseEntity.ok(new ApiResponse<>(resultado, "Importação de receitas concluída."));
+    }
+
+    @Operation(summary = "Importa receitas em lote a partir de CSV (descricao;valor;data;natureza;categoriaId)")
+    @PostMapping(value = "/importacao", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<ImportacaoResponseDTO>> importarReceitasCsv(InputStream csv) {
+        ImportacaoResponseDTO resultado = importacaoService.importarCsv(TipoMovimentacao.RECEITA, csv);
+        return ResponseEntity.ok(new ApiResponse<>(resultado, "Importação de receitas concluída."));
+    }
+
     @Operation(summary = "Atualiza uma receita existente")
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<ReceitaResponseDTO>> atualizarReceita(@PathVariable Long id, @Valid @RequestBody ReceitaRequestDTO dto) {
@@ -70,4 +128,18 @@ public class ReceitaController {
         // Retornamos 200 OK com mensagem de confirmação no envelope
         return ResponseEntity.ok(new ApiResponse<>(null, "Receita excluída com sucesso."));
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Exclui receitas em lote por ids e/ou período (e categoria), em uma única instrução")
+    @PostMapping("/exclusao-em-lote")
+    public ResponseEntity<ApiResponse<OperacaoEmLoteResponseDTO>> excluirReceitasEmLote(@Valid @RequestBody ExclusaoEmLoteRequestDTO dto) {
+        OperacaoEmLoteResponseDTO resultado = operacaoEmLoteService.excluir(TipoMovimentacao.RECEITA, dto);
+        return ResponseEntity.ok(new ApiResponse<>(resultado, "Receitas excluídas com sucesso."));
+    }
+
+    @Operation(summary = "Move receitas para outra categoria em lote, em uma única instrução")
+    @PostMapping("/recategorizacao")
+    public ResponseEntity<ApiResponse<OperacaoEmLoteResponseDTO>> recategorizarReceitas(@Valid @RequestBody RecategorizacaoRequestDTO dto) {
+        OperacaoEmLoteResponseDTO resultado = operacaoEmLoteService.recategorizar(TipoMovimentacao.RECEITA, dto);
+        return ResponseEntity.ok(new ApiResponse<>(resultado, "Receitas recategorizadas com sucesso."));
+    }
+}
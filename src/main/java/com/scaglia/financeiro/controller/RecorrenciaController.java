@@ -0,0 +1,46 @@
+package com.scaglia.financeiro.controller;
+
+import com.scaglia.financeiro.dto.ApiResponse;
+import com.scaglia.financeiro.dto.RecorrenciaRequestDTO;
+import com.scaglia.financeiro.dto.RecorrenciaResponseDTO;
+import com.scaglia.financeiro.service.RecorrenciaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "Recorrências", description = "Receitas e despesas fixas criadas automaticamente todo mês")
+@RestController
+@RequestMapping("/api/v1/recorrencias")
+@RequiredArgsConstructor
+public class RecorrenciaController {
+
+    private final RecorrenciaService recorrenciaService;
+
+    @Operation(summary = "Lista as regras de recorrência do usuário")
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<RecorrenciaResponseDTO>>> listar() {
+        List<RecorrenciaResponseDTO> recorrencias = recorrenciaService.listar();
+        return ResponseEntity.ok(new ApiResponse<>(recorrencias, "Recorrências listadas com sucesso."));
+    }
+
+    @Operation(summary = "Cria uma regra de recorrência mensal (ocorrências já vencidas são criadas na hora)")
+    @PostMapping
+    public ResponseEntity<ApiResponse<RecorrenciaResponseDTO>> criar(@Valid @RequestBody RecorrenciaRequestDTO dto) {
+        RecorrenciaResponseDTO recorrencia = recorrenciaService.criar(dto);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new ApiResponse<>(recorrencia, "Recorrência criada com sucesso."));
+    }
+
+    @Operation(summary = "Desativa uma regra de recorrência (as movimentações já criadas permanecem)")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> desativar(@PathVariable Long id) {
+        recorrenciaService.desativar(id);
+        return ResponseEntity.ok(new ApiResponse<>(null, "Recorrência desativada com sucesso."));
+    }
+}
@@ -1,15 +1,21 @@
 package com.scaglia.financeiro.controller;
 
+import com.scaglia.financeiro.config.RespostaCondicional;
 import com.scaglia.financeiro.dto.ApiResponse; // Importando o envelope
 import com.scaglia.financeiro.dto.BalancoResponseDTO;
+import com.scaglia.financeiro.dto.ProjecaoFluxoCaixaDTO;
+import com.scaglia.financeiro.dto.SerieRelatorioDTO;
 import com.scaglia.financeiro.service.RelatorioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 
 @Tag(name = "Relatórios e Dashboard", description = "Endpoints para consulta do Balanço e Resumo Financeiro")
 @RestController
@@ -18,12 +24,14 @@ import java.time.LocalDate;
 public class RelatorioController {
 
     private final RelatorioService relatorioService;
+    private final RespostaCondicional respostaCondicional;
 
     @Operation(summary = "Calcula o balanço total (Receitas - Despesas) para um mês e ano específicos.")
     @GetMapping("/balanco/{ano}/{mes}")
     public ResponseEntity<ApiResponse<BalancoResponseDTO>> obterBalancoMensal(
             @PathVariable int ano,
-            @PathVariable int mes) {
+            @PathVariable int mes,
+            WebRequest request) {
 
         // Nota: Validar mês/ano é excelente. 
         // Em um passo futuro, isso poderia ser tratado por um ExceptionHandler global.
@@ -31,6 +39,11 @@ public class RelatorioController {
             throw new IllegalArgumentException("Mês inválido. O mês deve ser entre 1 e 12.");
         }
 
+        // Dados inalterados desde a última resposta: 304 sem recalcular o balanço
+        if (respostaCondicional.dadosDoUsuarioNaoModificados(request)) {
+            return null;
+        }
+
         BalancoResponseDTO balanco = relatorioService.calcularBalancoMensal(mes, ano);
         
         return ResponseEntity.ok(new ApiResponse<>(balanco, "Balanço mensal calculado com sucesso."));
@@ -38,8 +51,13 @@ public class RelatorioController {
 
     @Operation(summary = "Calcula o balanço total para o mês atual.")
     @GetMapping("/balanco/atual")
-    public ResponseEntity<ApiResponse<BalancoResponseDTO>> obterBalancoAtual() {
+    public ResponseEntity<ApiResponse<BalancoResponseDTO>> obterBalancoAtual(WebRequest request) {
         LocalDate hoje = LocalDate.now();
+
+        // O mês faz parte da versão: na virada do mês a mesma URL passa a ter outro conteúdo
+        if (respostaCondicional.dadosDoUsuarioNaoModificados(request, YearMonth.from(hoje).toString())) {
+            return null;
+        }
         BalancoResponseDTO balanco = relatorioService.calcularBalancoMensal(
                 hoje.getMonthValue(), 
                 hoje.getYear()
@@ -47,4 +65,45 @@ public class RelatorioController {
         
         return ResponseEntity.ok(new ApiResponse<>(balanco, "Balanço do mês atual carregado."));
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Série mensal (receitas, despesas, saldo e categorias) de um intervalo de meses, em uma única requisição.")
+    @GetMapping("/serie")
+    public ResponseEntity<ApiResponse<SerieRelatorioDTO>> obterSerie(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth inicio,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth fim,
+            WebRequest request) {
+
+        if (respostaCondicional.dadosDoUsuarioNaoModificados(request)) {
+            return null;
+        }
+
+        SerieRelatorioDTO serie = relatorioService.calcularSerie(inicio, fim);
+        return ResponseEntity.ok(new ApiResponse<>(serie, "Série do período calculada com sucesso."));
+    }
+
+    @Operation(summary = "Série mensal de janeiro a dezembro de um ano.")
+    @GetMapping("/serie/{ano}")
+    public ResponseEntity<ApiResponse<SerieRelatorioDTO>> obterSerieAnual(@PathVariable int ano, WebRequest request) {
+        if (respostaCondicional.dadosDoUsuarioNaoModificados(request)) {
+            return null;
+        }
+
+        SerieRelatorioDTO serie = relatorioService.calcularSerie(YearMonth.of(ano, 1), YearMonth.of(ano, 12));
+        return ResponseEntity.ok(new ApiResponse<>(serie, "Série anual calculada com sucesso."));
+    }
+
+    @Operation(summary = "Projeção diária do saldo para os próximos meses, a partir das receitas/despesas fixas e da tendência das variáveis.")
+    @GetMapping("/projecao")
+    public ResponseEntity<ApiResponse<ProjecaoFluxoCaixaDTO>> obterProjecao(
+            @RequestParam(defaultValue = "12") int meses,
+            WebRequest request) {
+
+        // A projeção parte de hoje: o dia faz parte da versão
+        if (respostaCondicional.dadosDoUsuarioNaoModificados(request, LocalDate.now().toString())) {
+            return null;
+        }
+
+        ProjecaoFluxoCaixaDTO projecao = relatorioService.projetarFluxoCaixa(meses);
+        return ResponseEntity.ok(new ApiResponse<>(projecao, "Projeção de caixa calculada com sucesso."));
+    }
+}
@@ -0,0 +1,12 @@
+package com.scaglia.financeiro.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Ponto de partida da projeção de caixa.
+ *
+ * @param saldoAtual         receitas - despesas de todo o histórico até hoje
+ * @param resultadoVariaveis receitas - despesas VARIAVEL na janela recente (vira a tendência diária)
+ */
+public record BaseProjecaoDTO(BigDecimal saldoAtual, BigDecimal resultadoVariaveis) {
+}
@@ -0,0 +1,19 @@
+package com.scaglia.financeiro.dto;
+
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Receita ou despesa FIXA considerada mensal na projeção: a ocorrência mais recente de cada
+ * (tipo, categoria, descrição), que se repete todo mês no mesmo dia com o mesmo valor.
+ */
+public record CompromissoFixoDTO(
+        TipoMovimentacao tipo,
+        String descricao,
+        Long categoriaId,
+        BigDecimal valor,
+        LocalDate ultimaData
+) {
+}
@@ -0,0 +1,28 @@
+package com.scaglia.financeiro.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição da última linha entregue na paginação por cursor (keyset), ordenada por (data, id) decrescente.
+ * Trafega para o cliente como texto opaco (Base64 URL-safe).
+ */
+public record CursorDTO(LocalDate data, Long id) {
+
+    public String codificar() {
+        String valor = data + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorDTO decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split("\\|");
+            return new CursorDTO(LocalDate.parse(partes[0]), Long.valueOf(partes[1]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.");
+        }
+    }
+}
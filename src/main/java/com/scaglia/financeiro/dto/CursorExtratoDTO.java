@@ -0,0 +1,31 @@
+package com.scaglia.financeiro.dto;
+
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição da última linha entregue no extrato, ordenado por (data, tipo, id) decrescente.
+ * O tipo desempata porque receitas e despesas têm sequences próprias (o mesmo id pode existir nas duas).
+ * Trafega para o cliente como texto opaco (Base64 URL-safe).
+ */
+public record CursorExtratoDTO(LocalDate data, TipoMovimentacao tipo, Long id) {
+
+    public String codificar() {
+        String valor = data + "|" + tipo.name() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorExtratoDTO decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split("\\|");
+            return new CursorExtratoDTO(LocalDate.parse(partes[0]), TipoMovimentacao.valueOf(partes[1]), Long.valueOf(partes[2]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.");
+        }
+    }
+}
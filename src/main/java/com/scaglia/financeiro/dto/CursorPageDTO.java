@@ -0,0 +1,11 @@
+package com.scaglia.financeiro.dto;
+
+import java.util.List;
+
+/**
+ * Página da listagem por cursor. O total só é calculado quando solicitado (exige um COUNT).
+ *
+ * @param nextCursor cursor para a próxima página, ou null quando não há mais itens
+ */
+public record CursorPageDTO<T>(List<T> content, String nextCursor, boolean hasNext, Long totalElements) {
+}
@@ -2,6 +2,7 @@ package com.scaglia.financeiro.dto;
 
 import com.scaglia.financeiro.enums.NaturezaMovimentacao;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -12,13 +13,14 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
-public class DespesaRequestDTO {
+public class DespesaRequestDTO implements MovimentacaoRequestDTO {
 
     @NotBlank(message = "A descrição da despesa é obrigatória")
     private String descricao;
 
     @NotNull(message = "O valor da despesa é obrigatório")
     @DecimalMin(value = "0.01", message = "O valor deve ser positivo")
+    @Digits(integer = 15, fraction = 2, message = "O valor deve ter no máximo 15 dígitos inteiros e 2 casas decimais")
     private BigDecimal valor;
 
     @NotNull(message = "A data da despesa é obrigatória")
@@ -2,12 +2,15 @@ package com.scaglia.financeiro.dto;
 
 
 import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
 public class DespesaResponseDTO {
 
     private Long id;
@@ -19,4 +22,19 @@ public class DespesaResponseDTO {
     private CategoriaResponseDTO categoria;
 
     private String usuarioId;
-}
\ No newline at end of file
+
+    /**
+     * Usado pela projeção JPQL ({@code SELECT new ...}), que não aceita construtores aninhados:
+     * os campos da categoria chegam achatados e o DTO da categoria é montado aqui.
+     */
+    public DespesaResponseDTO(Long id, String descricao, BigDecimal valor, LocalDate data, NaturezaMovimentacao natureza,
+                          Long categoriaId, String categoriaNome, TipoMovimentacao categoriaTipo, String usuarioId) {
+        this.id = id;
+        this.descricao = descricao;
+        this.valor = valor;
+        this.data = data;
+        this.natureza = natureza;
+        this.categoria = new CategoriaResponseDTO(categoriaId, categoriaNome, categoriaTipo);
+        this.usuarioId = usuarioId;
+    }
+}
@@ -0,0 +1,7 @@
+package com.scaglia.financeiro.dto;
+
+/**
+ * Erro de uma linha da importação em lote (linha 1 = primeiro item do JSON ou primeira linha de dados do CSV).
+ */
+public record ErroImportacaoDTO(int linha, String mensagem) {
+}
@@ -0,0 +1,29 @@
+package com.scaglia.financeiro.dto;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Critérios da exclusão em lote: lista de ids e/ou filtro por período (e categoria).
+ * Os critérios informados são combinados (todos precisam ser atendidos).
+ */
+@Data
+public class ExclusaoEmLoteRequestDTO {
+
+    @Size(max = 1000, message = "Informe no máximo 1000 ids por requisição")
+    private List<@Positive Long> ids;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dataInicial;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dataFinal;
+
+    @Positive(message = "O ID da categoria deve ser um número positivo")
+    private Long categoriaId;
+}
@@ -0,0 +1,9 @@
+package com.scaglia.financeiro.dto;
+
+import java.util.List;
+
+/**
+ * Resultado da importação em lote: as linhas válidas são gravadas e as inválidas são relatadas em {@code erros}.
+ */
+public record ImportacaoResponseDTO(int totalLinhas, int importadas, List<ErroImportacaoDTO> erros) {
+}
@@ -0,0 +1,25 @@
+package com.scaglia.financeiro.dto;
+
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Linha do extrato: uma receita ou despesa e o saldo acumulado do usuário logo após ela.
+ *
+ * @param saldo soma de todas as receitas menos todas as despesas até esta linha (inclusive), desde o início
+ */
+public record LancamentoExtratoDTO(
+        TipoMovimentacao tipo,
+        Long id,
+        LocalDate data,
+        String descricao,
+        BigDecimal valor,
+        NaturezaMovimentacao natureza,
+        Long categoriaId,
+        String categoria,
+        BigDecimal saldo
+) {
+}
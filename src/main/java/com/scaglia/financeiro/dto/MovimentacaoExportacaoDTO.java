@@ -0,0 +1,22 @@
+package com.scaglia.financeiro.dto;
+
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Linha da exportação de movimentações (CSV ou NDJSON), lida direto do cursor JDBC.
+ */
+public record MovimentacaoExportacaoDTO(
+        TipoMovimentacao tipo,
+        Long id,
+        LocalDate data,
+        String descricao,
+        BigDecimal valor,
+        NaturezaMovimentacao natureza,
+        Long categoriaId,
+        String categoria
+) {
+}
@@ -0,0 +1,33 @@
+package com.scaglia.financeiro.dto;
+
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Campos comuns às requisições de Receita e Despesa (implementados pelos getters/setters do Lombok).
+ * Permite que fluxos genéricos, como a importação em lote, tratem os dois tipos da mesma forma.
+ */
+public interface MovimentacaoRequestDTO {
+
+    String getDescricao();
+
+    void setDescricao(String descricao);
+
+    BigDecimal getValor();
+
+    void setValor(BigDecimal valor);
+
+    LocalDate getData();
+
+    void setData(LocalDate data);
+
+    NaturezaMovimentacao getNatureza();
+
+    void setNatureza(NaturezaMovimentacao natureza);
+
+    Long getCategoriaId();
+
+    void setCategoriaId(Long categoriaId);
+}
@@ -0,0 +1,7 @@
+package com.scaglia.financeiro.dto;
+
+/**
+ * Resultado de uma exclusão/alteração em lote. Ids de outros usuários ou inexistentes não são contados.
+ */
+public record OperacaoEmLoteResponseDTO(long afetadas) {
+}
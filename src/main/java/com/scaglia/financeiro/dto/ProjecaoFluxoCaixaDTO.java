@@ -0,0 +1,31 @@
+package com.scaglia.financeiro.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Projeção diária do saldo a partir dos compromissos fixos e da tendência das movimentações variáveis.
+ * {@code saldos} tem uma posição por dia: a posição i é o saldo ao fim do dia dataInicial + i.
+ */
+@Data
+@Builder
+public class ProjecaoFluxoCaixaDTO {
+
+    private LocalDate dataInicial;
+    private LocalDate dataFinal;
+
+    private BigDecimal saldoAtual;
+    private List<BigDecimal> saldos;
+
+    private BigDecimal saldoFinal;
+    private BigDecimal saldoMinimo;
+    private LocalDate dataSaldoMinimo;
+    private LocalDate primeiraDataNegativa; // null quando o saldo projetado nunca fica negativo
+
+    private BigDecimal variacaoDiariaVariaveis; // média diária (receitas - despesas VARIAVEL) da janela recente
+    private List<CompromissoFixoDTO> compromissos;
+}
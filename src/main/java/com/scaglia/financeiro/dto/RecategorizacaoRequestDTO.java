@@ -0,0 +1,21 @@
+package com.scaglia.financeiro.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RecategorizacaoRequestDTO {
+
+    @NotEmpty(message = "Informe os ids das movimentações")
+    @Size(max = 1000, message = "Informe no máximo 1000 ids por requisição")
+    private List<@Positive Long> ids;
+
+    @NotNull(message = "O ID da nova categoria é obrigatório")
+    @Positive(message = "O ID da categoria deve ser um número positivo")
+    private Long categoriaId;
+}
@@ -1,6 +1,7 @@
 package com.scaglia.financeiro.dto;
 
 import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
@@ -23,6 +24,18 @@ public class ReceitaResponseDTO {
     private CategoriaResponseDTO categoria;
     private String usuarioId;
 
-
-
-}
\ No newline at end of file
+    /**
+     * Usado pela projeção JPQL ({@code SELECT new ...}), que não aceita construtores aninhados:
+     * os campos da categoria chegam achatados e o DTO da categoria é montado aqui.
+     */
+    public ReceitaResponseDTO(Long id, String descricao, BigDecimal valor, LocalDate data, NaturezaMovimentacao natureza,
+                          Long categoriaId, String categoriaNome, TipoMovimentacao categoriaTipo, String usuarioId) {
+        this.id = id;
+        this.descricao = descricao;
+        this.valor = valor;
+        this.data = data;
+        this.natureza = natureza;
+        this.categoria = new CategoriaResponseDTO(categoriaId, categoriaNome, categoriaTipo);
+        this.usuarioId = usuarioId;
+    }
+}
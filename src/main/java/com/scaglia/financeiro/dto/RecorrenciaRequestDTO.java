@@ -0,0 +1,41 @@
+package com.scaglia.financeiro.dto;
+
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class RecorrenciaRequestDTO {
+
+    @NotNull(message = "O tipo da recorrência é obrigatório (RECEITA ou DESPESA)")
+    private TipoMovimentacao tipo;
+
+    @NotBlank(message = "A descrição da recorrência é obrigatória")
+    private String descricao;
+
+    @NotNull(message = "O valor da recorrência é obrigatório")
+    @DecimalMin(value = "0.01", message = "O valor deve ser positivo")
+    @Digits(integer = 15, fraction = 2, message = "O valor deve ter no máximo 15 dígitos inteiros e 2 casas decimais")
+    private BigDecimal valor;
+
+    @NotNull(message = "O ID da categoria é obrigatório")
+    @Positive(message = "O ID da categoria deve ser um número positivo")
+    private Long categoriaId;
+
+    // Primeira ocorrência; o dia do mês dela se repete nos meses seguintes
+    @NotNull(message = "A data inicial da recorrência é obrigatória")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dataInicio;
+
+    // Opcional: sem data final, a regra vale até ser desativada
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dataFim;
+}
@@ -0,0 +1,21 @@
+package com.scaglia.financeiro.dto;
+
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record RecorrenciaResponseDTO(
+        Long id,
+        TipoMovimentacao tipo,
+        String descricao,
+        BigDecimal valor,
+        Long categoriaId,
+        String categoria,
+        int diaDoMes,
+        LocalDate dataInicio,
+        LocalDate dataFim,
+        LocalDate proximaOcorrencia,
+        boolean ativa
+) {
+}
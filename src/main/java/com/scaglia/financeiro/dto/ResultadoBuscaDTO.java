@@ -0,0 +1,23 @@
+package com.scaglia.financeiro.dto;
+
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Receita ou despesa encontrada pela busca textual, com a relevância usada na ordenação (maior primeiro).
+ */
+public record ResultadoBuscaDTO(
+        TipoMovimentacao tipo,
+        Long id,
+        LocalDate data,
+        String descricao,
+        BigDecimal valor,
+        NaturezaMovimentacao natureza,
+        Long categoriaId,
+        String categoria,
+        double relevancia
+) {
+}
@@ -0,0 +1,33 @@
+package com.scaglia.financeiro.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relatório de um intervalo de meses em formato de série temporal (pronto para gráficos).
+ * Todas as listas têm o mesmo tamanho de {@code meses} e a posição i corresponde ao mês meses[i];
+ * meses sem movimentação aparecem com zero.
+ */
+@Data
+@Builder
+public class SerieRelatorioDTO {
+
+    // Meses do intervalo no formato "yyyy-MM", em ordem
+    private List<String> meses;
+
+    private List<BigDecimal> receitas;
+    private List<BigDecimal> despesas;
+    private List<BigDecimal> saldo; // receitas - despesas de cada mês
+
+    // Chave: Nome da Categoria, Valor: série mensal da categoria
+    private Map<String, List<BigDecimal>> receitasPorCategoria;
+    private Map<String, List<BigDecimal>> despesasPorCategoria;
+
+    private BigDecimal totalReceitas;
+    private BigDecimal totalDespesas;
+    private BigDecimal saldoPeriodo;
+}
@@ -0,0 +1,11 @@
+package com.scaglia.financeiro.dto;
+
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+
+import java.math.BigDecimal;
+
+/**
+ * Linha de agregação usada pelos relatórios: total de um tipo de movimentação em uma categoria.
+ */
+public record TotalCategoriaDTO(TipoMovimentacao tipo, String categoria, BigDecimal total) {
+}
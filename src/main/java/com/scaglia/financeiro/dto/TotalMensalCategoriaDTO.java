@@ -0,0 +1,11 @@
+package com.scaglia.financeiro.dto;
+
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+
+import java.math.BigDecimal;
+
+/**
+ * Linha de agregação dos relatórios por período: total de um tipo de movimentação em uma categoria, em um mês.
+ */
+public record TotalMensalCategoriaDTO(int ano, int mes, TipoMovimentacao tipo, String categoria, BigDecimal total) {
+}
@@ -0,0 +1,9 @@
+package com.scaglia.financeiro.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Soma dos valores afetados por uma operação em lote, por categoria e mês: vira um único ajuste no resumo mensal.
+ */
+public record VariacaoMensalCategoriaDTO(Long categoriaId, int ano, int mes, BigDecimal total, long quantidade) {
+}
@@ -0,0 +1,24 @@
+package com.scaglia.financeiro.enums;
+
+public enum FormatoExportacao {
+    CSV("text/csv", "csv"),
+    // Somente as colunas da importação (descricao;valor;data;natureza;categoriaId): o arquivo pode ser reimportado
+    CSV_IMPORTACAO("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExportacao(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+}
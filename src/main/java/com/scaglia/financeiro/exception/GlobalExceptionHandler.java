@@ -1,5 +1,6 @@
 package com.scaglia.financeiro.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -69,6 +70,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.UNAUTHORIZED);
     }
 
+    // Trata excesso de requisições (429 - TOO_MANY_REQUESTS), ex.: pool de hash de senha saturado
+    @ExceptionHandler(LimiteRequisicoesException.class)
+    public ResponseEntity<ErrorDetails> handleLimiteRequisicoes(LimiteRequisicoesException ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                ex.getMessage(),
+                request.getDescription(false),
+                "TOO_MANY_REQUESTS"
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorDetails);
+    }
+
     // Trata falhas internas relacionadas a JWT/token (500 - INTERNAL_SERVER_ERROR)
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ErrorDetails> handleIllegalState(IllegalStateException ex, WebRequest request) {
@@ -0,0 +1,12 @@
+package com.scaglia.financeiro.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS) // Resposta HTTP 429
+public class LimiteRequisicoesException extends RuntimeException {
+
+    public LimiteRequisicoesException(String mensagem) {
+        super(mensagem);
+    }
+}
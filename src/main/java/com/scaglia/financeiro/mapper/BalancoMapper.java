@@ -0,0 +1,130 @@
+package com.scaglia.financeiro.mapper;
+
+import com.scaglia.financeiro.dto.BalancoResponseDTO;
+import com.scaglia.financeiro.dto.SerieRelatorioDTO;
+import com.scaglia.financeiro.dto.TotalCategoriaDTO;
+import com.scaglia.financeiro.dto.TotalMensalCategoriaDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Dinheiro;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * As somas são feitas em centavos (long, via Dinheiro) e os valores voltam a BigDecimal (escala 2)
+ * apenas na montagem do DTO.
+ */
+@Component
+public class BalancoMapper {
+
+    /**
+     * Monta o balanço a partir de totais por tipo/categoria (resumo mensal ou agregação direta).
+     */
+    public BalancoResponseDTO toResponseDTO(List<TotalCategoriaDTO> totais) {
+        long totalReceitas = 0;
+        long totalDespesas = 0;
+        // Vetor de uma posição: acumulador mutável por categoria, sem Long boxing a cada soma
+        Map<String, long[]> receitasPorCategoria = new HashMap<>();
+        Map<String, long[]> despesasPorCategoria = new HashMap<>();
+
+        for (TotalCategoriaDTO item : totais) {
+            long total = Dinheiro.centavos(item.total());
+            if (item.tipo() == TipoMovimentacao.RECEITA) {
+                totalReceitas = Dinheiro.somar(totalReceitas, total);
+                acumular(receitasPorCategoria.computeIfAbsent(item.categoria(), categoria -> new long[1]), 0, total);
+            } else {
+                totalDespesas = Dinheiro.somar(totalDespesas, total);
+                acumular(despesasPorCategoria.computeIfAbsent(item.categoria(), categoria -> new long[1]), 0, total);
+            }
+        }
+
+        return BalancoResponseDTO.builder()
+                .totalReceitas(Dinheiro.reais(totalReceitas))
+                .totalDespesas(Dinheiro.reais(totalDespesas))
+                .balancoFinal(Dinheiro.reais(Dinheiro.subtrair(totalReceitas, totalDespesas)))
+                .receitasPorCategoria(paraValores(receitasPorCategoria))
+                .despesasPorCategoria(paraValores(despesasPorCategoria))
+                .build();
+    }
+
+    /**
+     * Monta a série mensal do intervalo [inicio, fim] em uma única passada pelas linhas agregadas:
+     * cada linha soma na posição do seu mês (vetores pré-dimensionados, meses vazios ficam com zero).
+     */
+    public SerieRelatorioDTO toSerieDTO(YearMonth inicio, YearMonth fim, List<TotalMensalCategoriaDTO> totais) {
+        int quantidadeMeses = (int) ChronoUnit.MONTHS.between(inicio, fim) + 1;
+        long[] receitas = new long[quantidadeMeses];
+        long[] despesas = new long[quantidadeMeses];
+        Map<String, long[]> receitasPorCategoria = new LinkedHashMap<>();
+        Map<String, long[]> despesasPorCategoria = new LinkedHashMap<>();
+
+        // Índice do mês pela conta ano * 12 + mês, sem criar um YearMonth por linha
+        int mesInicial = inicio.getYear() * 12 + inicio.getMonthValue() - 1;
+        for (TotalMensalCategoriaDTO item : totais) {
+            int indice = item.ano() * 12 + item.mes() - 1 - mesInicial;
+            if (indice < 0 || indice >= quantidadeMeses) {
+                continue;
+            }
+
+            boolean receita = item.tipo() == TipoMovimentacao.RECEITA;
+            long total = Dinheiro.centavos(item.total());
+            acumular(receita ? receitas : despesas, indice, total);
+            acumular((receita ? receitasPorCategoria : despesasPorCategoria)
+                    .computeIfAbsent(item.categoria(), categoria -> new long[quantidadeMeses]), indice, total);
+        }
+
+        List<String> meses = new ArrayList<>(quantidadeMeses);
+        BigDecimal[] saldo = new BigDecimal[quantidadeMeses];
+        long totalReceitas = 0;
+        long totalDespesas = 0;
+        for (int i = 0; i < quantidadeMeses; i++) {
+            meses.add(inicio.plusMonths(i).toString());
+            saldo[i] = Dinheiro.reais(Dinheiro.subtrair(receitas[i], despesas[i]));
+            totalReceitas = Dinheiro.somar(totalReceitas, receitas[i]);
+            totalDespesas = Dinheiro.somar(totalDespesas, despesas[i]);
+        }
+
+        return SerieRelatorioDTO.builder()
+                .meses(meses)
+                .receitas(paraLista(receitas))
+                .despesas(paraLista(despesas))
+                .saldo(List.of(saldo))
+                .receitasPorCategoria(paraListas(receitasPorCategoria))
+                .despesasPorCategoria(paraListas(despesasPorCategoria))
+                .totalReceitas(Dinheiro.reais(totalReceitas))
+                .totalDespesas(Dinheiro.reais(totalDespesas))
+                .saldoPeriodo(Dinheiro.reais(Dinheiro.subtrair(totalReceitas, totalDespesas)))
+                .build();
+    }
+
+    private static void acumular(long[] totais, int indice, long centavos) {
+        totais[indice] = Dinheiro.somar(totais[indice], centavos);
+    }
+
+    private static List<BigDecimal> paraLista(long[] centavos) {
+        BigDecimal[] valores = new BigDecimal[centavos.length];
+        for (int i = 0; i < centavos.length; i++) {
+            valores[i] = Dinheiro.reais(centavos[i]);
+        }
+        return List.of(valores);
+    }
+
+    private static Map<String, BigDecimal> paraValores(Map<String, long[]> totais) {
+        Map<String, BigDecimal> resultado = new HashMap<>();
+        totais.forEach((categoria, total) -> resultado.put(categoria, Dinheiro.reais(total[0])));
+        return resultado;
+    }
+
+    private static Map<String, List<BigDecimal>> paraListas(Map<String, long[]> series) {
+        Map<String, List<BigDecimal>> resultado = new LinkedHashMap<>();
+        series.forEach((categoria, valores) -> resultado.put(categoria, paraLista(valores)));
+        return resultado;
+    }
+}
@@ -1,12 +1,18 @@
 package com.scaglia.financeiro.mapper;
 
+import com.scaglia.financeiro.config.CategoriaCache;
 import com.scaglia.financeiro.dto.CategoriaResponseDTO;
 import com.scaglia.financeiro.model.Categoria;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 public class CategoriaMapper {
 
+    private final CategoriaCache categoriaCache;
+
     public CategoriaResponseDTO toResponseDTO(Categoria categoria) {
         if (categoria == null) {
             return null;
@@ -17,4 +23,16 @@ public class CategoriaMapper {
         dto.setTipo(categoria.getTipo());
         return dto;
     }
+
+    /**
+     * Para a categoria associada a uma receita/despesa (LAZY): se o proxy ainda não foi carregado,
+     * nome e tipo vêm do CategoriaCache pelo id, sem disparar um SELECT por movimentação.
+     */
+    public CategoriaResponseDTO toResponseDTOPorReferencia(Categoria categoria) {
+        if (categoria == null || Hibernate.isInitialized(categoria)) {
+            return toResponseDTO(categoria);
+        }
+        return categoriaCache.buscarPorId(categoria.getId())
+                .orElseGet(() -> toResponseDTO(categoria));
+    }
 }
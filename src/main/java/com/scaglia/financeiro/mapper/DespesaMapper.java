@@ -21,7 +21,7 @@ public class DespesaMapper {
         dto.setValor(despesa.getValor());
         dto.setData(despesa.getData());
         dto.setNatureza(despesa.getNatureza());
-        dto.setCategoria(categoriaMapper.toResponseDTO(despesa.getCategoria()));
+        dto.setCategoria(categoriaMapper.toResponseDTOPorReferencia(despesa.getCategoria()));
         dto.setUsuarioId(despesa.getUsuario() != null ? despesa.getUsuario().getId() : null);
         return dto;
     }
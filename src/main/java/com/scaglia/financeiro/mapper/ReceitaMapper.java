@@ -21,7 +21,7 @@ public class ReceitaMapper {
         dto.setValor(receita.getValor());
         dto.setData(receita.getData());
         dto.setNatureza(receita.getNatureza());
-        dto.setCategoria(categoriaMapper.toResponseDTO(receita.getCategoria()));
+        dto.setCategoria(categoriaMapper.toResponseDTOPorReferencia(receita.getCategoria()));
         dto.setUsuarioId(receita.getUsuario() != null ? receita.getUsuario().getId() : null);
         return dto;
     }
@@ -0,0 +1,34 @@
+package com.scaglia.financeiro.mapper;
+
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.dto.RecorrenciaResponseDTO;
+import com.scaglia.financeiro.model.Recorrencia;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class RecorrenciaMapper {
+
+    private final CategoriaMapper categoriaMapper;
+
+    public RecorrenciaResponseDTO toResponseDTO(Recorrencia recorrencia) {
+        if (recorrencia == null) {
+            return null;
+        }
+        CategoriaResponseDTO categoria = categoriaMapper.toResponseDTOPorReferencia(recorrencia.getCategoria());
+        return new RecorrenciaResponseDTO(
+                recorrencia.getId(),
+                recorrencia.getTipo(),
+                recorrencia.getDescricao(),
+                recorrencia.getValor(),
+                categoria.getId(),
+                categoria.getNome(),
+                recorrencia.getDiaDoMes(),
+                recorrencia.getDataInicio(),
+                recorrencia.getDataFim(),
+                recorrencia.getProximaOcorrencia(),
+                recorrencia.isAtiva()
+        );
+    }
+}
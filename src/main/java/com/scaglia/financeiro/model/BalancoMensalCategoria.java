@@ -0,0 +1,53 @@
+package com.scaglia.financeiro.model;
+
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Resumo pré-calculado: total movimentado por usuário, mês, tipo e categoria.
+ * Mantido de forma incremental pelos serviços de Receita e Despesa, na mesma transação da escrita.
+ */
+@Entity
+@Table(
+        name = "balanco_mensal_categoria",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_balanco_mensal_categoria",
+                columnNames = {"usuario_id", "ano", "mes", "tipo", "categoria_id"}
+        )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalancoMensalCategoria {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "usuario_id", nullable = false, length = 36)
+    private String usuarioId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private TipoMovimentacao tipo; // Origem do valor: receitas ou despesas
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "categoria_id", nullable = false)
+    private Categoria categoria;
+
+    @Column(nullable = false)
+    private int ano;
+
+    @Column(nullable = false)
+    private int mes;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+}
@@ -14,15 +14,23 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "despesas")
+@Table(
+        name = "despesas",
+        indexes = {
+                @Index(name = "idx_despesas_usuario_data_id", columnList = "usuario_id, data, id"),
+                @Index(name = "idx_despesas_usuario_categoria_data", columnList = "usuario_id, categoria_id, data")
+        }
+)
 @Setter
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Despesa extends AbstractAuditEntity {
 
+    // Sequence com alocação em blocos (V5): permite que o Hibernate agrupe os INSERTs em batch JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "despesas_seq")
+    @SequenceGenerator(name = "despesas_seq", sequenceName = "despesas_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "A descrição da despesa é obrigatória")
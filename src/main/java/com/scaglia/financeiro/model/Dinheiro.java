@@ -0,0 +1,47 @@
+package com.scaglia.financeiro.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversões e somas de valores monetários em centavos (long), usadas nas agregações em memória
+ * (relatórios, projeções, importação). As colunas de valor têm escala 2, então a conversão de/para BigDecimal
+ * é exata; BigDecimal continua sendo o tipo das entidades e dos DTOs, e a conversão acontece só nessa fronteira.
+ */
+public final class Dinheiro {
+
+    private Dinheiro() {
+    }
+
+    /**
+     * Centavos de um valor com no máximo duas casas decimais.
+     *
+     * @throws ArithmeticException se o valor tiver mais de duas casas decimais ou não couber em um long
+     */
+    public static long centavos(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * BigDecimal com escala 2 (a mesma das colunas de valor).
+     */
+    public static BigDecimal reais(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    /**
+     * Soma de centavos para os acumuladores.
+     *
+     * @throws ArithmeticException se o resultado não couber em um long
+     */
+    public static long somar(long centavos, long outros) {
+        return Math.addExact(centavos, outros);
+    }
+
+    /**
+     * @throws ArithmeticException se o resultado não couber em um long
+     */
+    public static long subtrair(long centavos, long outros) {
+        return Math.subtractExact(centavos, outros);
+    }
+}
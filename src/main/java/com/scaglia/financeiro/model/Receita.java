@@ -15,15 +15,23 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "receitas")
+@Table(
+        name = "receitas",
+        indexes = {
+                @Index(name = "idx_receitas_usuario_data_id", columnList = "usuario_id, data, id"),
+                @Index(name = "idx_receitas_usuario_categoria_data", columnList = "usuario_id, categoria_id, data")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class Receita extends AbstractAuditEntity {
 
+    // Sequence com alocação em blocos (V5): permite que o Hibernate agrupe os INSERTs em batch JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "receitas_seq")
+    @SequenceGenerator(name = "receitas_seq", sequenceName = "receitas_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "A descrição da receita é obrigatória")
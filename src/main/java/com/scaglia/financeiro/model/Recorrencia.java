@@ -0,0 +1,64 @@
+package com.scaglia.financeiro.model;
+
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Regra de recorrência mensal de uma receita ou despesa FIXA (aluguel, salário...).
+ * As movimentações de cada mês são criadas em lote pelo agendador (RecorrenciaService), não pelo cliente.
+ */
+@Entity
+@Table(
+        name = "recorrencias",
+        indexes = @Index(name = "idx_recorrencias_usuario", columnList = "usuario_id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class Recorrencia extends AbstractAuditEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id", referencedColumnName = "id", nullable = false)
+    private User usuario;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private TipoMovimentacao tipo; // Tabela em que as ocorrências são criadas
+
+    @Column(nullable = false)
+    private String descricao;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal valor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "categoria_id", nullable = false)
+    private Categoria categoria;
+
+    // 29, 30 e 31 caem no último dia dos meses mais curtos
+    @Column(name = "dia_do_mes", nullable = false)
+    private int diaDoMes;
+
+    @Column(name = "data_inicio", nullable = false)
+    private LocalDate dataInicio;
+
+    @Column(name = "data_fim")
+    private LocalDate dataFim;
+
+    // Próxima ocorrência a criar; avançada pelo agendador
+    @Column(name = "proxima_ocorrencia", nullable = false)
+    private LocalDate proximaOcorrencia;
+
+    @Column(nullable = false)
+    private boolean ativa;
+}
@@ -4,28 +4,54 @@ import java.time.Instant;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.OneToOne;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 
+/**
+ * Refresh token emitido para uma sessão. Guarda só o hash: quem lê o banco não consegue usar o token.
+ * Um usuário pode ter várias sessões (um token ativo por dispositivo).
+ */
 @Entity
-@Table(name = "tb_refresh_tokens")
+@Table(
+        name = "tb_refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_usuario", columnList = "user_id"),
+                @Index(name = "idx_refresh_tokens_expira_em", columnList = "expira_em")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
 public class RefreshToken {
-    
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    // SHA-256 (hex) do token
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
-    @OneToOne
-    @JoinColumn(name = "user_id", referencedColumnName = "id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", referencedColumnName = "id", nullable = false)
     private User user;
 
-    @Column(nullable = false)
-    private Instant expiryDate;
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+
+    // Preenchido na rotação ou no logout
+    @Column(name = "revogado_em")
+    private Instant revogadoEm;
 }
@@ -0,0 +1,35 @@
+package com.scaglia.financeiro.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Contador de alterações dos dados financeiros do usuário (receitas e despesas).
+ * Base das respostas condicionais (ETag / Last-Modified) de listagens e relatórios.
+ */
+@Entity
+@Table(name = "versao_dados_usuario")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersaoDadosUsuario {
+
+    @Id
+    @Column(name = "usuario_id", length = 36)
+    private String usuarioId;
+
+    @Column(nullable = false)
+    private Long versao;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private Instant atualizadoEm;
+}
@@ -0,0 +1,41 @@
+package com.scaglia.financeiro.repository;
+
+import com.scaglia.financeiro.dto.TotalCategoriaDTO;
+import com.scaglia.financeiro.dto.TotalMensalCategoriaDTO;
+import com.scaglia.financeiro.model.BalancoMensalCategoria;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface BalancoMensalCategoriaRepository extends JpaRepository<BalancoMensalCategoria, Long> {
+
+    // Soma a variação diretamente no banco (sem ler a linha antes), criando a linha na primeira movimentação.
+    // Upsert em uma única instrução: duas transações que criam o mesmo mês/categoria ao mesmo tempo
+    // não violam uk_balanco_mensal_categoria. tipo = nome do TipoMovimentacao.
+    @Modifying
+    @Query(value = """
+            INSERT INTO balanco_mensal_categoria AS b (usuario_id, tipo, categoria_id, ano, mes, total)
+            VALUES (:usuarioId, :tipo, :categoriaId, :ano, :mes, :variacao)
+            ON CONFLICT (usuario_id, ano, mes, tipo, categoria_id) DO UPDATE SET total = b.total + EXCLUDED.total
+            """, nativeQuery = true)
+    void somarAoTotal(String usuarioId, String tipo, Long categoriaId, int ano, int mes, BigDecimal variacao);
+
+    // Leitura do balanço: uma única consulta pelo índice único (usuario_id, ano, mes, ...)
+    @Query("SELECT new com.scaglia.financeiro.dto.TotalCategoriaDTO(b.tipo, c.nome, b.total) " +
+            "FROM BalancoMensalCategoria b JOIN b.categoria c " +
+            "WHERE b.usuarioId = :usuarioId AND b.ano = :ano AND b.mes = :mes AND b.total <> 0")
+    List<TotalCategoriaDTO> buscarTotaisDoMes(String usuarioId, int ano, int mes);
+
+    // Relatório por período: o filtro em ano usa o índice único; ano * 100 + mes recorta os meses das pontas
+    @Query("SELECT new com.scaglia.financeiro.dto.TotalMensalCategoriaDTO(b.ano, b.mes, b.tipo, c.nome, b.total) " +
+            "FROM BalancoMensalCategoria b JOIN b.categoria c " +
+            "WHERE b.usuarioId = :usuarioId AND b.ano BETWEEN :anoInicio AND :anoFim " +
+            "AND (b.ano * 100 + b.mes) BETWEEN :anoMesInicio AND :anoMesFim AND b.total <> 0")
+    List<TotalMensalCategoriaDTO> buscarTotaisDoPeriodo(String usuarioId, int anoInicio, int anoFim,
+                                                        int anoMesInicio, int anoMesFim);
+}
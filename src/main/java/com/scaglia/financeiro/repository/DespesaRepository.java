@@ -1,15 +1,17 @@
 package com.scaglia.financeiro.repository;
 
+import com.scaglia.financeiro.dto.DespesaResponseDTO;
 import com.scaglia.financeiro.model.Despesa;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DespesaRepository extends JpaRepository<Despesa, Long> {
@@ -19,17 +21,12 @@ public interface DespesaRepository extends JpaRepository<Despesa, Long> {
 
     Page<Despesa> findAllByUsuarioId(String usuarioId, Pageable pageable);
 
-    // Consulta para somar todas as despesas de um usuário em um determinado mês/ano
-    @Query("SELECT COALESCE(SUM(d.valor), 0) FROM Despesa d WHERE d.usuario.id = :usuarioId AND YEAR(d.data) = :ano AND MONTH(d.data) = :mes")
-    BigDecimal somarDespesasPorMes(String usuarioId, int mes, int ano);
-
-    // Consulta para agrupar e somar despesas por categoria no mês/ano
-    @Query("SELECT d.categoria.nome, COALESCE(SUM(d.valor), 0) FROM Despesa d WHERE d.usuario.id = :usuarioId AND YEAR(d.data) = :ano AND MONTH(d.data) = :mes GROUP BY d.categoria.nome")
-    List<Object[]> somarDespesasPorCategoria(String usuarioId, int mes, int ano);
-
-    // NOVO MÉTODO: Paginação e Filtros Dinâmicos (com JOIN FETCH para evitar N+1 na categoria)
+    // Paginação e filtros dinâmicos. Projeção direta no DTO (categoria pelo JOIN): sem entidades gerenciadas,
+    // sem snapshots de dirty checking e sem ler colunas que a listagem não exibe (observação, auditoria)
     @Query(
-            value = "SELECT d FROM Despesa d JOIN FETCH d.categoria WHERE d.usuario.id = :usuarioId " +
+            value = "SELECT new com.scaglia.financeiro.dto.DespesaResponseDTO(d.id, d.descricao, d.valor, d.data, d.natureza, " +
+                    "c.id, c.nome, c.tipo, d.usuario.id) " +
+                    "FROM Despesa d JOIN d.categoria c WHERE d.usuario.id = :usuarioId " +
                     "AND (:categoriaId IS NULL OR d.categoria.id = :categoriaId) " +
                     "AND d.data >= COALESCE(:dataInicial, d.data) " +
                     "AND d.data <= COALESCE(:dataFinal, d.data) ",
@@ -38,11 +35,61 @@ public interface DespesaRepository extends JpaRepository<Despesa, Long> {
                     "AND d.data >= COALESCE(:dataInicial, d.data) " +
                     "AND d.data <= COALESCE(:dataFinal, d.data) "
     )
-    Page<Despesa> buscarComFiltros(
+    Page<DespesaResponseDTO> buscarComFiltros(
             String usuarioId,
             Long categoriaId,
             LocalDate dataInicial,
             LocalDate dataFinal,
             Pageable pageable
     );
+
+    // Paginação por cursor (keyset), em ordem decrescente de (data, id) e sem OFFSET. Duas consultas em vez de
+    // um "cursor IS NULL OR ..." genérico: a comparação de linha (data, id) < (cursorData, cursorId) vira o limite
+    // da varredura do índice (usuario_id, data, id), e cada página custa o mesmo independentemente da posição.
+    // Mesma projeção em DTO da listagem paginada.
+    @Query("SELECT new com.scaglia.financeiro.dto.DespesaResponseDTO(d.id, d.descricao, d.valor, d.data, d.natureza, " +
+            "c.id, c.nome, c.tipo, d.usuario.id) " +
+            "FROM Despesa d JOIN d.categoria c WHERE d.usuario.id = :usuarioId " +
+            "AND (:categoriaId IS NULL OR d.categoria.id = :categoriaId) " +
+            "AND d.data >= COALESCE(:dataInicial, d.data) " +
+            "AND d.data <= COALESCE(:dataFinal, d.data) " +
+            "ORDER BY d.data DESC, d.id DESC")
+    List<DespesaResponseDTO> buscarPrimeiraPagina(
+            String usuarioId,
+            Long categoriaId,
+            LocalDate dataInicial,
+            LocalDate dataFinal,
+            Limit limit
+    );
+
+    // Páginas seguintes: continua depois de (cursorData, cursorId)
+    @Query("SELECT new com.scaglia.financeiro.dto.DespesaResponseDTO(d.id, d.descricao, d.valor, d.data, d.natureza, " +
+            "c.id, c.nome, c.tipo, d.usuario.id) " +
+            "FROM Despesa d JOIN d.categoria c WHERE d.usuario.id = :usuarioId " +
+            "AND (:categoriaId IS NULL OR d.categoria.id = :categoriaId) " +
+            "AND d.data >= COALESCE(:dataInicial, d.data) " +
+            "AND d.data <= COALESCE(:dataFinal, d.data) " +
+            "AND (d.data, d.id) < (:cursorData, :cursorId) " +
+            "ORDER BY d.data DESC, d.id DESC")
+    List<DespesaResponseDTO> buscarPorCursor(
+            String usuarioId,
+            Long categoriaId,
+            LocalDate dataInicial,
+            LocalDate dataFinal,
+            LocalDate cursorData,
+            Long cursorId,
+            Limit limit
+    );
+
+    // Total opcional da listagem por cursor
+    @Query("SELECT COUNT(d) FROM Despesa d WHERE d.usuario.id = :usuarioId " +
+            "AND (:categoriaId IS NULL OR d.categoria.id = :categoriaId) " +
+            "AND d.data >= COALESCE(:dataInicial, d.data) " +
+            "AND d.data <= COALESCE(:dataFinal, d.data) ")
+    long contarComFiltros(String usuarioId, Long categoriaId, LocalDate dataInicial, LocalDate dataFinal);
+
+    // Busca por id já restrita ao dono e com a categoria no mesmo SELECT: a posse é verificada pelo banco
+    // e a operação inteira custa uma consulta. Vazio tanto para id inexistente quanto para id de outro usuário.
+    @Query("SELECT d FROM Despesa d JOIN FETCH d.categoria WHERE d.id = :id AND d.usuario.id = :usuarioId")
+    Optional<Despesa> buscarDoUsuario(Long id, String usuarioId);
 }
@@ -0,0 +1,180 @@
+package com.scaglia.financeiro.repository;
+
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Criação em lote das ocorrências vencidas das regras de recorrência (SQL nativo PostgreSQL via JDBC).
+ * Cada instrução trata um bloco de usuários inteiro; deve ser chamada dentro de uma transação.
+ */
+@Repository
+@Timed(value = "financeiro.repositorio", description = "Tempo das consultas JDBC (tags class e method)")
+public class MaterializacaoRecorrenciaRepository {
+
+    // Chave do advisory lock do agendador (qualquer constante única na aplicação)
+    static final long CHAVE_BLOQUEIO = 240_901L;
+
+    // Lock de sessão: vale para a conexão que o obteve até o unlock (ou até a conexão fechar), atravessando
+    // as transações dos blocos. false = outra instância está materializando
+    private static final String SQL_BLOQUEIO = "SELECT pg_try_advisory_lock(?)";
+    private static final String SQL_DESBLOQUEIO = "SELECT pg_advisory_unlock(?)";
+
+    private static final String SQL_USUARIOS_PENDENTES = """
+            SELECT DISTINCT usuario_id
+            FROM recorrencias
+            WHERE ativa AND proxima_ocorrencia <= :hoje AND usuario_id > :depoisDe
+            ORDER BY usuario_id
+            LIMIT :limite
+            """;
+
+    // Uma instrução por tabela para todo o bloco de usuários: gera as datas vencidas de cada regra (uma por mês,
+    // de proxima_ocorrencia até hoje), insere com ON CONFLICT na chave (recorrencia_id, data) e, com as linhas
+    // efetivamente inseridas, soma no resumo mensal e avança a versão dos dados dos usuários afetados.
+    // %1$s = tabela de destino (receitas ou despesas)
+    private static final String SQL_MATERIALIZACAO = """
+            WITH ocorrencias AS (
+                SELECT rc.id AS recorrencia_id, rc.usuario_id, rc.descricao, rc.valor, rc.categoria_id,
+                       rc.proxima_ocorrencia, rc.data_fim,
+                       ocorrencia_no_mes(CAST(mes.inicio AS DATE), rc.dia_do_mes) AS data
+                FROM recorrencias rc
+                CROSS JOIN LATERAL generate_series(
+                        date_trunc('month', CAST(rc.proxima_ocorrencia AS TIMESTAMP)),
+                        CAST(:hoje AS TIMESTAMP),
+                        INTERVAL '1 month') AS mes(inicio)
+                WHERE rc.usuario_id IN (:usuarios) AND rc.tipo = :tipo AND rc.ativa AND rc.proxima_ocorrencia <= :hoje
+            ),
+            inseridas AS (
+                INSERT INTO %1$s (id, descricao, valor, data, natureza, categoria_id, usuario_id, recorrencia_id,
+                                  created_at, updated_at, created_by, updated_by)
+                SELECT nextval('%1$s_seq'), o.descricao, o.valor, o.data, 'FIXA', o.categoria_id, o.usuario_id,
+                       o.recorrencia_id, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, :auditor, :auditor
+                FROM ocorrencias o
+                WHERE o.data >= o.proxima_ocorrencia AND o.data <= :hoje
+                  AND (o.data_fim IS NULL OR o.data <= o.data_fim)
+                ON CONFLICT (recorrencia_id, data) DO NOTHING
+                RETURNING usuario_id, categoria_id, data, valor
+            ),
+            resumo AS (
+                INSERT INTO balanco_mensal_categoria AS b (usuario_id, tipo, categoria_id, ano, mes, total)
+                SELECT usuario_id, :tipo, categoria_id,
+                       CAST(EXTRACT(YEAR FROM data) AS INTEGER), CAST(EXTRACT(MONTH FROM data) AS INTEGER), SUM(valor)
+                FROM inseridas
+                GROUP BY usuario_id, categoria_id, EXTRACT(YEAR FROM data), EXTRACT(MONTH FROM data)
+                ON CONFLICT (usuario_id, ano, mes, tipo, categoria_id) DO UPDATE SET total = b.total + EXCLUDED.total
+            ),
+            versoes AS (
+                INSERT INTO versao_dados_usuario AS v (usuario_id, versao, atualizado_em)
+                SELECT DISTINCT usuario_id, 1, CURRENT_TIMESTAMP
+                FROM inseridas
+                ON CONFLICT (usuario_id) DO UPDATE SET versao = v.versao + 1, atualizado_em = EXCLUDED.atualizado_em
+            )
+            SELECT COUNT(*) FROM inseridas
+            """;
+
+    // Próxima ocorrência depois de hoje: a deste mês, se ainda não passou, senão a do mês seguinte.
+    // Regras cuja próxima data ultrapassa a data final são desativadas.
+    private static final String SQL_AVANCO = """
+            UPDATE recorrencias rc
+            SET proxima_ocorrencia = p.proxima,
+                ativa = (rc.data_fim IS NULL OR p.proxima <= rc.data_fim),
+                updated_at = CURRENT_TIMESTAMP
+            FROM (
+                SELECT r.id,
+                       CASE WHEN ocorrencia_no_mes(m.atual, r.dia_do_mes) > :hoje
+                            THEN ocorrencia_no_mes(m.atual, r.dia_do_mes)
+                            ELSE ocorrencia_no_mes(CAST(m.atual + INTERVAL '1 month' AS DATE), r.dia_do_mes)
+                       END AS proxima
+                FROM recorrencias r
+                CROSS JOIN (SELECT CAST(date_trunc('month', CAST(:hoje AS TIMESTAMP)) AS DATE) AS atual) m
+                WHERE r.usuario_id IN (:usuarios) AND r.ativa AND r.proxima_ocorrencia <= :hoje
+            ) p
+            WHERE rc.id = p.id
+            """;
+
+    // Gravado em created_by/updated_by das movimentações criadas pelo agendador
+    private static final String AUDITOR = "recorrencia";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public MaterializacaoRecorrenciaRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Executa a tarefa com o lock do agendador, sem esperar por ele. O lock é obtido e liberado na mesma conexão,
+     * mantida aberta durante toda a tarefa; as transações da tarefa usam outras conexões do pool.
+     * Deve ser chamado fora de transação, para que a conexão do lock não seja a da transação corrente.
+     *
+     * @return false se outra instância estiver com o lock (a tarefa não é executada)
+     */
+    public boolean executarComBloqueio(Runnable tarefa) {
+        return Boolean.TRUE.equals(jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) conexao -> {
+            if (!executarFuncaoDeBloqueio(conexao, SQL_BLOQUEIO)) {
+                return false;
+            }
+            try {
+                tarefa.run();
+                return true;
+            } finally {
+                executarFuncaoDeBloqueio(conexao, SQL_DESBLOQUEIO);
+            }
+        }));
+    }
+
+    private static boolean executarFuncaoDeBloqueio(Connection conexao, String sql) throws SQLException {
+        try (PreparedStatement instrucao = conexao.prepareStatement(sql)) {
+            instrucao.setLong(1, CHAVE_BLOQUEIO);
+            try (ResultSet resultado = instrucao.executeQuery()) {
+                return resultado.next() && resultado.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Próximo bloco de usuários (em ordem de id, após {@code depoisDe}) com ocorrências vencidas até {@code hoje}.
+     */
+    public List<String> buscarUsuariosComPendencias(LocalDate hoje, String depoisDe, int limite) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("hoje", hoje)
+                .addValue("depoisDe", depoisDe)
+                .addValue("limite", limite);
+        return jdbcTemplate.queryForList(SQL_USUARIOS_PENDENTES, params, String.class);
+    }
+
+    /**
+     * Cria as ocorrências vencidas das regras de um tipo para os usuários informados.
+     *
+     * @return quantidade de movimentações criadas (ocorrências já existentes são ignoradas)
+     */
+    public long materializar(TipoMovimentacao tipo, List<String> usuarios, LocalDate hoje) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarios", usuarios)
+                .addValue("tipo", tipo.name())
+                .addValue("hoje", hoje)
+                .addValue("auditor", AUDITOR);
+        String tabela = tipo == TipoMovimentacao.RECEITA ? "receitas" : "despesas";
+        Long criadas = jdbcTemplate.queryForObject(SQL_MATERIALIZACAO.formatted(tabela), params, Long.class);
+        return criadas != null ? criadas : 0;
+    }
+
+    /**
+     * Move a próxima ocorrência das regras vencidas dos usuários para depois de {@code hoje}.
+     */
+    public int avancar(List<String> usuarios, LocalDate hoje) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarios", usuarios)
+                .addValue("hoje", hoje);
+        return jdbcTemplate.update(SQL_AVANCO, params);
+    }
+}
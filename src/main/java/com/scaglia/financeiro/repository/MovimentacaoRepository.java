@@ -0,0 +1,502 @@
+package com.scaglia.financeiro.repository;
+
+import com.scaglia.financeiro.dto.BaseProjecaoDTO;
+import com.scaglia.financeiro.dto.CompromissoFixoDTO;
+import com.scaglia.financeiro.dto.CursorExtratoDTO;
+import com.scaglia.financeiro.dto.LancamentoExtratoDTO;
+import com.scaglia.financeiro.dto.MovimentacaoExportacaoDTO;
+import com.scaglia.financeiro.dto.ResultadoBuscaDTO;
+import com.scaglia.financeiro.dto.TotalCategoriaDTO;
+import com.scaglia.financeiro.dto.TotalMensalCategoriaDTO;
+import com.scaglia.financeiro.dto.VariacaoMensalCategoriaDTO;
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas que atravessam receitas e despesas ao mesmo tempo (SQL nativo via JDBC).
+ * Participa da transação JPA corrente e mapeia as linhas direto para records tipados.
+ */
+@Repository
+@Timed(value = "financeiro.repositorio", description = "Tempo das consultas JDBC (tags class e method)")
+public class MovimentacaoRepository {
+
+    // Receitas e despesas agrupadas por categoria em uma única ida ao banco.
+    // Os totais gerais são a soma das categorias, então não precisam de consulta própria.
+    // Package-private: MovimentacaoRepositoryTest verifica o plano de execução desta consulta.
+    static final String SQL_TOTAIS_POR_CATEGORIA = """
+            SELECT 'RECEITA' AS tipo, c.nome AS categoria, SUM(r.valor) AS total
+            FROM receitas r
+            JOIN categorias c ON c.id = r.categoria_id
+            WHERE r.usuario_id = :usuarioId AND r.data >= :inicio AND r.data < :fim
+            GROUP BY c.nome
+            UNION ALL
+            SELECT 'DESPESA' AS tipo, c.nome AS categoria, SUM(d.valor) AS total
+            FROM despesas d
+            JOIN categorias c ON c.id = d.categoria_id
+            WHERE d.usuario_id = :usuarioId AND d.data >= :inicio AND d.data < :fim
+            GROUP BY c.nome
+            """;
+
+    // Série mensal: receitas e despesas agrupadas por mês e categoria em uma única varredura do período
+    static final String SQL_TOTAIS_POR_MES_E_CATEGORIA = """
+            SELECT 'RECEITA' AS tipo, EXTRACT(YEAR FROM r.data) AS ano, EXTRACT(MONTH FROM r.data) AS mes,
+                   c.nome AS categoria, SUM(r.valor) AS total
+            FROM receitas r
+            JOIN categorias c ON c.id = r.categoria_id
+            WHERE r.usuario_id = :usuarioId AND r.data >= :inicio AND r.data < :fim
+            GROUP BY EXTRACT(YEAR FROM r.data), EXTRACT(MONTH FROM r.data), c.nome
+            UNION ALL
+            SELECT 'DESPESA' AS tipo, EXTRACT(YEAR FROM d.data) AS ano, EXTRACT(MONTH FROM d.data) AS mes,
+                   c.nome AS categoria, SUM(d.valor) AS total
+            FROM despesas d
+            JOIN categorias c ON c.id = d.categoria_id
+            WHERE d.usuario_id = :usuarioId AND d.data >= :inicio AND d.data < :fim
+            GROUP BY EXTRACT(YEAR FROM d.data), EXTRACT(MONTH FROM d.data), c.nome
+            """;
+
+    // Exclusão em lote: o DELETE devolve as linhas removidas e elas já saem agrupadas por categoria/mês,
+    // para o resumo mensal ser ajustado com exatamente o que foi removido (uma única instrução).
+    // A posse é garantida no próprio WHERE (usuario_id); %s = tabela, %s = critérios adicionais.
+    private static final String SQL_EXCLUSAO_EM_LOTE = """
+            WITH removidas AS (
+                DELETE FROM %s
+                WHERE usuario_id = :usuarioId%s
+                RETURNING categoria_id, data, valor
+            )
+            SELECT categoria_id, EXTRACT(YEAR FROM data) AS ano, EXTRACT(MONTH FROM data) AS mes,
+                   SUM(valor) AS total, COUNT(*) AS quantidade
+            FROM removidas
+            GROUP BY categoria_id, EXTRACT(YEAR FROM data), EXTRACT(MONTH FROM data)
+            """;
+
+    // Recategorização em lote: o UPDATE ... RETURNING só enxerga o valor novo, então a categoria anterior
+    // vem da subconsulta (que também trava as linhas). Devolve o total movido, agrupado pela categoria anterior.
+    private static final String SQL_RECATEGORIZACAO_EM_LOTE = """
+            WITH alteradas AS (
+                UPDATE %1$s m
+                SET categoria_id = :categoriaId, updated_at = CURRENT_TIMESTAMP, updated_by = :usuarioId
+                FROM (
+                    SELECT id, categoria_id AS categoria_anterior
+                    FROM %1$s
+                    WHERE usuario_id = :usuarioId AND id IN (:ids) AND categoria_id <> :categoriaId
+                    FOR UPDATE
+                ) anterior
+                WHERE m.id = anterior.id
+                RETURNING anterior.categoria_anterior, m.data, m.valor
+            )
+            SELECT categoria_anterior AS categoria_id, EXTRACT(YEAR FROM data) AS ano, EXTRACT(MONTH FROM data) AS mes,
+                   SUM(valor) AS total, COUNT(*) AS quantidade
+            FROM alteradas
+            GROUP BY categoria_anterior, EXTRACT(YEAR FROM data), EXTRACT(MONTH FROM data)
+            """;
+
+    // Busca textual (PostgreSQL, índices da V8): casa pelo tsvector (radicais, peso A/B) OU por semelhança de
+    // trigramas na descrição (erros de digitação) OU por trecho da descrição. A relevância é a maior das duas
+    // medidas. COUNT(*) OVER () traz o total junto com a página: uma única consulta para as duas tabelas.
+    private static final String SQL_BUSCA_RECEITAS = """
+            SELECT 'RECEITA' AS tipo, r.id, r.data, r.descricao, r.valor, r.natureza,
+                   c.id AS categoria_id, c.nome AS categoria,
+                   GREATEST(ts_rank(r.busca, q.consulta), similarity(r.descricao, :termo)) AS relevancia
+            FROM receitas r
+            JOIN categorias c ON c.id = r.categoria_id
+            CROSS JOIN q
+            WHERE r.usuario_id = :usuarioId
+              AND (r.busca @@ q.consulta OR r.descricao % :termo OR r.descricao ILIKE :trecho)
+            """;
+
+    private static final String SQL_BUSCA_DESPESAS = """
+            SELECT 'DESPESA' AS tipo, d.id, d.data, d.descricao, d.valor, d.natureza,
+                   c.id AS categoria_id, c.nome AS categoria,
+                   GREATEST(ts_rank(d.busca, q.consulta), similarity(d.descricao, :termo)) AS relevancia
+            FROM despesas d
+            JOIN categorias c ON c.id = d.categoria_id
+            CROSS JOIN q
+            WHERE d.usuario_id = :usuarioId
+              AND (d.busca @@ q.consulta OR d.descricao % :termo OR d.descricao ILIKE :trecho)
+            """;
+
+    private static final String SQL_BUSCA = """
+            WITH q AS (SELECT websearch_to_tsquery('portuguese', :termo) AS consulta)
+            SELECT resultado.*, COUNT(*) OVER () AS total
+            FROM (%s) resultado
+            ORDER BY relevancia DESC, data DESC, id DESC
+            LIMIT :limite OFFSET :deslocamento
+            """;
+
+    // Total da busca quando a página pedida está além do fim (sem linhas, não há COUNT(*) OVER () para ler)
+    private static final String SQL_CONTAGEM_BUSCA = """
+            WITH q AS (SELECT websearch_to_tsquery('portuguese', :termo) AS consulta)
+            SELECT COUNT(*) FROM (%s) resultado
+            """;
+
+    // Extrato: receitas (+) e despesas (-) em um único fluxo, paginado por keyset em (data, tipo, id) decrescente.
+    // O saldo de cada linha é o saldo anterior à linha mais antiga da página mais a soma acumulada da própria página
+    // (função de janela). O saldo anterior não percorre o histórico: os meses fechados vêm do resumo
+    // balanco_mensal_categoria (uma linha por mês/categoria) e só o mês da linha mais antiga é somado linha a linha,
+    // pelo índice (usuario_id, data, id) INCLUDE (valor). NOT MATERIALIZED deixa os filtros descerem até cada
+    // tabela; "data <=" acompanha a comparação de linha para o índice ser usado. %s = critérios da página.
+    private static final String SQL_EXTRATO = """
+            WITH movimentacoes AS NOT MATERIALIZED (
+                SELECT 'RECEITA' AS tipo, r.id, r.data, r.descricao, r.valor, r.valor AS valor_sinal,
+                       r.natureza, r.categoria_id
+                FROM receitas r
+                WHERE r.usuario_id = :usuarioId
+                UNION ALL
+                SELECT 'DESPESA' AS tipo, d.id, d.data, d.descricao, d.valor, -d.valor AS valor_sinal,
+                       d.natureza, d.categoria_id
+                FROM despesas d
+                WHERE d.usuario_id = :usuarioId
+            ),
+            pagina AS (
+                SELECT m.*
+                FROM movimentacoes m
+                WHERE TRUE%s
+                ORDER BY m.data DESC, m.tipo DESC, m.id DESC
+                LIMIT :limite
+            ),
+            mais_antiga AS (
+                SELECT data, tipo, id FROM pagina ORDER BY data, tipo, id LIMIT 1
+            ),
+            meses_anteriores AS (
+                SELECT COALESCE(SUM(CASE WHEN b.tipo = 'RECEITA' THEN b.total ELSE -b.total END), 0) AS saldo
+                FROM balanco_mensal_categoria b
+                CROSS JOIN mais_antiga a
+                WHERE b.usuario_id = :usuarioId
+                  AND (b.ano, b.mes) < (CAST(EXTRACT(YEAR FROM a.data) AS INTEGER), CAST(EXTRACT(MONTH FROM a.data) AS INTEGER))
+            ),
+            mes_parcial AS (
+                SELECT COALESCE(SUM(m.valor_sinal), 0) AS saldo
+                FROM movimentacoes m
+                CROSS JOIN mais_antiga a
+                WHERE m.data >= CAST(DATE_TRUNC('month', a.data) AS DATE)
+                  AND m.data <= a.data AND (m.data, m.tipo, m.id) < (a.data, a.tipo, a.id)
+            ),
+            anterior AS (
+                SELECT meses_anteriores.saldo + mes_parcial.saldo AS saldo
+                FROM meses_anteriores CROSS JOIN mes_parcial
+            )
+            SELECT p.tipo, p.id, p.data, p.descricao, p.valor, p.natureza, p.categoria_id, c.nome AS categoria,
+                   anterior.saldo + SUM(p.valor_sinal) OVER (ORDER BY p.data, p.tipo, p.id ROWS UNBOUNDED PRECEDING) AS saldo
+            FROM pagina p
+            JOIN categorias c ON c.id = p.categoria_id
+            CROSS JOIN anterior
+            ORDER BY p.data DESC, p.tipo DESC, p.id DESC
+            """;
+
+    // Projeção: saldo de todo o histórico até hoje e o resultado das VARIAVEL na janela (inicioJanela, hoje],
+    // em uma única varredura pelo índice (usuario_id, data, id) INCLUDE (valor)
+    private static final String SQL_BASE_PROJECAO = """
+            SELECT COALESCE(SUM(m.valor_sinal), 0) AS saldo,
+                   COALESCE(SUM(CASE WHEN m.natureza = 'VARIAVEL' AND m.data > :inicioJanela THEN m.valor_sinal END), 0) AS variaveis
+            FROM (
+                SELECT r.valor AS valor_sinal, r.natureza, r.data
+                FROM receitas r
+                WHERE r.usuario_id = :usuarioId AND r.data <= :hoje
+                UNION ALL
+                SELECT -d.valor AS valor_sinal, d.natureza, d.data
+                FROM despesas d
+                WHERE d.usuario_id = :usuarioId AND d.data <= :hoje
+            ) m
+            """;
+
+    // Compromissos fixos: a ocorrência FIXA mais recente de cada (tipo, categoria, descrição) na janela
+    private static final String SQL_COMPROMISSOS_FIXOS = """
+            SELECT DISTINCT ON (f.tipo, f.categoria_id, LOWER(f.descricao))
+                   f.tipo, f.descricao, f.categoria_id, f.valor, f.data
+            FROM (
+                SELECT 'RECEITA' AS tipo, r.id, r.descricao, r.categoria_id, r.valor, r.data
+                FROM receitas r
+                WHERE r.usuario_id = :usuarioId AND r.natureza = 'FIXA' AND r.data > :inicioJanela AND r.data <= :hoje
+                UNION ALL
+                SELECT 'DESPESA' AS tipo, d.id, d.descricao, d.categoria_id, d.valor, d.data
+                FROM despesas d
+                WHERE d.usuario_id = :usuarioId AND d.natureza = 'FIXA' AND d.data > :inicioJanela AND d.data <= :hoje
+            ) f
+            ORDER BY f.tipo, f.categoria_id, LOWER(f.descricao), f.data DESC, f.id DESC
+            """;
+
+    // Linhas retornadas por ida ao banco durante a exportação (cursor do lado do servidor)
+    private static final int TAMANHO_FETCH_EXPORTACAO = 1000;
+
+    // Ordenado pelo índice (usuario_id, data, id): o banco entrega as linhas na ordem sem ordenar o conjunto inteiro
+    private static final String SQL_EXPORTACAO_RECEITAS = """
+            SELECT r.id, r.data, r.descricao, r.valor, r.natureza, c.id AS categoria_id, c.nome AS categoria
+            FROM receitas r
+            JOIN categorias c ON c.id = r.categoria_id
+            WHERE r.usuario_id = :usuarioId AND r.data >= :inicio AND r.data <= :fim
+            ORDER BY r.data, r.id
+            """;
+
+    private static final String SQL_EXPORTACAO_DESPESAS = """
+            SELECT d.id, d.data, d.descricao, d.valor, d.natureza, c.id AS categoria_id, c.nome AS categoria
+            FROM despesas d
+            JOIN categorias c ON c.id = d.categoria_id
+            WHERE d.usuario_id = :usuarioId AND d.data >= :inicio AND d.data <= :fim
+            ORDER BY d.data, d.id
+            """;
+
+    private static final RowMapper<TotalCategoriaDTO> TOTAL_CATEGORIA_MAPPER = (rs, rowNum) -> new TotalCategoriaDTO(
+            TipoMovimentacao.valueOf(rs.getString("tipo")),
+            rs.getString("categoria"),
+            rs.getBigDecimal("total")
+    );
+
+    private static final RowMapper<TotalMensalCategoriaDTO> TOTAL_MENSAL_CATEGORIA_MAPPER = (rs, rowNum) -> new TotalMensalCategoriaDTO(
+            rs.getInt("ano"),
+            rs.getInt("mes"),
+            TipoMovimentacao.valueOf(rs.getString("tipo")),
+            rs.getString("categoria"),
+            rs.getBigDecimal("total")
+    );
+
+    private static final RowMapper<VariacaoMensalCategoriaDTO> VARIACAO_MAPPER = (rs, rowNum) -> new VariacaoMensalCategoriaDTO(
+            rs.getLong("categoria_id"),
+            rs.getInt("ano"),
+            rs.getInt("mes"),
+            rs.getBigDecimal("total"),
+            rs.getLong("quantidade")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Mesmo DataSource (participa da mesma transação), mas com fetch size para ler em blocos
+    private final NamedParameterJdbcTemplate jdbcTemplateExportacao;
+
+    public MovimentacaoRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        cursor.setFetchSize(TAMANHO_FETCH_EXPORTACAO);
+        this.jdbcTemplateExportacao = new NamedParameterJdbcTemplate(cursor);
+    }
+
+    /**
+     * Totais de receitas e despesas por categoria no período [inicio, fim).
+     */
+    public List<TotalCategoriaDTO> somarPorCategoria(String usuarioId, LocalDate inicio, LocalDate fim) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarioId", usuarioId)
+                .addValue("inicio", inicio)
+                .addValue("fim", fim);
+        return jdbcTemplate.query(SQL_TOTAIS_POR_CATEGORIA, params, TOTAL_CATEGORIA_MAPPER);
+    }
+
+    /**
+     * Totais de receitas e despesas por mês e categoria no período [inicio, fim).
+     */
+    public List<TotalMensalCategoriaDTO> somarPorMesECategoria(String usuarioId, LocalDate inicio, LocalDate fim) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarioId", usuarioId)
+                .addValue("inicio", inicio)
+                .addValue("fim", fim);
+        return jdbcTemplate.query(SQL_TOTAIS_POR_MES_E_CATEGORIA, params, TOTAL_MENSAL_CATEGORIA_MAPPER);
+    }
+
+    /**
+     * Exclui, em uma única instrução, as movimentações do usuário que atendem a todos os critérios informados
+     * (critérios nulos são ignorados; ao menos um deve ser informado pelo chamador).
+     *
+     * @return o que foi removido, agrupado por categoria e mês
+     */
+    public List<VariacaoMensalCategoriaDTO> excluirEmLote(TipoMovimentacao tipo, String usuarioId, List<Long> ids,
+                                                          LocalDate inicio, LocalDate fim, Long categoriaId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("usuarioId", usuarioId);
+        StringBuilder criterios = new StringBuilder();
+        if (ids != null && !ids.isEmpty()) {
+            criterios.append(" AND id IN (:ids)");
+            params.addValue("ids", ids);
+        }
+        if (inicio != null) {
+            criterios.append(" AND data >= :inicio");
+            params.addValue("inicio", inicio);
+        }
+        if (fim != null) {
+            criterios.append(" AND data <= :fim");
+            params.addValue("fim", fim);
+        }
+        if (categoriaId != null) {
+            criterios.append(" AND categoria_id = :categoriaId");
+            params.addValue("categoriaId", categoriaId);
+        }
+
+        String sql = SQL_EXCLUSAO_EM_LOTE.formatted(tabela(tipo), criterios);
+        return jdbcTemplate.query(sql, params, VARIACAO_MAPPER);
+    }
+
+    /**
+     * Move para outra categoria, em uma única instrução, as movimentações do usuário com os ids informados.
+     *
+     * @return o que foi movido, agrupado pela categoria anterior e mês
+     */
+    public List<VariacaoMensalCategoriaDTO> recategorizarEmLote(TipoMovimentacao tipo, String usuarioId, List<Long> ids,
+                                                                Long categoriaId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarioId", usuarioId)
+                .addValue("ids", ids)
+                .addValue("categoriaId", categoriaId);
+        return jdbcTemplate.query(SQL_RECATEGORIZACAO_EM_LOTE.formatted(tabela(tipo)), params, VARIACAO_MAPPER);
+    }
+
+    /**
+     * Busca textual nas movimentações do usuário (sem tipo, em receitas e despesas), ordenada por relevância.
+     * O total vem da própria página; só uma página vazia além da primeira faz uma contagem separada.
+     */
+    public Page<ResultadoBuscaDTO> buscarPorTexto(String usuarioId, TipoMovimentacao tipo, String termo, Pageable pageable) {
+        List<String> partes = new ArrayList<>(2);
+        if (tipo == null || tipo == TipoMovimentacao.RECEITA) {
+            partes.add(SQL_BUSCA_RECEITAS);
+        }
+        if (tipo == null || tipo == TipoMovimentacao.DESPESA) {
+            partes.add(SQL_BUSCA_DESPESAS);
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarioId", usuarioId)
+                .addValue("termo", termo)
+                .addValue("trecho", "%" + escaparLike(termo) + "%")
+                .addValue("limite", pageable.getPageSize())
+                .addValue("deslocamento", pageable.getOffset());
+
+        String uniao = String.join(" UNION ALL ", partes);
+        long[] total = {0};
+        List<ResultadoBuscaDTO> resultados = jdbcTemplate.query(
+                SQL_BUSCA.formatted(uniao), params, (rs, rowNum) -> {
+                    total[0] = rs.getLong("total");
+                    return new ResultadoBuscaDTO(
+                            TipoMovimentacao.valueOf(rs.getString("tipo")),
+                            rs.getLong("id"),
+                            rs.getObject("data", LocalDate.class),
+                            rs.getString("descricao"),
+                            rs.getBigDecimal("valor"),
+                            NaturezaMovimentacao.valueOf(rs.getString("natureza")),
+                            rs.getLong("categoria_id"),
+                            rs.getString("categoria"),
+                            rs.getDouble("relevancia")
+                    );
+                });
+        if (resultados.isEmpty() && pageable.getOffset() > 0) {
+            total[0] = jdbcTemplate.queryForObject(SQL_CONTAGEM_BUSCA.formatted(uniao), params, Long.class);
+        }
+        return new PageImpl<>(resultados, pageable, total[0]);
+    }
+
+    /**
+     * Página do extrato (receitas e despesas intercaladas, mais recentes primeiro) com o saldo acumulado por linha.
+     * O saldo considera todo o histórico do usuário, não apenas o período filtrado.
+     *
+     * @param posicao última linha da página anterior, ou null para a primeira página
+     */
+    public List<LancamentoExtratoDTO> buscarExtrato(String usuarioId, LocalDate dataInicial, LocalDate dataFinal,
+                                                    CursorExtratoDTO posicao, int limite) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarioId", usuarioId)
+                .addValue("limite", limite);
+        StringBuilder criterios = new StringBuilder();
+        if (dataInicial != null) {
+            criterios.append(" AND m.data >= :dataInicial");
+            params.addValue("dataInicial", dataInicial);
+        }
+        if (dataFinal != null) {
+            criterios.append(" AND m.data <= :dataFinal");
+            params.addValue("dataFinal", dataFinal);
+        }
+        if (posicao != null) {
+            criterios.append(" AND m.data <= :cursorData AND (m.data, m.tipo, m.id) < (:cursorData, :cursorTipo, :cursorId)");
+            params.addValue("cursorData", posicao.data())
+                    .addValue("cursorTipo", posicao.tipo().name())
+                    .addValue("cursorId", posicao.id());
+        }
+
+        return jdbcTemplate.query(SQL_EXTRATO.formatted(criterios), params, (rs, rowNum) -> new LancamentoExtratoDTO(
+                TipoMovimentacao.valueOf(rs.getString("tipo")),
+                rs.getLong("id"),
+                rs.getObject("data", LocalDate.class),
+                rs.getString("descricao"),
+                rs.getBigDecimal("valor"),
+                NaturezaMovimentacao.valueOf(rs.getString("natureza")),
+                rs.getLong("categoria_id"),
+                rs.getString("categoria"),
+                rs.getBigDecimal("saldo")
+        ));
+    }
+
+    /**
+     * Saldo do usuário até {@code hoje} (inclusive) e o resultado das movimentações variáveis em (inicioJanela, hoje].
+     */
+    public BaseProjecaoDTO buscarBaseProjecao(String usuarioId, LocalDate inicioJanela, LocalDate hoje) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarioId", usuarioId)
+                .addValue("inicioJanela", inicioJanela)
+                .addValue("hoje", hoje);
+        return jdbcTemplate.queryForObject(SQL_BASE_PROJECAO, params, (rs, rowNum) -> new BaseProjecaoDTO(
+                rs.getBigDecimal("saldo"),
+                rs.getBigDecimal("variaveis")
+        ));
+    }
+
+    /**
+     * Receitas e despesas FIXA recentes, uma por (tipo, categoria, descrição): a base dos compromissos mensais.
+     */
+    public List<CompromissoFixoDTO> buscarCompromissosFixos(String usuarioId, LocalDate inicioJanela, LocalDate hoje) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarioId", usuarioId)
+                .addValue("inicioJanela", inicioJanela)
+                .addValue("hoje", hoje);
+        return jdbcTemplate.query(SQL_COMPROMISSOS_FIXOS, params, (rs, rowNum) -> new CompromissoFixoDTO(
+                TipoMovimentacao.valueOf(rs.getString("tipo")),
+                rs.getString("descricao"),
+                rs.getLong("categoria_id"),
+                rs.getBigDecimal("valor"),
+                rs.getObject("data", LocalDate.class)
+        ));
+    }
+
+    // O termo é texto literal no ILIKE: % e _ não podem virar curingas
+    private static String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // Nome da tabela vem sempre do enum, nunca da requisição
+    private static String tabela(TipoMovimentacao tipo) {
+        return tipo == TipoMovimentacao.RECEITA ? "receitas" : "despesas";
+    }
+
+    /**
+     * Movimentações de um tipo no período [inicio, fim], em ordem de data, lidas sob demanda.
+     * No PostgreSQL o fetch size só vira cursor dentro de uma transação (autocommit desligado).
+     * O Stream mantém a conexão aberta: deve ser fechado pelo chamador (try-with-resources).
+     */
+    public Stream<MovimentacaoExportacaoDTO> streamParaExportacao(TipoMovimentacao tipo, String usuarioId,
+                                                                  LocalDate inicio, LocalDate fim) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarioId", usuarioId)
+                .addValue("inicio", inicio)
+                .addValue("fim", fim);
+        String sql = tipo == TipoMovimentacao.RECEITA ? SQL_EXPORTACAO_RECEITAS : SQL_EXPORTACAO_DESPESAS;
+
+        return jdbcTemplateExportacao.queryForStream(sql, params, (rs, rowNum) -> new MovimentacaoExportacaoDTO(
+                tipo,
+                rs.getLong("id"),
+                rs.getObject("data", LocalDate.class),
+                rs.getString("descricao"),
+                rs.getBigDecimal("valor"),
+                NaturezaMovimentacao.valueOf(rs.getString("natureza")),
+                rs.getLong("categoria_id"),
+                rs.getString("categoria")
+        ));
+    }
+}
@@ -1,16 +1,18 @@
 package com.scaglia.financeiro.repository;
 
 
+import com.scaglia.financeiro.dto.ReceitaResponseDTO;
 import com.scaglia.financeiro.model.Receita;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReceitaRepository extends JpaRepository<Receita, Long> {
@@ -20,17 +22,12 @@ public interface ReceitaRepository extends JpaRepository<Receita, Long> {
 
     Page<Receita> findAllByUsuarioId(String usuarioId, Pageable pageable);
 
-    // Consulta para somar todas as receitas de um usuário em um determinado mês/ano
-    @Query("SELECT COALESCE(SUM(r.valor), 0) FROM Receita r WHERE r.usuario.id = :usuarioId AND YEAR(r.data) = :ano AND MONTH(r.data) = :mes")
-    BigDecimal somarReceitasPorMes(String usuarioId, int mes, int ano);
-
-    // Consulta para agrupar e somar receitas por categoria no mês/ano
-    @Query("SELECT r.categoria.nome, COALESCE(SUM(r.valor), 0) FROM Receita r WHERE r.usuario.id = :usuarioId AND YEAR(r.data) = :ano AND MONTH(r.data) = :mes GROUP BY r.categoria.nome")
-    List<Object[]> somarReceitasPorCategoria(String usuarioId, int mes, int ano);
-
-    // NOVO MÉTODO: Paginação e Filtros Dinâmicos (com JOIN FETCH para evitar N+1 na categoria)
+    // Paginação e filtros dinâmicos. Projeção direta no DTO (categoria pelo JOIN): sem entidades gerenciadas,
+    // sem snapshots de dirty checking e sem ler colunas que a listagem não exibe (observação, auditoria)
     @Query(
-            value = "SELECT r FROM Receita r JOIN FETCH r.categoria WHERE r.usuario.id = :usuarioId " +
+            value = "SELECT new com.scaglia.financeiro.dto.ReceitaResponseDTO(r.id, r.descricao, r.valor, r.data, r.natureza, " +
+                    "c.id, c.nome, c.tipo, r.usuario.id) " +
+                    "FROM Receita r JOIN r.categoria c WHERE r.usuario.id = :usuarioId " +
                     "AND (:categoriaId IS NULL OR r.categoria.id = :categoriaId) " +
                     "AND r.data >= COALESCE(:dataInicial, r.data) " +
                     "AND r.data <= COALESCE(:dataFinal, r.data) ",
@@ -39,11 +36,61 @@ public interface ReceitaRepository extends JpaRepository<Receita, Long> {
                     "AND r.data >= COALESCE(:dataInicial, r.data) " +
                     "AND r.data <= COALESCE(:dataFinal, r.data) "
     )
-    Page<Receita> buscarComFiltros(
+    Page<ReceitaResponseDTO> buscarComFiltros(
             String usuarioId,
             Long categoriaId,
             LocalDate dataInicial,
             LocalDate dataFinal,
             Pageable pageable
     );
-}
\ No newline at end of file
+
+    // Paginação por cursor (keyset), em ordem decrescente de (data, id) e sem OFFSET. Duas consultas em vez de
+    // um "cursor IS NULL OR ..." genérico: a comparação de linha (data, id) < (cursorData, cursorId) vira o limite
+    // da varredura do índice (usuario_id, data, id), e cada página custa o mesmo independentemente da posição.
+    // Mesma projeção em DTO da listagem paginada.
+    @Query("SELECT new com.scaglia.financeiro.dto.ReceitaResponseDTO(r.id, r.descricao, r.valor, r.data, r.natureza, " +
+            "c.id, c.nome, c.tipo, r.usuario.id) " +
+            "FROM Receita r JOIN r.categoria c WHERE r.usuario.id = :usuarioId " +
+            "AND (:categoriaId IS NULL OR r.categoria.id = :categoriaId) " +
+            "AND r.data >= COALESCE(:dataInicial, r.data) " +
+            "AND r.data <= COALESCE(:dataFinal, r.data) " +
+            "ORDER BY r.data DESC, r.id DESC")
+    List<ReceitaResponseDTO> buscarPrimeiraPagina(
+            String usuarioId,
+            Long categoriaId,
+            LocalDate dataInicial,
+            LocalDate dataFinal,
+            Limit limit
+    );
+
+    // Páginas seguintes: continua depois de (cursorData, cursorId)
+    @Query("SELECT new com.scaglia.financeiro.dto.ReceitaResponseDTO(r.id, r.descricao, r.valor, r.data, r.natureza, " +
+            "c.id, c.nome, c.tipo, r.usuario.id) " +
+            "FROM Receita r JOIN r.categoria c WHERE r.usuario.id = :usuarioId " +
+            "AND (:categoriaId IS NULL OR r.categoria.id = :categoriaId) " +
+            "AND r.data >= COALESCE(:dataInicial, r.data) " +
+            "AND r.data <= COALESCE(:dataFinal, r.data) " +
+            "AND (r.data, r.id) < (:cursorData, :cursorId) " +
+            "ORDER BY r.data DESC, r.id DESC")
+    List<ReceitaResponseDTO> buscarPorCursor(
+            String usuarioId,
+            Long categoriaId,
+            LocalDate dataInicial,
+            LocalDate dataFinal,
+            LocalDate cursorData,
+            Long cursorId,
+            Limit limit
+    );
+
+    // Total opcional da listagem por cursor
+    @Query("SELECT COUNT(r) FROM Receita r WHERE r.usuario.id = :usuarioId " +
+            "AND (:categoriaId IS NULL OR r.categoria.id = :categoriaId) " +
+            "AND r.data >= COALESCE(:dataInicial, r.data) " +
+            "AND r.data <= COALESCE(:dataFinal, r.data) ")
+    long contarComFiltros(String usuarioId, Long categoriaId, LocalDate dataInicial, LocalDate dataFinal);
+
+    // Busca por id já restrita ao dono e com a categoria no mesmo SELECT: a posse é verificada pelo banco
+    // e a operação inteira custa uma consulta. Vazio tanto para id inexistente quanto para id de outro usuário.
+    @Query("SELECT r FROM Receita r JOIN FETCH r.categoria WHERE r.id = :id AND r.usuario.id = :usuarioId")
+    Optional<Receita> buscarDoUsuario(Long id, String usuarioId);
+}
@@ -0,0 +1,21 @@
+package com.scaglia.financeiro.repository;
+
+import com.scaglia.financeiro.model.Recorrencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecorrenciaRepository extends JpaRepository<Recorrencia, Long> {
+
+    // Posse garantida na própria consulta (regra de outro usuário = não encontrada)
+    @Query("SELECT r FROM Recorrencia r JOIN FETCH r.categoria WHERE r.id = :id AND r.usuario.id = :usuarioId")
+    Optional<Recorrencia> buscarDoUsuario(Long id, String usuarioId);
+
+    @Query("SELECT r FROM Recorrencia r JOIN FETCH r.categoria WHERE r.usuario.id = :usuarioId " +
+            "ORDER BY r.ativa DESC, r.proximaOcorrencia, r.id")
+    List<Recorrencia> listarDoUsuario(String usuarioId);
+}
@@ -0,0 +1,37 @@
+package com.scaglia.financeiro.repository;
+
+import com.scaglia.financeiro.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Token e usuário em uma única consulta pelo índice único de token_hash
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> buscarPorHashComUsuario(String tokenHash);
+
+    // Revoga apenas se ainda estiver ativo: entre duas renovações simultâneas com o mesmo token, só uma vence
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revogadoEm = :agora WHERE t.id = :id AND t.revogadoEm IS NULL")
+    int revogar(Long id, Instant agora);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revogadoEm = :agora WHERE t.user.id = :userId AND t.revogadoEm IS NULL")
+    int revogarTodosDoUsuario(String userId, Instant agora);
+
+    // Remove um lote de tokens expirados; cada lote é uma transação curta
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM tb_refresh_tokens
+            WHERE id IN (SELECT id FROM tb_refresh_tokens WHERE expira_em < :agora LIMIT :tamanhoLote)
+            """, nativeQuery = true)
+    int removerExpirados(Instant agora, int tamanhoLote);
+}
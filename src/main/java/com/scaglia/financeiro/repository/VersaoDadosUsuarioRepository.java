@@ -0,0 +1,23 @@
+package com.scaglia.financeiro.repository;
+
+import com.scaglia.financeiro.model.VersaoDadosUsuario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface VersaoDadosUsuarioRepository extends JpaRepository<VersaoDadosUsuario, String> {
+
+    // Upsert atômico: cria a versão 1 na primeira alteração ou incrementa a existente, sem ler a linha antes.
+    // Duas transações concorrentes do mesmo usuário nunca disputam o INSERT da primeira versão.
+    @Modifying
+    @Query(value = """
+            INSERT INTO versao_dados_usuario AS v (usuario_id, versao, atualizado_em)
+            VALUES (:usuarioId, 1, :agora)
+            ON CONFLICT (usuario_id) DO UPDATE SET versao = v.versao + 1, atualizado_em = EXCLUDED.atualizado_em
+            """, nativeQuery = true)
+    void incrementar(String usuarioId, Instant agora);
+}
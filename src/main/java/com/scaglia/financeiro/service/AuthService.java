@@ -4,36 +4,50 @@ import com.scaglia.financeiro.config.TokenService;
 import com.scaglia.financeiro.dto.LoginRequestDto;
 import com.scaglia.financeiro.dto.RegisterRequestDto;
 import com.scaglia.financeiro.dto.ResponseDto;
+import com.scaglia.financeiro.exception.LimiteRequisicoesException;
 import com.scaglia.financeiro.model.User;
 import com.scaglia.financeiro.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Responsabilidade: lógica de autenticação (login e registro).
  * O controller apenas delega e devolve a resposta HTTP.
  */
 @Service
+@Timed(value = "financeiro.servico", description = "Tempo dos métodos de serviço (tags class e method)")
 @RequiredArgsConstructor
+@Slf4j
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final SenhaService senhaService;
     private final TokenService tokenService;
+    private final RefreshTokenService refreshTokenService;
+    private final MeterRegistry meterRegistry;
 
     public ResponseDto login(LoginRequestDto body) {
-        User user = userRepository.findByEmail(body.email())
-                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado."));
+        User user = userRepository.findByEmail(body.email()).orElse(null);
+        if (user == null) {
+            contarLogin("usuario_inexistente");
+            throw new UsernameNotFoundException("Usuário não encontrado.");
+        }
 
-        if (!passwordEncoder.matches(body.password(), user.getPassword())) {
+        if (!senhaService.confere(body.password(), user.getPassword())) {
+            contarLogin("senha_invalida");
             throw new BadCredentialsException("Credenciais inválidas.");
         }
+        contarLogin("sucesso");
+        atualizarHashSeNecessario(user, body.password());
 
         String accessToken = tokenService.generateToken(user);
-        String refreshToken = tokenService.generateRefreshToken(user);
+        String refreshToken = refreshTokenService.emitir(user);
     
         // Retorna os TRÊS argumentos exigidos pelo record
         return new ResponseDto(user.getName(), accessToken, refreshToken);
@@ -45,34 +59,63 @@ public class AuthService {
         }
 
         User newUser = new User();
-        newUser.setPassword(passwordEncoder.encode(body.password()));
+        newUser.setPassword(senhaService.gerarHash(body.password()));
         newUser.setEmail(body.email());
         newUser.setName(body.name());
         userRepository.save(newUser);
 
         String accessToken = tokenService.generateToken(newUser);
-        String refreshToken = tokenService.generateRefreshToken(newUser);
+        String refreshToken = refreshTokenService.emitir(newUser);
         
         return new ResponseDto(newUser.getName(), accessToken, refreshToken);
     }
 
+    /**
+     * Rotação do refresh token: revogar o token usado e emitir o novo acontecem na mesma transação.
+     * A revogação em massa feita ao detectar reutilização é mantida mesmo com a exceção.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
     public ResponseDto regerarTokens(String refreshToken) {
-        // 1. Valida o refresh token (extrai o email)
-        String email = tokenService.validateToken(refreshToken);
-        
-        if (email.isEmpty()) {
-            throw new RuntimeException("Refresh token inválido ou expirado.");
+        // 1. Valida e revoga o refresh token (uma consulta indexada, que já traz o usuário)
+        User user;
+        try {
+            user = refreshTokenService.consumir(refreshToken);
+        } catch (BadCredentialsException e) {
+            meterRegistry.counter("financeiro.auth.refresh", "resultado", "token_invalido").increment();
+            throw e;
         }
     
-        // 2. Busca o usuário no banco
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado."));
-    
-        // 3. Gera um NOVO par de tokens (Access e Refresh)
-        // Isso é chamado de "Refresh Token Rotation", o que é bem seguro!
+        // 2. Gera um NOVO par de tokens (Access e Refresh)
         String newAccessToken = tokenService.generateToken(user);
-        String newRefreshToken = tokenService.generateRefreshToken(user);
+        String newRefreshToken = refreshTokenService.emitir(user);
+        meterRegistry.counter("financeiro.auth.refresh", "resultado", "sucesso").increment();
     
         return new ResponseDto(user.getName(), newAccessToken, newRefreshToken);
     }
+
+    public void logout(String refreshToken) {
+        refreshTokenService.revogar(refreshToken);
+    }
+
+    /**
+     * Regrava o hash com o algoritmo/custo atual. Só é possível no login, o único momento em que a senha
+     * em texto claro está disponível. Se o pool de hash estiver cheio, fica para o próximo login.
+     */
+    private void atualizarHashSeNecessario(User user, String senha) {
+        if (!senhaService.precisaAtualizar(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(senhaService.gerarHash(senha));
+            userRepository.save(user);
+            log.info("Hash de senha atualizado. userId={}", user.getId());
+        } catch (LimiteRequisicoesException e) {
+            log.debug("Atualização do hash adiada por falta de capacidade. userId={}", user.getId());
+        }
+    }
+
+    // Contador por resultado (poucos valores fixos: nunca o email, para não explodir a cardinalidade)
+    private void contarLogin(String resultado) {
+        meterRegistry.counter("financeiro.auth.login", "resultado", resultado).increment();
+    }
 }
@@ -0,0 +1,70 @@
+package com.scaglia.financeiro.service;
+
+import com.scaglia.financeiro.dto.TotalCategoriaDTO;
+import com.scaglia.financeiro.dto.TotalMensalCategoriaDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.repository.BalancoMensalCategoriaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Responsabilidade: manter o resumo mensal por categoria (tabela balanco_mensal_categoria).
+ * Deve ser chamado dentro da transação que grava a movimentação, para que o resumo nunca divirja dos dados.
+ */
+@Service
+@RequiredArgsConstructor
+public class BalancoMensalService {
+
+    private final BalancoMensalCategoriaRepository balancoMensalCategoriaRepository;
+    private final VersaoDadosService versaoDadosService;
+
+    /**
+     * Soma o valor de uma movimentação nova (ou do novo estado de uma movimentação alterada) ao resumo.
+     */
+    @Transactional
+    public void registrar(TipoMovimentacao tipo, String usuarioId, Categoria categoria, LocalDate data, BigDecimal valor) {
+        ajustar(tipo, usuarioId, categoria, data.getYear(), data.getMonthValue(), valor);
+    }
+
+    /**
+     * Remove do resumo o valor de uma movimentação excluída (ou do estado anterior de uma movimentação alterada).
+     */
+    @Transactional
+    public void estornar(TipoMovimentacao tipo, String usuarioId, Categoria categoria, LocalDate data, BigDecimal valor) {
+        ajustar(tipo, usuarioId, categoria, data.getYear(), data.getMonthValue(), valor.negate());
+    }
+
+    /**
+     * Aplica uma variação ao total do mês/categoria, criando a linha do resumo na primeira movimentação.
+     * Toda escrita de receita/despesa passa por aqui, então também é o ponto que avança a versão dos dados do usuário.
+     */
+    @Transactional
+    public void ajustar(TipoMovimentacao tipo, String usuarioId, Categoria categoria, int ano, int mes, BigDecimal variacao) {
+        balancoMensalCategoriaRepository.somarAoTotal(usuarioId, tipo.name(), categoria.getId(), ano, mes, variacao);
+        versaoDadosService.registrarAlteracao(usuarioId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TotalCategoriaDTO> buscarTotaisDoMes(String usuarioId, int mes, int ano) {
+        return balancoMensalCategoriaRepository.buscarTotaisDoMes(usuarioId, ano, mes);
+    }
+
+    /**
+     * Totais por mês/tipo/categoria no intervalo [inicio, fim] (meses inclusivos).
+     */
+    @Transactional(readOnly = true)
+    public List<TotalMensalCategoriaDTO> buscarTotaisDoPeriodo(String usuarioId, YearMonth inicio, YearMonth fim) {
+        return balancoMensalCategoriaRepository.buscarTotaisDoPeriodo(
+                usuarioId,
+                inicio.getYear(), fim.getYear(),
+                inicio.getYear() * 100 + inicio.getMonthValue(), fim.getYear() * 100 + fim.getMonthValue()
+        );
+    }
+}
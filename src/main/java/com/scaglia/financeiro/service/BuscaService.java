@@ -0,0 +1,45 @@
+package com.scaglia.financeiro.service;
+
+import com.scaglia.financeiro.dto.ResultadoBuscaDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.repository.MovimentacaoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Responsabilidade: busca textual nas descrições (e observações) das movimentações do usuário.
+ */
+@Service
+@RequiredArgsConstructor
+public class BuscaService {
+
+    private static final int TAMANHO_MINIMO_TERMO = 2;
+    private static final int TAMANHO_MAXIMO_TERMO = 100;
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
+    private final MovimentacaoRepository movimentacaoRepository;
+    private final UsuarioAutenticadoService usuarioAutenticadoService;
+
+    /**
+     * Resultados ordenados por relevância; a ordenação do Pageable é ignorada.
+     */
+    @Transactional(readOnly = true)
+    public Page<ResultadoBuscaDTO> buscar(String termo, TipoMovimentacao tipo, Pageable pageable) {
+        String termoNormalizado = termo == null ? "" : termo.strip();
+        if (termoNormalizado.length() < TAMANHO_MINIMO_TERMO || termoNormalizado.length() > TAMANHO_MAXIMO_TERMO) {
+            throw new IllegalArgumentException("O termo de busca deve ter entre " + TAMANHO_MINIMO_TERMO
+                    + " e " + TAMANHO_MAXIMO_TERMO + " caracteres.");
+        }
+        if (pageable.getPageSize() > TAMANHO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("O tamanho da página deve ser no máximo " + TAMANHO_MAXIMO_PAGINA + ".");
+        }
+
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
+        return movimentacaoRepository.buscarPorTexto(usuarioId, tipo, termoNormalizado,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+}
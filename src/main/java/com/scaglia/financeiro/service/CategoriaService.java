@@ -1,5 +1,6 @@
 package com.scaglia.financeiro.service;
 
+import com.scaglia.financeiro.config.CategoriaCache;
 import com.scaglia.financeiro.dto.CategoriaRequestDTO;
 import com.scaglia.financeiro.dto.CategoriaResponseDTO;
 import com.scaglia.financeiro.exception.RecursoNaoEncontradoException;
@@ -13,7 +14,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +23,7 @@ public class CategoriaService {
     private final ReceitaRepository receitaRepository;
     private final DespesaRepository despesaRepository;
     private final CategoriaMapper categoriaMapper;
+    private final CategoriaCache categoriaCache;
 
     // 1. Criar Categoria
     @Transactional
@@ -38,23 +39,19 @@ public class CategoriaService {
         categoria.setTipo(dto.getTipo());
 
         Categoria savedCategoria = categoriaRepository.save(categoria);
+        categoriaCache.invalidar();
         return categoriaMapper.toResponseDTO(savedCategoria);
     }
 
-    // 2. Buscar Categoria por ID
-    @Transactional(readOnly = true)
+    // 2. Buscar Categoria por ID (servida pelo CategoriaCache)
     public CategoriaResponseDTO buscarPorId(Long id) {
-        Categoria categoria = categoriaRepository.findById(id)
+        return categoriaCache.buscarPorId(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Categoria", id));
-        return categoriaMapper.toResponseDTO(categoria);
     }
 
-    // 3. Listar Todas as Categorias
-    @Transactional(readOnly = true)
+    // 3. Listar Todas as Categorias (servida pelo CategoriaCache)
     public List<CategoriaResponseDTO> listarTodas() {
-        return categoriaRepository.findAll().stream()
-                .map(categoriaMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return categoriaCache.listarTodas();
     }
 
     // 4. Atualizar Categoria
@@ -72,6 +69,7 @@ public class CategoriaService {
         categoria.setTipo(dto.getTipo());
 
         Categoria updatedCategoria = categoriaRepository.save(categoria);
+        categoriaCache.invalidar();
         return categoriaMapper.toResponseDTO(updatedCategoria);
     }
 
@@ -90,5 +88,6 @@ public class CategoriaService {
 
         // Se não estiver em uso, a categoria pode ser deletada.
         categoriaRepository.delete(categoria);
+        categoriaCache.invalidar();
     }
 }
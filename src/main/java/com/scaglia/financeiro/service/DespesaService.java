@@ -1,6 +1,10 @@
 package com.scaglia.financeiro.service;
 
 
+import com.scaglia.financeiro.config.CategoriaCache;
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.dto.CursorDTO;
+import com.scaglia.financeiro.dto.CursorPageDTO;
 import com.scaglia.financeiro.dto.DespesaRequestDTO;
 import com.scaglia.financeiro.dto.DespesaResponseDTO;
 import com.scaglia.financeiro.enums.TipoMovimentacao;
@@ -10,29 +14,50 @@ import com.scaglia.financeiro.model.Categoria;
 import com.scaglia.financeiro.model.Despesa;
 import com.scaglia.financeiro.repository.CategoriaRepository;
 import com.scaglia.financeiro.repository.DespesaRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Service
+@Timed(value = "financeiro.servico", description = "Tempo dos métodos de serviço (tags class e method)")
 @RequiredArgsConstructor
 @Slf4j
 public class DespesaService {
 
     private final DespesaRepository despesaRepository;
     private final CategoriaRepository categoriaRepository;
+    private final CategoriaCache categoriaCache;
     private final UsuarioAutenticadoService usuarioAutenticadoService;
     private final DespesaMapper despesaMapper;
+    private final BalancoMensalService balancoMensalService;
 
-    private void verificarPropriedade(Despesa despesa) {
-        if (!despesa.getUsuario().getId().equals(usuarioAutenticadoService.getUsuarioLogado().getId())) {
-            throw new RecursoNaoEncontradoException("Despesa", despesa.getId());
+    // Posse verificada na própria consulta (com a categoria já carregada); id de outro usuário => 404
+    private Despesa buscarDespesaDoUsuario(Long id) {
+        return despesaRepository.buscarDoUsuario(id, usuarioAutenticadoService.getUsuarioLogadoId())
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Despesa", id));
+    }
+
+    /**
+     * Valida a categoria pelo CategoriaCache e devolve apenas uma referência para a associação,
+     * sem consultar a tabela de categorias no caminho de escrita.
+     */
+    private Categoria buscarCategoria(Long categoriaId) {
+        CategoriaResponseDTO categoria = categoriaCache.buscarPorId(categoriaId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Categoria", categoriaId));
+
+        // **REGRA DE NEGÓCIO CRUCIAL PARA DESPESA:**
+        if (categoria.getTipo() != TipoMovimentacao.DESPESA) {
+            throw new IllegalArgumentException("Categoria selecionada é do tipo RECEITA. Escolha uma categoria de DESPESA.");
         }
+        return categoriaRepository.getReferenceById(categoriaId);
     }
 
     // --- CRUD ---
@@ -41,13 +66,7 @@ public class DespesaService {
     @Transactional
     public DespesaResponseDTO criarDespesa(DespesaRequestDTO dto) {
 
-        Categoria categoria = categoriaRepository.findById(dto.getCategoriaId())
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Categoria", dto.getCategoriaId()));
-
-        // **REGRA DE NEGÓCIO CRUCIAL PARA DESPESA:**
-        if (categoria.getTipo() != TipoMovimentacao.DESPESA) {
-            throw new IllegalArgumentException("Categoria selecionada é do tipo RECEITA. Escolha uma categoria de DESPESA.");
-        }
+        Categoria categoria = buscarCategoria(dto.getCategoriaId());
 
         Despesa despesa = new Despesa();
         despesa.setDescricao(dto.getDescricao());
@@ -58,6 +77,7 @@ public class DespesaService {
         despesa.setUsuario(usuarioAutenticadoService.getUsuarioLogado());
 
         Despesa savedDespesa = despesaRepository.save(despesa);
+        balancoMensalService.registrar(TipoMovimentacao.DESPESA, despesa.getUsuario().getId(), categoria, despesa.getData(), despesa.getValor());
         log.info("Despesa criada com sucesso. userId={}, despesaId={}", despesa.getUsuario().getId(), savedDespesa.getId());
         return despesaMapper.toResponseDTO(savedDespesa);
     }
@@ -69,38 +89,71 @@ public class DespesaService {
             LocalDate dataInicial,
             LocalDate dataFinal,
             Pageable pageable) {
-        String usuarioId = usuarioAutenticadoService.getUsuarioLogado().getId();
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
 
-        Page<Despesa> despesaPage = despesaRepository.buscarComFiltros(
+        // Projeção direta no DTO: a listagem não hidrata entidades
+        return despesaRepository.buscarComFiltros(
                 usuarioId, categoriaId, dataInicial, dataFinal, pageable
         );
+    }
+
+    // Listagem por cursor (keyset) sobre (data, id); o COUNT só roda com incluirTotal
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DespesaResponseDTO> listarDespesasPorCursor(
+            Long categoriaId,
+            LocalDate dataInicial,
+            LocalDate dataFinal,
+            String cursor,
+            int tamanho,
+            boolean incluirTotal) {
+        if (tamanho < 1 || tamanho > 100) {
+            throw new IllegalArgumentException("O tamanho da página deve ser entre 1 e 100.");
+        }
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
+        CursorDTO posicao = cursor != null && !cursor.isBlank() ? CursorDTO.decodificar(cursor) : null;
+
+        // Busca um item a mais apenas para saber se existe próxima página
+        List<DespesaResponseDTO> despesas = posicao == null
+                ? despesaRepository.buscarPrimeiraPagina(usuarioId, categoriaId, dataInicial, dataFinal, Limit.of(tamanho + 1))
+                : despesaRepository.buscarPorCursor(usuarioId, categoriaId, dataInicial, dataFinal,
+                        posicao.data(), posicao.id(), Limit.of(tamanho + 1));
+
+        boolean temProxima = despesas.size() > tamanho;
+        List<DespesaResponseDTO> pagina = temProxima ? despesas.subList(0, tamanho) : despesas;
+        String proximoCursor = null;
+        if (temProxima) {
+            DespesaResponseDTO ultima = pagina.get(pagina.size() - 1);
+            proximoCursor = new CursorDTO(ultima.getData(), ultima.getId()).codificar();
+        }
+
+        Long total = incluirTotal
+                ? despesaRepository.contarComFiltros(usuarioId, categoriaId, dataInicial, dataFinal)
+                : null;
 
-        return despesaPage.map(despesaMapper::toResponseDTO);
+        return new CursorPageDTO<>(
+                pagina,
+                proximoCursor,
+                temProxima,
+                total
+        );
     }
 
     // 3. Buscar Despesa por ID
     @Transactional(readOnly = true)
     public DespesaResponseDTO buscarPorId(Long id) {
-        Despesa despesa = despesaRepository.findById(id)
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Despesa", id));
-        verificarPropriedade(despesa);
+        Despesa despesa = buscarDespesaDoUsuario(id);
         return despesaMapper.toResponseDTO(despesa);
     }
 
     // 4. Atualizar Despesa
     @Transactional
     public DespesaResponseDTO atualizarDespesa(Long id, DespesaRequestDTO dto) {
-        Despesa despesa = despesaRepository.findById(id)
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Despesa", id));
-        verificarPropriedade(despesa);
+        Despesa despesa = buscarDespesaDoUsuario(id);
 
-        Categoria categoria = categoriaRepository.findById(dto.getCategoriaId())
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Categoria", dto.getCategoriaId()));
+        Categoria categoria = buscarCategoria(dto.getCategoriaId());
 
-        // REGRA DE NEGÓCIO: Verifica se a nova categoria é do tipo DESPESA
-        if (categoria.getTipo() != TipoMovimentacao.DESPESA) {
-            throw new IllegalArgumentException("Categoria selecionada é do tipo RECEITA. Escolha uma categoria de DESPESA.");
-        }
+        // Resumo mensal: retira o estado anterior e soma o novo (data, valor ou categoria podem mudar)
+        balancoMensalService.estornar(TipoMovimentacao.DESPESA, despesa.getUsuario().getId(), despesa.getCategoria(), despesa.getData(), despesa.getValor());
 
         despesa.setDescricao(dto.getDescricao());
         despesa.setValor(dto.getValor());
@@ -109,6 +162,7 @@ public class DespesaService {
         despesa.setCategoria(categoria);
 
         Despesa updatedDespesa = despesaRepository.save(despesa);
+        balancoMensalService.registrar(TipoMovimentacao.DESPESA, despesa.getUsuario().getId(), categoria, despesa.getData(), despesa.getValor());
         log.info("Despesa atualizada com sucesso. userId={}, despesaId={}", despesa.getUsuario().getId(), updatedDespesa.getId());
         return despesaMapper.toResponseDTO(updatedDespesa);
     }
@@ -116,10 +170,9 @@ public class DespesaService {
     // 5. Deletar Despesa
     @Transactional
     public void deletarDespesa(Long id) {
-        Despesa despesa = despesaRepository.findById(id)
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Despesa", id));
-        verificarPropriedade(despesa);
+        Despesa despesa = buscarDespesaDoUsuario(id);
         despesaRepository.delete(despesa);
+        balancoMensalService.estornar(TipoMovimentacao.DESPESA, despesa.getUsuario().getId(), despesa.getCategoria(), despesa.getData(), despesa.getValor());
         log.info("Despesa deletada com sucesso. userId={}, despesaId={}", despesa.getUsuario().getId(), despesa.getId());
     }
 }
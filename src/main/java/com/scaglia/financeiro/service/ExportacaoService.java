@@ -0,0 +1,139 @@
+package com.scaglia.financeiro.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.scaglia.financeiro.dto.MovimentacaoExportacaoDTO;
+import com.scaglia.financeiro.enums.FormatoExportacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.repository.MovimentacaoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Responsabilidade: exportar as movimentações do usuário (CSV ou NDJSON) com memória constante.
+ * As linhas vêm de um cursor JDBC e são escritas direto na resposta, uma a uma, sem montar lista ou página.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportacaoService {
+
+    private static final String SEPARADOR_CSV = ";";
+    private static final String CABECALHO_CSV = "tipo;id;data;descricao;valor;natureza;categoriaId;categoria";
+    private static final String CABECALHO_CSV_IMPORTACAO = String.join(SEPARADOR_CSV, ImportacaoService.CABECALHO_CSV);
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final MovimentacaoRepository movimentacaoRepository;
+    private final UsuarioAutenticadoService usuarioAutenticadoService;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Prepara a exportação do período [dataInicial, dataFinal]. Sem tipo, exporta receitas e depois despesas.
+     * O usuário é resolvido aqui, na thread da requisição: o corpo é escrito depois, em outra thread.
+     */
+    public StreamingResponseBody exportar(TipoMovimentacao tipo, LocalDate dataInicial, LocalDate dataFinal,
+                                          FormatoExportacao formato) {
+        if (dataInicial.isAfter(dataFinal)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final.");
+        }
+        // A importação é feita por tipo (receitas ou despesas): um arquivo misto não poderia ser reimportado
+        if (formato == FormatoExportacao.CSV_IMPORTACAO && tipo == null) {
+            throw new IllegalArgumentException("Informe o tipo (RECEITA ou DESPESA) para exportar no formato de importação.");
+        }
+
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
+        List<TipoMovimentacao> tipos = tipo != null ? List.of(tipo) : List.of(TipoMovimentacao.values());
+
+        return saida -> {
+            Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+
+            // O cursor do PostgreSQL exige transação; somente leitura para não segurar locks
+            TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+            transacao.setReadOnly(true);
+            transacao.executeWithoutResult(status -> escrever(escritor, formato, usuarioId, tipos, dataInicial, dataFinal));
+
+            escritor.flush();
+        };
+    }
+
+    private void escrever(Writer escritor, FormatoExportacao formato, String usuarioId, List<TipoMovimentacao> tipos,
+                          LocalDate dataInicial, LocalDate dataFinal) {
+        ObjectWriter json = objectMapper.writerFor(MovimentacaoExportacaoDTO.class);
+        long linhas = 0;
+        try {
+            if (formato == FormatoExportacao.CSV) {
+                escritor.write(CABECALHO_CSV);
+                escritor.write('\n');
+            } else if (formato == FormatoExportacao.CSV_IMPORTACAO) {
+                escritor.write(CABECALHO_CSV_IMPORTACAO);
+                escritor.write('\n');
+            }
+
+            for (TipoMovimentacao tipo : tipos) {
+                try (Stream<MovimentacaoExportacaoDTO> movimentacoes =
+                             movimentacaoRepository.streamParaExportacao(tipo, usuarioId, dataInicial, dataFinal)) {
+                    for (MovimentacaoExportacaoDTO movimentacao : (Iterable<MovimentacaoExportacaoDTO>) movimentacoes::iterator) {
+                        escritor.write(switch (formato) {
+                            case CSV -> paraCsv(movimentacao);
+                            case CSV_IMPORTACAO -> paraCsvImportacao(movimentacao);
+                            case NDJSON -> json.writeValueAsString(movimentacao);
+                        });
+                        escritor.write('\n');
+                        linhas++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Inclui o cliente que desconecta no meio do download: a transação é desfeita e o cursor fechado
+            throw new UncheckedIOException("Erro ao escrever a exportação", e);
+        }
+        log.info("Exportação concluída. userId={}, formato={}, linhas={}", usuarioId, formato, linhas);
+    }
+
+    private static String paraCsv(MovimentacaoExportacaoDTO movimentacao) {
+        return String.join(SEPARADOR_CSV,
+                movimentacao.tipo().name(),
+                String.valueOf(movimentacao.id()),
+                movimentacao.data().toString(),
+                escaparCsv(movimentacao.descricao()),
+                movimentacao.valor().toPlainString(),
+                movimentacao.natureza().name(),
+                String.valueOf(movimentacao.categoriaId()),
+                escaparCsv(movimentacao.categoria())
+        );
+    }
+
+    // Mesmo layout lido por ImportacaoService.importarCsv. A importação lê linha a linha, então quebras de linha
+    // da descrição viram espaço; ";" e aspas são escapados normalmente.
+    private static String paraCsvImportacao(MovimentacaoExportacaoDTO movimentacao) {
+        return String.join(SEPARADOR_CSV,
+                escaparCsv(movimentacao.descricao().replaceAll("[\r\n]+", " ")),
+                movimentacao.valor().toPlainString(),
+                movimentacao.data().toString(),
+                movimentacao.natureza().name(),
+                String.valueOf(movimentacao.categoriaId())
+        );
+    }
+
+    private static String escaparCsv(String valor) {
+        if (valor.contains(SEPARADOR_CSV) || valor.contains("\"") || valor.contains("\n") || valor.contains("\r")) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+}
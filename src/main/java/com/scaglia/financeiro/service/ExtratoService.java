@@ -0,0 +1,53 @@
+package com.scaglia.financeiro.service;
+
+import com.scaglia.financeiro.dto.CursorExtratoDTO;
+import com.scaglia.financeiro.dto.CursorPageDTO;
+import com.scaglia.financeiro.dto.LancamentoExtratoDTO;
+import com.scaglia.financeiro.repository.MovimentacaoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Responsabilidade: extrato unificado (receitas e despesas em uma única listagem, com saldo acumulado).
+ */
+@Service
+@RequiredArgsConstructor
+public class ExtratoService {
+
+    private final MovimentacaoRepository movimentacaoRepository;
+    private final UsuarioAutenticadoService usuarioAutenticadoService;
+
+    /**
+     * Listagem por cursor (keyset) sobre (data, tipo, id), mais recentes primeiro: uma consulta por página.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<LancamentoExtratoDTO> listar(LocalDate dataInicial, LocalDate dataFinal, String cursor, int tamanho) {
+        if (tamanho < 1 || tamanho > 100) {
+            throw new IllegalArgumentException("O tamanho da página deve ser entre 1 e 100.");
+        }
+        if (dataInicial != null && dataFinal != null && dataInicial.isAfter(dataFinal)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final.");
+        }
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
+        CursorExtratoDTO posicao = cursor != null && !cursor.isBlank() ? CursorExtratoDTO.decodificar(cursor) : null;
+
+        // Busca um item a mais apenas para saber se existe próxima página
+        List<LancamentoExtratoDTO> lancamentos = movimentacaoRepository.buscarExtrato(
+                usuarioId, dataInicial, dataFinal, posicao, tamanho + 1
+        );
+
+        boolean temProxima = lancamentos.size() > tamanho;
+        List<LancamentoExtratoDTO> pagina = temProxima ? lancamentos.subList(0, tamanho) : lancamentos;
+        String proximoCursor = null;
+        if (temProxima) {
+            LancamentoExtratoDTO ultimo = pagina.get(pagina.size() - 1);
+            proximoCursor = new CursorExtratoDTO(ultimo.data(), ultimo.tipo(), ultimo.id()).codificar();
+        }
+
+        return new CursorPageDTO<>(pagina, proximoCursor, temProxima, null);
+    }
+}
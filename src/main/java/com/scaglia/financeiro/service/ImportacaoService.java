@@ -0,0 +1,296 @@
+package com.scaglia.financeiro.service;
+
+import com.scaglia.financeiro.config.CategoriaCache;
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.dto.DespesaRequestDTO;
+import com.scaglia.financeiro.dto.ErroImportacaoDTO;
+import com.scaglia.financeiro.dto.ImportacaoResponseDTO;
+import com.scaglia.financeiro.dto.MovimentacaoRequestDTO;
+import com.scaglia.financeiro.dto.ReceitaRequestDTO;
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.Despesa;
+import com.scaglia.financeiro.model.Dinheiro;
+import com.scaglia.financeiro.model.Receita;
+import com.scaglia.financeiro.model.User;
+import com.scaglia.financeiro.repository.CategoriaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Responsabilidade: importação em lote de receitas e despesas (carga do histórico do usuário).
+ * As categorias são validadas pelo CategoriaCache (sem consulta por linha), os INSERTs são enviados em batch JDBC (ids por sequence em blocos)
+ * e o resumo mensal recebe uma única variação por categoria/mês, em vez de uma por linha.
+ * Linhas inválidas não interrompem a importação: são devolvidas com o número da linha e o motivo.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportacaoService {
+
+    // Igual ao hibernate.jdbc.batch_size e ao allocationSize das sequences
+    private static final int TAMANHO_LOTE = 50;
+
+    private static final String SEPARADOR_CSV = ";";
+    // Package-private: a exportação no formato CSV_IMPORTACAO usa o mesmo cabeçalho
+    static final List<String> CABECALHO_CSV = List.of("descricao", "valor", "data", "natureza", "categoriaId");
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final CategoriaRepository categoriaRepository;
+    private final CategoriaCache categoriaCache;
+    private final UsuarioAutenticadoService usuarioAutenticadoService;
+    private final BalancoMensalService balancoMensalService;
+    private final Validator validator;
+    private final EntityManager entityManager;
+
+    @Value("${app.importacao.max-linhas:50000}")
+    private int maxLinhas;
+
+    /**
+     * Importa as linhas recebidas como array JSON. A linha 1 corresponde ao primeiro item do array.
+     */
+    @Transactional
+    public ImportacaoResponseDTO importar(TipoMovimentacao tipo, List<? extends MovimentacaoRequestDTO> linhas) {
+        if (linhas == null || linhas.isEmpty()) {
+            throw new IllegalArgumentException("Nenhuma linha informada para importação.");
+        }
+        validarQuantidade(linhas.size());
+
+        Importacao importacao = new Importacao(tipo);
+        for (int i = 0; i < linhas.size(); i++) {
+            importacao.adicionar(i + 1, linhas.get(i));
+        }
+        return importacao.finalizar();
+    }
+
+    /**
+     * Importa um CSV (UTF-8, separador ";") lido de forma contínua, sem carregar o arquivo inteiro em memória.
+     * Cabeçalho obrigatório: descricao;valor;data;natureza;categoriaId.
+     * Valor aceita "1234.56" ou "1.234,56"; data aceita "2025-01-31" ou "31/01/2025".
+     * A linha 1 corresponde à primeira linha de dados (após o cabeçalho).
+     */
+    @Transactional
+    public ImportacaoResponseDTO importarCsv(TipoMovimentacao tipo, InputStream csv) {
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            validarCabecalho(leitor.readLine());
+
+            Importacao importacao = new Importacao(tipo);
+            int numeroLinha = 0;
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                numeroLinha++;
+                validarQuantidade(numeroLinha);
+
+                try {
+                    importacao.adicionar(numeroLinha, lerLinhaCsv(tipo, linha));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    importacao.rejeitar(numeroLinha, "Formato inválido: " + e.getMessage());
+                }
+            }
+
+            if (numeroLinha == 0) {
+                throw new IllegalArgumentException("Nenhuma linha informada para importação.");
+            }
+            return importacao.finalizar();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o arquivo CSV", e);
+        }
+    }
+
+    private void validarQuantidade(int quantidade) {
+        if (quantidade > maxLinhas) {
+            throw new IllegalArgumentException("A importação aceita no máximo " + maxLinhas + " linhas por requisição.");
+        }
+    }
+
+    private void validarCabecalho(String cabecalho) {
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Arquivo CSV vazio.");
+        }
+        // Remove o BOM que alguns editores (ex.: Excel) gravam no início do arquivo
+        List<String> colunas = Arrays.stream(cabecalho.replace("\uFEFF", "").split(SEPARADOR_CSV, -1))
+                .map(coluna -> coluna.trim().toLowerCase())
+                .toList();
+        List<String> esperado = CABECALHO_CSV.stream().map(String::toLowerCase).toList();
+
+        if (!colunas.equals(esperado)) {
+            throw new IllegalArgumentException("Cabeçalho do CSV inválido. Esperado: " + String.join(SEPARADOR_CSV, CABECALHO_CSV));
+        }
+    }
+
+    private MovimentacaoRequestDTO lerLinhaCsv(TipoMovimentacao tipo, String linha) {
+        String[] campos = linha.split(SEPARADOR_CSV, -1);
+        if (campos.length < CABECALHO_CSV.size()) {
+            throw new IllegalArgumentException("esperadas " + CABECALHO_CSV.size() + " colunas, encontradas " + campos.length);
+        }
+
+        // Apenas a descrição pode conter ";": as quatro últimas colunas são lidas a partir do fim da linha
+        int fim = campos.length;
+        MovimentacaoRequestDTO dto = tipo == TipoMovimentacao.RECEITA ? new ReceitaRequestDTO() : new DespesaRequestDTO();
+        dto.setDescricao(removerAspas(String.join(SEPARADOR_CSV, Arrays.copyOfRange(campos, 0, fim - 4))));
+        dto.setValor(lerValor(campos[fim - 4]));
+        dto.setData(lerData(campos[fim - 3]));
+        dto.setNatureza(NaturezaMovimentacao.valueOf(campos[fim - 2].trim().toUpperCase()));
+        dto.setCategoriaId(Long.valueOf(campos[fim - 1].trim()));
+        return dto;
+    }
+
+    private static String removerAspas(String campo) {
+        String valor = campo.trim();
+        if (valor.length() >= 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+            valor = valor.substring(1, valor.length() - 1).replace("\"\"", "\"");
+        }
+        return valor;
+    }
+
+    private static BigDecimal lerValor(String campo) {
+        String valor = campo.trim();
+        if (valor.contains(",")) {
+            // Formato brasileiro: "." separa milhares e "," separa decimais
+            valor = valor.replace(".", "").replace(",", ".");
+        }
+        return new BigDecimal(valor);
+    }
+
+    private static LocalDate lerData(String campo) {
+        String valor = campo.trim();
+        return valor.contains("/") ? LocalDate.parse(valor, DATA_BR) : LocalDate.parse(valor);
+    }
+
+    private record ChaveResumo(Long categoriaId, int ano, int mes) {
+    }
+
+    /**
+     * Estado de uma importação em andamento (vive apenas durante a transação).
+     */
+    private final class Importacao {
+
+        private final TipoMovimentacao tipo;
+        private final User usuario;
+        // Referências (proxies) por id, usadas apenas para gravar a chave estrangeira
+        private final Map<Long, Categoria> referencias = new HashMap<>();
+        // Soma em centavos por categoria/mês (vetor de uma posição como acumulador, sem um BigDecimal por linha)
+        private final Map<ChaveResumo, long[]> variacoes = new HashMap<>();
+        private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+        private int totalLinhas;
+        private int importadas;
+
+        private Importacao(TipoMovimentacao tipo) {
+            this.tipo = tipo;
+            this.usuario = usuarioAutenticadoService.getUsuarioLogado();
+        }
+
+        private void rejeitar(int linha, String mensagem) {
+            totalLinhas++;
+            erros.add(new ErroImportacaoDTO(linha, mensagem));
+        }
+
+        private void adicionar(int linha, MovimentacaoRequestDTO dto) {
+            if (dto == null) {
+                rejeitar(linha, "Linha vazia.");
+                return;
+            }
+
+            Set<ConstraintViolation<MovimentacaoRequestDTO>> violacoes = validator.validate(dto);
+            if (!violacoes.isEmpty()) {
+                rejeitar(linha, violacoes.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+
+            CategoriaResponseDTO categoria = categoriaCache.buscarPorId(dto.getCategoriaId()).orElse(null);
+            if (categoria == null) {
+                rejeitar(linha, "Categoria não encontrada com ID: " + dto.getCategoriaId());
+                return;
+            }
+            // REGRA DE NEGÓCIO: a categoria precisa ser do mesmo tipo da movimentação
+            if (categoria.getTipo() != tipo) {
+                rejeitar(linha, "Categoria " + categoria.getId() + " não é do tipo " + tipo + ".");
+                return;
+            }
+
+            Categoria referencia = referencias.computeIfAbsent(categoria.getId(), categoriaRepository::getReferenceById);
+            entityManager.persist(criarEntidade(dto, referencia));
+            totalLinhas++;
+            importadas++;
+            long[] variacao = variacoes.computeIfAbsent(
+                    new ChaveResumo(categoria.getId(), dto.getData().getYear(), dto.getData().getMonthValue()),
+                    chave -> new long[1]
+            );
+            variacao[0] = Dinheiro.somar(variacao[0], Dinheiro.centavos(dto.getValor()));
+
+            // Envia o lote e libera o contexto de persistência para manter a memória constante
+            if (importadas % TAMANHO_LOTE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+
+        private Object criarEntidade(MovimentacaoRequestDTO dto, Categoria categoria) {
+            if (tipo == TipoMovimentacao.RECEITA) {
+                Receita receita = new Receita();
+                receita.setDescricao(dto.getDescricao());
+                receita.setValor(dto.getValor());
+                receita.setData(dto.getData());
+                receita.setNatureza(dto.getNatureza());
+                receita.setCategoria(categoria);
+                receita.setUsuario(usuario);
+                return receita;
+            }
+
+            Despesa despesa = new Despesa();
+            despesa.setDescricao(dto.getDescricao());
+            despesa.setValor(dto.getValor());
+            despesa.setData(dto.getData());
+            despesa.setNatureza(dto.getNatureza());
+            despesa.setCategoria(categoria);
+            despesa.setUsuario(usuario);
+            return despesa;
+        }
+
+        private ImportacaoResponseDTO finalizar() {
+            entityManager.flush();
+            entityManager.clear();
+
+            // Uma atualização do resumo mensal por categoria/mês afetado
+            variacoes.forEach((chave, variacao) -> balancoMensalService.ajustar(
+                    tipo, usuario.getId(), referencias.get(chave.categoriaId()), chave.ano(), chave.mes(),
+                    Dinheiro.reais(variacao[0])
+            ));
+
+            log.info("Importação de {} concluída. userId={}, linhas={}, importadas={}, erros={}",
+                    tipo, usuario.getId(), totalLinhas, importadas, erros.size());
+            return new ImportacaoResponseDTO(totalLinhas, importadas, List.copyOf(erros));
+        }
+    }
+}
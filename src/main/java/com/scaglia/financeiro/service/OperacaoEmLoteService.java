@@ -0,0 +1,92 @@
+package com.scaglia.financeiro.service;
+
+import com.scaglia.financeiro.config.CategoriaCache;
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.dto.ExclusaoEmLoteRequestDTO;
+import com.scaglia.financeiro.dto.OperacaoEmLoteResponseDTO;
+import com.scaglia.financeiro.dto.RecategorizacaoRequestDTO;
+import com.scaglia.financeiro.dto.VariacaoMensalCategoriaDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.exception.RecursoNaoEncontradoException;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.repository.CategoriaRepository;
+import com.scaglia.financeiro.repository.MovimentacaoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Responsabilidade: excluir e recategorizar receitas/despesas em lote.
+ * Cada operação é uma única instrução SQL baseada em conjunto, com a posse garantida no WHERE (usuario_id),
+ * em vez de carregar e verificar cada entidade. O resumo mensal recebe um ajuste por categoria/mês afetado.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OperacaoEmLoteService {
+
+    private final MovimentacaoRepository movimentacaoRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final CategoriaCache categoriaCache;
+    private final UsuarioAutenticadoService usuarioAutenticadoService;
+    private final BalancoMensalService balancoMensalService;
+
+    @Transactional
+    public OperacaoEmLoteResponseDTO excluir(TipoMovimentacao tipo, ExclusaoEmLoteRequestDTO dto) {
+        boolean temIds = dto.getIds() != null && !dto.getIds().isEmpty();
+        // Sem ids, o período é obrigatório: um filtro vazio apagaria todas as movimentações do usuário
+        if (!temIds && (dto.getDataInicial() == null || dto.getDataFinal() == null)) {
+            throw new IllegalArgumentException("Informe os ids ou o período (dataInicial e dataFinal) das movimentações a excluir.");
+        }
+        if (dto.getDataInicial() != null && dto.getDataFinal() != null && dto.getDataInicial().isAfter(dto.getDataFinal())) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final.");
+        }
+
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
+        List<VariacaoMensalCategoriaDTO> removidas = movimentacaoRepository.excluirEmLote(
+                tipo, usuarioId, dto.getIds(), dto.getDataInicial(), dto.getDataFinal(), dto.getCategoriaId()
+        );
+
+        long total = 0;
+        for (VariacaoMensalCategoriaDTO variacao : removidas) {
+            balancoMensalService.ajustar(tipo, usuarioId, categoriaRepository.getReferenceById(variacao.categoriaId()),
+                    variacao.ano(), variacao.mes(), variacao.total().negate());
+            total += variacao.quantidade();
+        }
+
+        log.info("Exclusão em lote concluída. userId={}, tipo={}, excluidas={}", usuarioId, tipo, total);
+        return new OperacaoEmLoteResponseDTO(total);
+    }
+
+    @Transactional
+    public OperacaoEmLoteResponseDTO recategorizar(TipoMovimentacao tipo, RecategorizacaoRequestDTO dto) {
+        CategoriaResponseDTO categoria = categoriaCache.buscarPorId(dto.getCategoriaId())
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Categoria", dto.getCategoriaId()));
+        // REGRA DE NEGÓCIO: a nova categoria precisa ser do mesmo tipo das movimentações
+        if (categoria.getTipo() != tipo) {
+            throw new IllegalArgumentException("Categoria " + categoria.getId() + " não é do tipo " + tipo + ".");
+        }
+
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
+        List<VariacaoMensalCategoriaDTO> movidas = movimentacaoRepository.recategorizarEmLote(
+                tipo, usuarioId, dto.getIds(), dto.getCategoriaId()
+        );
+
+        // Resumo mensal: sai da categoria anterior e entra na nova, mês a mês
+        Categoria nova = categoriaRepository.getReferenceById(dto.getCategoriaId());
+        long total = 0;
+        for (VariacaoMensalCategoriaDTO variacao : movidas) {
+            balancoMensalService.ajustar(tipo, usuarioId, categoriaRepository.getReferenceById(variacao.categoriaId()),
+                    variacao.ano(), variacao.mes(), variacao.total().negate());
+            balancoMensalService.ajustar(tipo, usuarioId, nova, variacao.ano(), variacao.mes(), variacao.total());
+            total += variacao.quantidade();
+        }
+
+        log.info("Recategorização em lote concluída. userId={}, tipo={}, categoriaId={}, alteradas={}",
+                usuarioId, tipo, dto.getCategoriaId(), total);
+        return new OperacaoEmLoteResponseDTO(total);
+    }
+}
@@ -0,0 +1,98 @@
+package com.scaglia.financeiro.service;
+
+import com.scaglia.financeiro.dto.BaseProjecaoDTO;
+import com.scaglia.financeiro.dto.CompromissoFixoDTO;
+import com.scaglia.financeiro.dto.ProjecaoFluxoCaixaDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Dinheiro;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Motor da projeção de caixa. Trabalha em centavos (long, ver {@link Dinheiro}) e em dias contados a partir
+ * de amanhã (epoch day): os compromissos fixos são lançados em um vetor de variações diárias e os saldos saem
+ * de uma única soma acumulada, sem objetos por dia no cálculo. BigDecimal só aparece na entrada e na resposta.
+ */
+@Component
+public class ProjecaoFluxoCaixa {
+
+    /**
+     * Projeta o saldo de cada dia de amanhã até {@code hoje + meses}.
+     *
+     * @param diasJanela quantidade de dias da janela em que {@code base.resultadoVariaveis()} foi apurado
+     */
+    public ProjecaoFluxoCaixaDTO projetar(LocalDate hoje, int meses, int diasJanela,
+                                          BaseProjecaoDTO base, List<CompromissoFixoDTO> compromissos) {
+        long diaHoje = hoje.toEpochDay();
+        LocalDate dataFinal = hoje.plusMonths(meses);
+        int dias = (int) (dataFinal.toEpochDay() - diaHoje);
+
+        // Primeiro dia (epoch day) e tamanho de cada mês do horizonte, do mês atual ao mês final
+        YearMonth mesAtual = YearMonth.from(hoje);
+        int quantidadeMeses = meses + 1;
+        long[] inicioMes = new long[quantidadeMeses];
+        int[] tamanhoMes = new int[quantidadeMeses];
+        for (int m = 0; m < quantidadeMeses; m++) {
+            YearMonth mes = mesAtual.plusMonths(m);
+            inicioMes[m] = mes.atDay(1).toEpochDay();
+            tamanhoMes[m] = mes.lengthOfMonth();
+        }
+
+        // Cada compromisso cai todo mês no dia da última ocorrência (dia 31 vira o último dia dos meses curtos)
+        long[] variacoes = new long[dias];
+        for (CompromissoFixoDTO compromisso : compromissos) {
+            long valor = compromisso.tipo() == TipoMovimentacao.RECEITA
+                    ? Dinheiro.centavos(compromisso.valor())
+                    : Math.negateExact(Dinheiro.centavos(compromisso.valor()));
+            int diaDoMes = compromisso.ultimaData().getDayOfMonth();
+            long ultimaOcorrencia = Math.max(compromisso.ultimaData().toEpochDay(), diaHoje);
+
+            for (int m = 0; m < quantidadeMeses; m++) {
+                long ocorrencia = inicioMes[m] + Math.min(diaDoMes, tamanhoMes[m]) - 1;
+                if (ocorrencia > ultimaOcorrencia && ocorrencia - diaHoje <= dias) {
+                    int dia = (int) (ocorrencia - diaHoje - 1);
+                    variacoes[dia] = Dinheiro.somar(variacoes[dia], valor);
+                }
+            }
+        }
+
+        long saldoAtual = Dinheiro.centavos(base.saldoAtual());
+        long variaveis = Dinheiro.centavos(base.resultadoVariaveis());
+        BigDecimal[] saldos = new BigDecimal[dias];
+        long fixos = 0;
+        long saldoMinimo = Long.MAX_VALUE;
+        int indiceMinimo = 0;
+        int indicePrimeiroNegativo = -1;
+        for (int i = 0; i < dias; i++) {
+            fixos = Dinheiro.somar(fixos, variacoes[i]);
+            // A tendência acumulada até o dia i é proporcional a i + 1: o arredondamento não se acumula
+            long saldo = Dinheiro.somar(Dinheiro.somar(saldoAtual, fixos), Math.multiplyExact(variaveis, i + 1) / diasJanela);
+            saldos[i] = Dinheiro.reais(saldo);
+            if (saldo < saldoMinimo) {
+                saldoMinimo = saldo;
+                indiceMinimo = i;
+            }
+            if (saldo < 0 && indicePrimeiroNegativo < 0) {
+                indicePrimeiroNegativo = i;
+            }
+        }
+
+        LocalDate dataInicial = hoje.plusDays(1);
+        return ProjecaoFluxoCaixaDTO.builder()
+                .dataInicial(dataInicial)
+                .dataFinal(dataFinal)
+                .saldoAtual(Dinheiro.reais(saldoAtual))
+                .saldos(List.of(saldos))
+                .saldoFinal(saldos[dias - 1])
+                .saldoMinimo(Dinheiro.reais(saldoMinimo))
+                .dataSaldoMinimo(dataInicial.plusDays(indiceMinimo))
+                .primeiraDataNegativa(indicePrimeiroNegativo >= 0 ? dataInicial.plusDays(indicePrimeiroNegativo) : null)
+                .variacaoDiariaVariaveis(Dinheiro.reais(variaveis / diasJanela))
+                .compromissos(compromissos)
+                .build();
+    }
+}
@@ -1,5 +1,9 @@
 package com.scaglia.financeiro.service;
 
+import com.scaglia.financeiro.config.CategoriaCache;
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.dto.CursorDTO;
+import com.scaglia.financeiro.dto.CursorPageDTO;
 import com.scaglia.financeiro.dto.ReceitaRequestDTO;
 import com.scaglia.financeiro.dto.ReceitaResponseDTO;
 import com.scaglia.financeiro.enums.TipoMovimentacao;
@@ -9,33 +13,53 @@ import com.scaglia.financeiro.model.Categoria;
 import com.scaglia.financeiro.model.Receita;
 import com.scaglia.financeiro.repository.CategoriaRepository;
 import com.scaglia.financeiro.repository.ReceitaRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Service
+@Timed(value = "financeiro.servico", description = "Tempo dos métodos de serviço (tags class e method)")
 @RequiredArgsConstructor
 @Slf4j
 public class ReceitaService {
 
     private final ReceitaRepository receitaRepository;
     private final CategoriaRepository categoriaRepository;
+    private final CategoriaCache categoriaCache;
     private final UsuarioAutenticadoService usuarioAutenticadoService;
     private final ReceitaMapper receitaMapper;
+    private final BalancoMensalService balancoMensalService;
 
     /**
-     * Verifica se a receita pertence ao usuário logado. Essencial para segurança.
+     * Busca a receita do usuário logado (posse verificada na própria consulta, com a categoria já carregada).
+     * Retorna 404 também para receitas de outro usuário, para esconder a existência do recurso.
      */
-    private void verificarPropriedade(Receita receita) {
-        if (!receita.getUsuario().getId().equals(usuarioAutenticadoService.getUsuarioLogado().getId())) {
-            // Retorna 404 para esconder a existência do recurso de um usuário não-proprietário.
-            throw new RecursoNaoEncontradoException("Receita", receita.getId());
+    private Receita buscarReceitaDoUsuario(Long id) {
+        return receitaRepository.buscarDoUsuario(id, usuarioAutenticadoService.getUsuarioLogadoId())
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Receita", id));
+    }
+
+    /**
+     * Valida a categoria pelo CategoriaCache e devolve apenas uma referência para a associação,
+     * sem consultar a tabela de categorias no caminho de escrita.
+     */
+    private Categoria buscarCategoria(Long categoriaId) {
+        CategoriaResponseDTO categoria = categoriaCache.buscarPorId(categoriaId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Categoria", categoriaId));
+
+        // REGRA DE NEGÓCIO: Garante que a categoria é de RECEITA
+        if (categoria.getTipo() != TipoMovimentacao.RECEITA) {
+            throw new IllegalArgumentException("Categoria selecionada é do tipo DESPESA. Escolha uma categoria de RECEITA.");
         }
+        return categoriaRepository.getReferenceById(categoriaId);
     }
 
 
@@ -47,13 +71,7 @@ public class ReceitaService {
     @Transactional
     public ReceitaResponseDTO criarReceita(ReceitaRequestDTO dto) {
 
-        Categoria categoria = categoriaRepository.findById(dto.getCategoriaId())
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Categoria", dto.getCategoriaId()));
-
-        // REGRA DE NEGÓCIO: Garante que a categoria é de RECEITA
-        if (categoria.getTipo() != TipoMovimentacao.RECEITA) {
-            throw new IllegalArgumentException("Categoria selecionada é do tipo DESPESA. Escolha uma categoria de RECEITA.");
-        }
+        Categoria categoria = buscarCategoria(dto.getCategoriaId());
 
         Receita receita = new Receita();
         receita.setDescricao(dto.getDescricao());
@@ -66,6 +84,7 @@ public class ReceitaService {
         receita.setUsuario(usuarioAutenticadoService.getUsuarioLogado());
 
         Receita savedReceita = receitaRepository.save(receita);
+        balancoMensalService.registrar(TipoMovimentacao.RECEITA, receita.getUsuario().getId(), categoria, receita.getData(), receita.getValor());
         log.info("Receita criada com sucesso. userId={}, receitaId={}", receita.getUsuario().getId(), savedReceita.getId());
         return receitaMapper.toResponseDTO(savedReceita);
     }
@@ -80,14 +99,56 @@ public class ReceitaService {
             LocalDate dataFinal,
             Pageable pageable) {
 
-        String usuarioId = usuarioAutenticadoService.getUsuarioLogado().getId();
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
 
-        // **MUDANÇA CRUCIAL:** Novo método no Repository para aceitar os filtros
-        Page<Receita> receitasPage = receitaRepository.buscarComFiltros(
+        // Projeção direta no DTO: a listagem não hidrata entidades
+        return receitaRepository.buscarComFiltros(
                 usuarioId, categoriaId, dataInicial, dataFinal, pageable
         );
+    }
 
-        return receitasPage.map(receitaMapper::toResponseDTO);
+    /**
+     * Listagem por cursor (keyset) sobre (data, id): custo constante por página, sem OFFSET.
+     * O COUNT só é executado quando {@code incluirTotal} for verdadeiro.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ReceitaResponseDTO> listarReceitasPorCursor(
+            Long categoriaId,
+            LocalDate dataInicial,
+            LocalDate dataFinal,
+            String cursor,
+            int tamanho,
+            boolean incluirTotal) {
+        if (tamanho < 1 || tamanho > 100) {
+            throw new IllegalArgumentException("O tamanho da página deve ser entre 1 e 100.");
+        }
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
+        CursorDTO posicao = cursor != null && !cursor.isBlank() ? CursorDTO.decodificar(cursor) : null;
+
+        // Busca um item a mais apenas para saber se existe próxima página
+        List<ReceitaResponseDTO> receitas = posicao == null
+                ? receitaRepository.buscarPrimeiraPagina(usuarioId, categoriaId, dataInicial, dataFinal, Limit.of(tamanho + 1))
+                : receitaRepository.buscarPorCursor(usuarioId, categoriaId, dataInicial, dataFinal,
+                        posicao.data(), posicao.id(), Limit.of(tamanho + 1));
+
+        boolean temProxima = receitas.size() > tamanho;
+        List<ReceitaResponseDTO> pagina = temProxima ? receitas.subList(0, tamanho) : receitas;
+        String proximoCursor = null;
+        if (temProxima) {
+            ReceitaResponseDTO ultima = pagina.get(pagina.size() - 1);
+            proximoCursor = new CursorDTO(ultima.getData(), ultima.getId()).codificar();
+        }
+
+        Long total = incluirTotal
+                ? receitaRepository.contarComFiltros(usuarioId, categoriaId, dataInicial, dataFinal)
+                : null;
+
+        return new CursorPageDTO<>(
+                pagina,
+                proximoCursor,
+                temProxima,
+                total
+        );
     }
 
     /**
@@ -95,11 +156,8 @@ public class ReceitaService {
      */
     @Transactional(readOnly = true)
     public ReceitaResponseDTO buscarPorId(Long id) {
-        Receita receita = receitaRepository.findById(id)
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Receita", id));
-
-        // SEGURANÇA: Checa se o usuário logado é o proprietário
-        verificarPropriedade(receita);
+        // SEGURANÇA: só encontra a receita se o usuário logado for o proprietário
+        Receita receita = buscarReceitaDoUsuario(id);
 
         return receitaMapper.toResponseDTO(receita);
     }
@@ -109,19 +167,13 @@ public class ReceitaService {
      */
     @Transactional
     public ReceitaResponseDTO atualizarReceita(Long id, ReceitaRequestDTO dto) {
-        Receita receita = receitaRepository.findById(id)
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Receita", id));
+        // SEGURANÇA: só encontra a receita se o usuário logado for o proprietário
+        Receita receita = buscarReceitaDoUsuario(id);
 
-        // SEGURANÇA: Checa se o usuário logado é o proprietário
-        verificarPropriedade(receita);
+        Categoria categoria = buscarCategoria(dto.getCategoriaId());
 
-        Categoria categoria = categoriaRepository.findById(dto.getCategoriaId())
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Categoria", dto.getCategoriaId()));
-
-        // REGRA DE NEGÓCIO: Verifica se a nova categoria é do tipo RECEITA
-        if (categoria.getTipo() != TipoMovimentacao.RECEITA) {
-            throw new IllegalArgumentException("Categoria selecionada é do tipo DESPESA. Escolha uma categoria de RECEITA.");
-        }
+        // Resumo mensal: retira o estado anterior e soma o novo (data, valor ou categoria podem mudar)
+        balancoMensalService.estornar(TipoMovimentacao.RECEITA, receita.getUsuario().getId(), receita.getCategoria(), receita.getData(), receita.getValor());
 
         receita.setDescricao(dto.getDescricao());
         receita.setValor(dto.getValor());
@@ -130,6 +182,7 @@ public class ReceitaService {
         receita.setCategoria(categoria);
 
         Receita updatedReceita = receitaRepository.save(receita);
+        balancoMensalService.registrar(TipoMovimentacao.RECEITA, receita.getUsuario().getId(), categoria, receita.getData(), receita.getValor());
         log.info("Receita atualizada com sucesso. userId={}, receitaId={}", receita.getUsuario().getId(), updatedReceita.getId());
         return receitaMapper.toResponseDTO(updatedReceita);
     }
@@ -139,13 +192,11 @@ public class ReceitaService {
      */
     @Transactional
     public void deletarReceita(Long id) {
-        Receita receita = receitaRepository.findById(id)
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Receita", id));
-
-        // SEGURANÇA: Checa se o usuário logado é o proprietário
-        verificarPropriedade(receita);
+        // SEGURANÇA: só encontra a receita se o usuário logado for o proprietário
+        Receita receita = buscarReceitaDoUsuario(id);
 
         receitaRepository.delete(receita);
+        balancoMensalService.estornar(TipoMovimentacao.RECEITA, receita.getUsuario().getId(), receita.getCategoria(), receita.getData(), receita.getValor());
         log.info("Receita deletada com sucesso. userId={}, receitaId={}", receita.getUsuario().getId(), receita.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.scaglia.financeiro.service;
+
+import com.scaglia.financeiro.config.CategoriaCache;
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.dto.RecorrenciaRequestDTO;
+import com.scaglia.financeiro.dto.RecorrenciaResponseDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.exception.RecursoNaoEncontradoException;
+import com.scaglia.financeiro.mapper.RecorrenciaMapper;
+import com.scaglia.financeiro.model.Recorrencia;
+import com.scaglia.financeiro.repository.CategoriaRepository;
+import com.scaglia.financeiro.repository.MaterializacaoRecorrenciaRepository;
+import com.scaglia.financeiro.repository.RecorrenciaRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Responsabilidade: regras de recorrência mensal (receitas/despesas FIXA) e a criação das ocorrências.
+ * O agendador percorre os usuários com ocorrências vencidas em blocos, cada bloco em sua própria transação,
+ * com poucas instruções SQL por bloco em vez de uma criação por movimentação. A chave única
+ * (recorrencia_id, data) torna a execução idempotente e o advisory lock de sessão, mantido durante toda a
+ * execução, evita trabalho duplicado entre instâncias.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecorrenciaService {
+
+    private final RecorrenciaRepository recorrenciaRepository;
+    private final MaterializacaoRecorrenciaRepository materializacaoRecorrenciaRepository;
+    private final CategoriaRepository categoriaRepository;
+    private final CategoriaCache categoriaCache;
+    private final UsuarioAutenticadoService usuarioAutenticadoService;
+    private final RecorrenciaMapper recorrenciaMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+
+    // Usuários por transação do agendador
+    @Value("${app.recorrencias.lote-usuarios:500}")
+    private int tamanhoLote = 500;
+
+    /**
+     * Cria a regra. Ocorrências já vencidas (dataInicio até hoje) são criadas na mesma transação.
+     */
+    @Transactional
+    public RecorrenciaResponseDTO criar(RecorrenciaRequestDTO dto) {
+        if (dto.getDataFim() != null && dto.getDataFim().isBefore(dto.getDataInicio())) {
+            throw new IllegalArgumentException("A data final deve ser igual ou posterior à data inicial.");
+        }
+        CategoriaResponseDTO categoria = categoriaCache.buscarPorId(dto.getCategoriaId())
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Categoria", dto.getCategoriaId()));
+        // REGRA DE NEGÓCIO: a categoria precisa ser do mesmo tipo da recorrência
+        if (categoria.getTipo() != dto.getTipo()) {
+            throw new IllegalArgumentException("Categoria " + categoria.getId() + " não é do tipo " + dto.getTipo() + ".");
+        }
+
+        Recorrencia recorrencia = new Recorrencia();
+        recorrencia.setUsuario(usuarioAutenticadoService.getUsuarioLogado());
+        recorrencia.setTipo(dto.getTipo());
+        recorrencia.setDescricao(dto.getDescricao());
+        recorrencia.setValor(dto.getValor());
+        recorrencia.setCategoria(categoriaRepository.getReferenceById(dto.getCategoriaId()));
+        recorrencia.setDiaDoMes(dto.getDataInicio().getDayOfMonth());
+        recorrencia.setDataInicio(dto.getDataInicio());
+        recorrencia.setDataFim(dto.getDataFim());
+        recorrencia.setProximaOcorrencia(dto.getDataInicio());
+        recorrencia.setAtiva(true);
+        // Flush: a materialização (JDBC) precisa enxergar a regra nesta transação
+        recorrenciaRepository.saveAndFlush(recorrencia);
+
+        String usuarioId = recorrencia.getUsuario().getId();
+        LocalDate hoje = LocalDate.now();
+        if (!recorrencia.getProximaOcorrencia().isAfter(hoje)) {
+            long criadas = materializar(List.of(usuarioId), hoje);
+            // A materialização avançou a próxima ocorrência direto no banco
+            entityManager.refresh(recorrencia);
+            log.info("Ocorrências vencidas da nova recorrência criadas. userId={}, criadas={}", usuarioId, criadas);
+        }
+
+        log.info("Recorrência criada com sucesso. userId={}, recorrenciaId={}", usuarioId, recorrencia.getId());
+        return recorrenciaMapper.toResponseDTO(recorrencia);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecorrenciaResponseDTO> listar() {
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
+        return recorrenciaRepository.listarDoUsuario(usuarioId).stream()
+                .map(recorrenciaMapper::toResponseDTO)
+                .toList();
+    }
+
+    /**
+     * Desativa a regra. As movimentações já criadas por ela permanecem.
+     */
+    @Transactional
+    public void desativar(Long id) {
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
+        Recorrencia recorrencia = recorrenciaRepository.buscarDoUsuario(id, usuarioId)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Recorrência", id));
+        recorrencia.setAtiva(false);
+        log.info("Recorrência desativada. userId={}, recorrenciaId={}", usuarioId, id);
+    }
+
+    /**
+     * Cria as ocorrências vencidas de todos os usuários, em blocos de usuários (um bloco por transação).
+     * O lock é obtido uma vez para a execução inteira; se outra instância estiver com ele, nada é feito.
+     */
+    @Scheduled(cron = "${app.recorrencias.cron:0 10 0 * * *}")
+    public void materializarPendentes() {
+        LocalDate hoje = LocalDate.now();
+        if (!materializacaoRecorrenciaRepository.executarComBloqueio(() -> materializarEmLotes(hoje))) {
+            log.info("Materialização de recorrências em andamento em outra instância. Execução ignorada.");
+        }
+    }
+
+    private void materializarEmLotes(LocalDate hoje) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        String ultimoUsuario = "";
+        long total = 0;
+        int lotes = 0;
+        while (true) {
+            String depoisDe = ultimoUsuario;
+            Lote lote = transacao.execute(status -> processarLote(hoje, depoisDe));
+            if (lote.usuarios().isEmpty()) {
+                break;
+            }
+            total += lote.criadas();
+            lotes++;
+            ultimoUsuario = lote.usuarios().get(lote.usuarios().size() - 1);
+            if (lote.usuarios().size() < tamanhoLote) {
+                break;
+            }
+        }
+
+        log.info("Recorrências materializadas. data={}, lotes={}, criadas={}", hoje, lotes, total);
+    }
+
+    private Lote processarLote(LocalDate hoje, String depoisDe) {
+        List<String> usuarios = materializacaoRecorrenciaRepository.buscarUsuariosComPendencias(hoje, depoisDe, tamanhoLote);
+        if (usuarios.isEmpty()) {
+            return new Lote(usuarios, 0);
+        }
+        return new Lote(usuarios, materializar(usuarios, hoje));
+    }
+
+    private long materializar(List<String> usuarios, LocalDate hoje) {
+        long criadas = 0;
+        for (TipoMovimentacao tipo : TipoMovimentacao.values()) {
+            criadas += materializacaoRecorrenciaRepository.materializar(tipo, usuarios, hoje);
+        }
+        materializacaoRecorrenciaRepository.avancar(usuarios, hoje);
+        return criadas;
+    }
+
+    private record Lote(List<String> usuarios, long criadas) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.scaglia.financeiro.service;
+
+import com.scaglia.financeiro.model.RefreshToken;
+import com.scaglia.financeiro.model.User;
+import com.scaglia.financeiro.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Responsabilidade: emitir, rotacionar e revogar refresh tokens persistidos.
+ * O token é um valor aleatório opaco (256 bits); no banco fica apenas o SHA-256 dele. Como o token
+ * já tem entropia alta, um hash rápido basta e permite a busca direta pelo índice único.
+ * Cada renovação revoga o token usado e emite outro; apresentar um token já revogado indica
+ * vazamento, e todas as sessões do usuário são revogadas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int BYTES_TOKEN = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${app.security.refresh-token.validade:7d}")
+    private Duration validade = Duration.ofDays(7);
+
+    @Value("${app.security.refresh-token.purga-lote:1000}")
+    private int tamanhoLotePurga = 1000;
+
+    /**
+     * Emite um novo token para o usuário e devolve o valor em claro (a única vez em que ele existe no servidor).
+     */
+    @Transactional
+    public String emitir(User user) {
+        byte[] bytes = new byte[BYTES_TOKEN];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant agora = Instant.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setUser(user);
+        refreshToken.setCriadoEm(agora);
+        refreshToken.setExpiraEm(agora.plus(validade));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    /**
+     * Valida o token (uma consulta indexada, já trazendo o usuário) e o revoga.
+     * O chamador emite o novo par de tokens para o usuário retornado.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public User consumir(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.buscarPorHashComUsuario(hash(token))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido ou expirado."));
+
+        Instant agora = Instant.now();
+        if (!refreshToken.getExpiraEm().isAfter(agora)) {
+            throw new BadCredentialsException("Refresh token inválido ou expirado.");
+        }
+
+        if (refreshTokenRepository.revogar(refreshToken.getId(), agora) == 0) {
+            // Token já rotacionado ou revogado sendo usado de novo: encerra todas as sessões do usuário
+            User user = refreshToken.getUser();
+            int revogados = refreshTokenRepository.revogarTodosDoUsuario(user.getId(), agora);
+            log.warn("Reutilização de refresh token revogado. userId={}, sessoesRevogadas={}", user.getId(), revogados);
+            throw new BadCredentialsException("Refresh token inválido ou expirado.");
+        }
+        return refreshToken.getUser();
+    }
+
+    /**
+     * Logout: revoga o token informado. Tokens desconhecidos são ignorados (a resposta não revela se existiam).
+     */
+    @Transactional
+    public void revogar(String token) {
+        refreshTokenRepository.buscarPorHashComUsuario(hash(token))
+                .ifPresent(refreshToken -> refreshTokenRepository.revogar(refreshToken.getId(), Instant.now()));
+    }
+
+    /**
+     * Remove os tokens expirados em lotes, cada um em sua própria transação, para não segurar
+     * locks nem gerar uma transação gigante. Tokens revogados ainda válidos ficam (detecção de reutilização).
+     */
+    @Scheduled(cron = "${app.security.refresh-token.purga-cron:0 0 3 * * *}")
+    public void removerExpirados() {
+        Instant agora = Instant.now();
+        long total = 0;
+        int removidos;
+        do {
+            removidos = refreshTokenRepository.removerExpirados(agora, tamanhoLotePurga);
+            total += removidos;
+        } while (removidos == tamanhoLotePurga);
+
+        log.info("Refresh tokens expirados removidos. total={}", total);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
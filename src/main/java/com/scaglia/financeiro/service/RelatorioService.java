@@ -1,76 +1,121 @@
 package com.scaglia.financeiro.service;
 
 import com.scaglia.financeiro.dto.BalancoResponseDTO;
-import com.scaglia.financeiro.repository.DespesaRepository;
-import com.scaglia.financeiro.repository.ReceitaRepository;
+import com.scaglia.financeiro.dto.BaseProjecaoDTO;
+import com.scaglia.financeiro.dto.CompromissoFixoDTO;
+import com.scaglia.financeiro.dto.ProjecaoFluxoCaixaDTO;
+import com.scaglia.financeiro.dto.SerieRelatorioDTO;
+import com.scaglia.financeiro.dto.TotalMensalCategoriaDTO;
+import com.scaglia.financeiro.mapper.BalancoMapper;
+import com.scaglia.financeiro.repository.MovimentacaoRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Map;
 
 @Service
+@Timed(value = "financeiro.servico", description = "Tempo dos métodos de serviço (tags class e method)")
 @RequiredArgsConstructor
 @Slf4j
 public class RelatorioService {
 
-    private final ReceitaRepository receitaRepository;
-    private final DespesaRepository despesaRepository;
+    // Limite do intervalo da série (10 anos) para manter resposta e consulta proporcionais
+    private static final int MAX_MESES_SERIE = 120;
+
+    // Histórico usado pela projeção: compromissos fixos ainda ativos e tendência das movimentações variáveis
+    private static final int JANELA_PROJECAO_MESES = 3;
+
+    private final MovimentacaoRepository movimentacaoRepository;
     private final UsuarioAutenticadoService usuarioAutenticadoService;
+    private final BalancoMensalService balancoMensalService;
+    private final BalancoMapper balancoMapper;
+    private final ProjecaoFluxoCaixa projecaoFluxoCaixa;
+
+    // Quando desligado, o balanço volta a ser agregado diretamente sobre receitas/despesas
+    @Value("${app.relatorios.resumo-mensal.enabled:true}")
+    private boolean usarResumoMensal = true;
 
     /**
      * Calcula o balanço financeiro do usuário para um mês e ano específicos.
      */
     @Transactional(readOnly = true)
     public BalancoResponseDTO calcularBalancoMensal(int mes, int ano) {
-        String usuarioId = usuarioAutenticadoService.getUsuarioLogado().getId();
-
-        // 1. Soma Total de Receitas
-        BigDecimal totalReceitas = receitaRepository.somarReceitasPorMes(usuarioId, mes, ano);
-
-        // 2. Soma Total de Despesas
-        BigDecimal totalDespesas = despesaRepository.somarDespesasPorMes(usuarioId, mes, ano);
-
-        // 3. Cálculo do Balanço Final
-        BigDecimal balancoFinal = totalReceitas.subtract(totalDespesas);
-
-        // 4. Detalhamento por Categoria
-        Map<String, BigDecimal> receitasPorCategoria = converterListaDeSomas(
-                receitaRepository.somarReceitasPorCategoria(usuarioId, mes, ano)
-        );
-
-        Map<String, BigDecimal> despesasPorCategoria = converterListaDeSomas(
-                despesaRepository.somarDespesasPorCategoria(usuarioId, mes, ano)
-        );
-
-        // 5. Constrói o DTO de Resposta
-        BalancoResponseDTO balanco = BalancoResponseDTO.builder()
-                .totalReceitas(totalReceitas)
-                .totalDespesas(totalDespesas)
-                .balancoFinal(balancoFinal)
-                .receitasPorCategoria(receitasPorCategoria)
-                .despesasPorCategoria(despesasPorCategoria)
-                .build();
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
+
+        BalancoResponseDTO balanco = usarResumoMensal
+                ? balancoMapper.toResponseDTO(balancoMensalService.buscarTotaisDoMes(usuarioId, mes, ano))
+                : agregarMovimentacoes(usuarioId, mes, ano);
+
         log.info("Balanço mensal calculado. userId={}, ano={}, mes={}, balancoFinal={}",
-                usuarioId, ano, mes, balancoFinal);
+                usuarioId, ano, mes, balanco.getBalancoFinal());
         return balanco;
     }
 
     /**
-     * Converte a List<Object[]> retornada pelo JPA em um Map<String, BigDecimal>.
-     * O formato da lista é: [[nomeCategoria, somaValor], [nomeCategoria, somaValor], ...]
+     * Série mensal de receitas, despesas, saldo e categorias no intervalo [inicio, fim] (meses inclusivos).
+     * Uma única consulta agrupada por mês e categoria; a série é montada em uma passada pelas linhas.
+     */
+    @Transactional(readOnly = true)
+    public SerieRelatorioDTO calcularSerie(YearMonth inicio, YearMonth fim) {
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("O mês final deve ser igual ou posterior ao mês inicial.");
+        }
+        if (ChronoUnit.MONTHS.between(inicio, fim) + 1 > MAX_MESES_SERIE) {
+            throw new IllegalArgumentException("O intervalo máximo do relatório é de " + MAX_MESES_SERIE + " meses.");
+        }
+
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
+
+        List<TotalMensalCategoriaDTO> totais = usarResumoMensal
+                ? balancoMensalService.buscarTotaisDoPeriodo(usuarioId, inicio, fim)
+                // Intervalo semiaberto [primeiro dia do mês inicial, primeiro dia do mês seguinte ao final)
+                : movimentacaoRepository.somarPorMesECategoria(usuarioId, inicio.atDay(1), fim.plusMonths(1).atDay(1));
+
+        SerieRelatorioDTO serie = balancoMapper.toSerieDTO(inicio, fim, totais);
+        log.info("Série do relatório calculada. userId={}, inicio={}, fim={}, saldoPeriodo={}",
+                usuarioId, inicio, fim, serie.getSaldoPeriodo());
+        return serie;
+    }
+
+    /**
+     * Projeção diária do saldo para os próximos {@code meses}: saldo atual, receitas/despesas FIXA repetidas
+     * todo mês e a média diária das VARIAVEL dos últimos meses. Duas consultas agregadas; o cálculo é em memória.
      */
-    private Map<String, BigDecimal> converterListaDeSomas(List<Object[]> somas) {
-        Map<String, BigDecimal> resultado = new HashMap<>();
-        for (Object[] item : somas) {
-            String nome = (String) item[0];
-            BigDecimal valor = (BigDecimal) item[1];
-            resultado.put(nome, valor);
+    @Transactional(readOnly = true)
+    public ProjecaoFluxoCaixaDTO projetarFluxoCaixa(int meses) {
+        if (meses < 1 || meses > MAX_MESES_SERIE) {
+            throw new IllegalArgumentException("O horizonte da projeção deve ser entre 1 e " + MAX_MESES_SERIE + " meses.");
         }
-        return resultado;
+
+        String usuarioId = usuarioAutenticadoService.getUsuarioLogadoId();
+        LocalDate hoje = LocalDate.now();
+        LocalDate inicioJanela = hoje.minusMonths(JANELA_PROJECAO_MESES);
+        int diasJanela = (int) ChronoUnit.DAYS.between(inicioJanela, hoje);
+
+        BaseProjecaoDTO base = movimentacaoRepository.buscarBaseProjecao(usuarioId, inicioJanela, hoje);
+        List<CompromissoFixoDTO> compromissos = movimentacaoRepository.buscarCompromissosFixos(usuarioId, inicioJanela, hoje);
+
+        ProjecaoFluxoCaixaDTO projecao = projecaoFluxoCaixa.projetar(hoje, meses, diasJanela, base, compromissos);
+        log.info("Projeção de caixa calculada. userId={}, meses={}, compromissos={}, saldoFinal={}",
+                usuarioId, meses, compromissos.size(), projecao.getSaldoFinal());
+        return projecao;
+    }
+
+    /**
+     * Caminho sem resumo: agrega diretamente sobre receitas e despesas, em uma única consulta.
+     */
+    private BalancoResponseDTO agregarMovimentacoes(String usuarioId, int mes, int ano) {
+        // Período do mês como intervalo semiaberto [primeiro dia, primeiro dia do mês seguinte)
+        LocalDate inicio = LocalDate.of(ano, mes, 1);
+        LocalDate fim = inicio.plusMonths(1);
+
+        return balancoMapper.toResponseDTO(movimentacaoRepository.somarPorCategoria(usuarioId, inicio, fim));
     }
-}
\ No newline at end of file
+}
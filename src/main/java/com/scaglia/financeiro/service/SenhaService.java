@@ -0,0 +1,130 @@
+package com.scaglia.financeiro.service;
+
+import com.scaglia.financeiro.exception.LimiteRequisicoesException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Responsabilidade: gerar e conferir hashes de senha fora das threads de requisição.
+ * O hash (BCrypt) é puro CPU: um pool fixo, do tamanho dos núcleos, limita quantos rodam ao mesmo tempo,
+ * e a fila limitada devolve 429 quando uma rajada de logins excede a capacidade, em vez de degradar
+ * todos os outros endpoints. A requisição aguarda o resultado; com virtual threads, a espera não ocupa
+ * uma thread de plataforma.
+ */
+@Service
+@Slf4j
+public class SenhaService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer tempoHash;
+    private final Timer tempoConferencia;
+    private final Counter rejeicoes;
+
+    public SenhaService(PasswordEncoder passwordEncoder,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.security.hash.threads:0}") int threads,
+                        @Value("${app.security.hash.fila:200}") int capacidadeFila,
+                        @Value("${app.security.hash.timeout:10s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+
+        // 0 = um thread por núcleo disponível
+        int tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(tamanhoPool, tamanhoPool, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        this.tempoHash = Timer.builder("financeiro.senha.hash")
+                .tag("operacao", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.tempoConferencia = Timer.builder("financeiro.senha.hash")
+                .tag("operacao", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejeicoes = meterRegistry.counter("financeiro.senha.rejeicoes");
+        Gauge.builder("financeiro.senha.fila", executor, pool -> pool.getQueue().size())
+                .description("Hashes de senha aguardando um thread livre")
+                .register(meterRegistry);
+        Gauge.builder("financeiro.senha.ativos", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes de senha em execução")
+                .register(meterRegistry);
+    }
+
+    public String gerarHash(String senha) {
+        return executar(() -> tempoHash.recordCallable(() -> passwordEncoder.encode(senha)));
+    }
+
+    public boolean confere(String senha, String hash) {
+        return executar(() -> tempoConferencia.recordCallable(() -> passwordEncoder.matches(senha, hash)));
+    }
+
+    /**
+     * true quando o hash foi gerado com outro algoritmo ou custo menor que o configurado
+     * (inclui os hashes antigos, gravados sem o prefixo {id}).
+     */
+    public boolean precisaAtualizar(String hash) {
+        return passwordEncoder.upgradeEncoding(hash);
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            rejeicoes.increment();
+            throw new LimiteRequisicoesException("Muitas requisições de autenticação simultâneas. Tente novamente em instantes.");
+        }
+
+        try {
+            return futuro.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            rejeicoes.increment();
+            throw new LimiteRequisicoesException("Muitas requisições de autenticação simultâneas. Tente novamente em instantes.");
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash da senha.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Erro ao calcular o hash da senha.", e.getCause());
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, "hash-senha-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+}
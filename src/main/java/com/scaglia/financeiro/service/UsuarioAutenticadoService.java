@@ -1,5 +1,7 @@
 package com.scaglia.financeiro.service;
 
+import com.scaglia.financeiro.config.UsuarioCache;
+import com.scaglia.financeiro.config.UsuarioToken;
 import com.scaglia.financeiro.model.User;
 import com.scaglia.financeiro.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,10 +17,26 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class UsuarioAutenticadoService {
 
+    private final UsuarioCache usuarioCache;
     private final UserRepository userRepository;
 
+    /**
+     * Retorna o id do usuário logado. Com o principal montado a partir do JWT (claims-only),
+     * não executa nenhuma consulta; prefira este método quando só o id é necessário.
+     */
+    public String getUsuarioLogadoId() {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        if (principal instanceof UsuarioToken usuarioToken) {
+            return usuarioToken.id();
+        }
+        return getUsuarioLogado().getId();
+    }
+
     /**
      * Retorna o User completo do usuário logado a partir do contexto de segurança (token JWT).
+     * No modo claims-only, devolve apenas uma referência (proxy) ao usuário, sem consultar o banco,
+     * suficiente para associar o usuário a uma nova movimentação.
      *
      * @return usuário autenticado
      * @throws UsernameNotFoundException se o usuário não for encontrado
@@ -30,11 +48,15 @@ public class UsuarioAutenticadoService {
             return (User) principal;
         }
 
+        if (principal instanceof UsuarioToken usuarioToken) {
+            return userRepository.getReferenceById(usuarioToken.id());
+        }
+
         String emailUsuario = (principal != null && !principal.toString().isBlank())
                 ? principal.toString()
                 : SecurityContextHolder.getContext().getAuthentication().getName();
 
-        return userRepository.findByEmail(emailUsuario)
+        return usuarioCache.buscarPorEmail(emailUsuario)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + emailUsuario));
     }
 }
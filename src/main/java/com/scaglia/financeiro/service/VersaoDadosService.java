@@ -0,0 +1,34 @@
+package com.scaglia.financeiro.service;
+
+import com.scaglia.financeiro.model.VersaoDadosUsuario;
+import com.scaglia.financeiro.repository.VersaoDadosUsuarioRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Responsabilidade: manter a versão dos dados financeiros de cada usuário.
+ * Deve ser chamado na mesma transação da escrita: a versão nova só fica visível junto com os dados novos.
+ */
+@Service
+@RequiredArgsConstructor
+public class VersaoDadosService {
+
+    private final VersaoDadosUsuarioRepository versaoDadosUsuarioRepository;
+
+    @Transactional
+    public void registrarAlteracao(String usuarioId) {
+        versaoDadosUsuarioRepository.incrementar(usuarioId, Instant.now());
+    }
+
+    /**
+     * Versão atual; usuários que nunca alteraram dados ficam na versão 0.
+     */
+    @Transactional(readOnly = true)
+    public VersaoDadosUsuario buscar(String usuarioId) {
+        return versaoDadosUsuarioRepository.findById(usuarioId)
+                .orElseGet(() -> new VersaoDadosUsuario(usuarioId, 0L, Instant.EPOCH));
+    }
+}
@@ -0,0 +1,12 @@
+-- Listagem por cursor (keyset): a comparação de linha (data, id) < (:cursorData, :cursorId) só delimita a
+-- varredura se id fizer parte da chave do índice. Os novos índices substituem os (usuario_id, data) da V4,
+-- continuam cobrindo valor (INCLUDE) e atendem às mesmas consultas por período.
+
+CREATE INDEX IF NOT EXISTS idx_receitas_usuario_data_id
+    ON receitas (usuario_id, data, id) INCLUDE (valor);
+
+CREATE INDEX IF NOT EXISTS idx_despesas_usuario_data_id
+    ON despesas (usuario_id, data, id) INCLUDE (valor);
+
+DROP INDEX IF EXISTS idx_receitas_usuario_data;
+DROP INDEX IF EXISTS idx_despesas_usuario_data;
@@ -0,0 +1,45 @@
+-- Tabela de Despesas (até aqui criada apenas pelo Hibernate; necessária para a carga do resumo)
+CREATE TABLE IF NOT EXISTS despesas (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    descricao VARCHAR(255) NOT NULL,
+    valor DECIMAL(19, 2) NOT NULL,
+    data DATE NOT NULL,
+    natureza VARCHAR(50) NOT NULL, -- FIXA ou VARIAVEL
+    categoria_id BIGINT NOT NULL,
+    usuario_id VARCHAR(36) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    CONSTRAINT pk_despesas PRIMARY KEY (id),
+    CONSTRAINT fk_despesas_categoria FOREIGN KEY (categoria_id) REFERENCES categorias(id),
+    CONSTRAINT fk_despesas_usuario FOREIGN KEY (usuario_id) REFERENCES tb_users(id)
+);
+
+-- Resumo mensal por usuário/categoria, mantido pelos serviços de Receita e Despesa
+CREATE TABLE balanco_mensal_categoria (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    usuario_id VARCHAR(36) NOT NULL,
+    tipo VARCHAR(50) NOT NULL, -- RECEITA ou DESPESA (tabela de origem)
+    categoria_id BIGINT NOT NULL,
+    ano INTEGER NOT NULL,
+    mes INTEGER NOT NULL,
+    total DECIMAL(19, 2) NOT NULL,
+    CONSTRAINT pk_balanco_mensal_categoria PRIMARY KEY (id),
+    CONSTRAINT uk_balanco_mensal_categoria UNIQUE (usuario_id, ano, mes, tipo, categoria_id),
+    CONSTRAINT fk_balanco_mensal_categoria FOREIGN KEY (categoria_id) REFERENCES categorias(id),
+    CONSTRAINT fk_balanco_mensal_usuario FOREIGN KEY (usuario_id) REFERENCES tb_users(id)
+);
+
+-- Carga inicial a partir das movimentações já existentes
+INSERT INTO balanco_mensal_categoria (usuario_id, tipo, categoria_id, ano, mes, total)
+SELECT usuario_id, 'RECEITA', categoria_id,
+       CAST(EXTRACT(YEAR FROM data) AS INTEGER), CAST(EXTRACT(MONTH FROM data) AS INTEGER), SUM(valor)
+FROM receitas
+GROUP BY usuario_id, categoria_id, EXTRACT(YEAR FROM data), EXTRACT(MONTH FROM data);
+
+INSERT INTO balanco_mensal_categoria (usuario_id, tipo, categoria_id, ano, mes, total)
+SELECT usuario_id, 'DESPESA', categoria_id,
+       CAST(EXTRACT(YEAR FROM data) AS INTEGER), CAST(EXTRACT(MONTH FROM data) AS INTEGER), SUM(valor)
+FROM despesas
+GROUP BY usuario_id, categoria_id, EXTRACT(YEAR FROM data), EXTRACT(MONTH FROM data);
@@ -0,0 +1,15 @@
+-- Índices para os relatórios e listagens por período.
+-- As consultas filtram por usuario_id (igualdade) + data (intervalo semiaberto), e
+-- o INCLUDE (valor) permite somar sem visitar a tabela (index-only scan).
+
+CREATE INDEX IF NOT EXISTS idx_receitas_usuario_data
+    ON receitas (usuario_id, data) INCLUDE (valor);
+
+CREATE INDEX IF NOT EXISTS idx_receitas_usuario_categoria_data
+    ON receitas (usuario_id, categoria_id, data) INCLUDE (valor);
+
+CREATE INDEX IF NOT EXISTS idx_despesas_usuario_data
+    ON despesas (usuario_id, data) INCLUDE (valor);
+
+CREATE INDEX IF NOT EXISTS idx_despesas_usuario_categoria_data
+    ON despesas (usuario_id, categoria_id, data) INCLUDE (valor);
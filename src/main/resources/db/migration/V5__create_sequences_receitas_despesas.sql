@@ -0,0 +1,10 @@
+-- Receitas e despesas passam a usar sequence com alocação em blocos de 50 (otimizador "pooled" do Hibernate).
+-- Com IDENTITY o Hibernate precisa executar cada INSERT isoladamente para obter o id, o que impede o batch JDBC.
+-- O INCREMENT BY precisa ser igual ao allocationSize declarado nas entidades.
+CREATE SEQUENCE IF NOT EXISTS receitas_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS despesas_seq START WITH 1 INCREMENT BY 50;
+
+-- Posiciona as sequences após os ids já gerados pela coluna IDENTITY.
+-- A folga de um bloco garante que o primeiro bloco entregue ao Hibernate não colida com ids existentes.
+SELECT setval('receitas_seq', (SELECT COALESCE(MAX(id), 0) FROM receitas) + 50);
+SELECT setval('despesas_seq', (SELECT COALESCE(MAX(id), 0) FROM despesas) + 50);
@@ -0,0 +1,14 @@
+-- Versão dos dados financeiros de cada usuário: incrementada a cada alteração de receita ou despesa.
+-- Usada para ETag/Last-Modified: respostas inalteradas retornam 304 sem executar as consultas.
+CREATE TABLE IF NOT EXISTS versao_dados_usuario (
+    usuario_id VARCHAR(36) NOT NULL,
+    versao BIGINT NOT NULL,
+    atualizado_em TIMESTAMPTZ NOT NULL,
+    CONSTRAINT pk_versao_dados_usuario PRIMARY KEY (usuario_id),
+    CONSTRAINT fk_versao_dados_usuario_usuario FOREIGN KEY (usuario_id) REFERENCES tb_users (id)
+);
+
+INSERT INTO versao_dados_usuario (usuario_id, versao, atualizado_em)
+SELECT u.id, 1, CURRENT_TIMESTAMP
+FROM tb_users u
+WHERE NOT EXISTS (SELECT 1 FROM versao_dados_usuario v WHERE v.usuario_id = u.id);
@@ -0,0 +1,22 @@
+-- Refresh tokens opacos: guardamos apenas o SHA-256 do token (o valor em claro só existe no cliente).
+-- A validação é uma busca pelo índice único de token_hash; tokens revogados ficam até expirar,
+-- para detectar reutilização de um token já rotacionado.
+CREATE TABLE IF NOT EXISTS tb_refresh_tokens (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    user_id VARCHAR(36) NOT NULL,
+    criado_em TIMESTAMPTZ NOT NULL,
+    expira_em TIMESTAMPTZ NOT NULL,
+    revogado_em TIMESTAMPTZ,
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_usuario FOREIGN KEY (user_id) REFERENCES tb_users (id)
+);
+
+-- Revogação de todas as sessões do usuário (logout geral / reutilização detectada)
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_usuario
+    ON tb_refresh_tokens (user_id);
+
+-- Limpeza periódica dos tokens expirados, em lotes
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expira_em
+    ON tb_refresh_tokens (expira_em);
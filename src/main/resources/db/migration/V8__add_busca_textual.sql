@@ -0,0 +1,23 @@
+-- Busca textual em receitas e despesas.
+-- "busca" é uma coluna tsvector gerada (mantida pelo banco a cada INSERT/UPDATE) com índice GIN:
+-- a descrição tem peso A e a observação peso B. A configuração 'portuguese' reduz as palavras ao radical
+-- ("aluguéis" encontra "aluguel"). O índice de trigramas atende busca aproximada (erros de digitação)
+-- e trechos de palavra (ILIKE '%alug%').
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE receitas ADD COLUMN IF NOT EXISTS busca tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese'::regconfig, coalesce(descricao, '')), 'A') ||
+        setweight(to_tsvector('portuguese'::regconfig, coalesce(observacao, '')), 'B')
+    ) STORED;
+
+ALTER TABLE despesas ADD COLUMN IF NOT EXISTS busca tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese'::regconfig, coalesce(descricao, '')), 'A')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_receitas_busca ON receitas USING gin (busca);
+CREATE INDEX IF NOT EXISTS idx_despesas_busca ON despesas USING gin (busca);
+
+CREATE INDEX IF NOT EXISTS idx_receitas_descricao_trgm ON receitas USING gin (descricao gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_despesas_descricao_trgm ON despesas USING gin (descricao gin_trgm_ops);
@@ -0,0 +1,48 @@
+-- Regras de recorrência mensal: a partir delas o agendador cria as receitas/despesas FIXA de cada mês.
+-- proxima_ocorrencia é a data da próxima movimentação a criar; o agendador avança a data a cada execução.
+CREATE TABLE IF NOT EXISTS recorrencias (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    usuario_id VARCHAR(36) NOT NULL,
+    tipo VARCHAR(50) NOT NULL, -- RECEITA ou DESPESA (tabela de destino)
+    descricao VARCHAR(255) NOT NULL,
+    valor DECIMAL(19, 2) NOT NULL,
+    categoria_id BIGINT NOT NULL,
+    dia_do_mes INTEGER NOT NULL, -- 29, 30 e 31 caem no último dia dos meses mais curtos
+    data_inicio DATE NOT NULL,
+    data_fim DATE,
+    proxima_ocorrencia DATE NOT NULL,
+    ativa BOOLEAN NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL,
+    created_by VARCHAR(255),
+    updated_by VARCHAR(255),
+    CONSTRAINT pk_recorrencias PRIMARY KEY (id),
+    CONSTRAINT ck_recorrencias_dia_do_mes CHECK (dia_do_mes BETWEEN 1 AND 31),
+    CONSTRAINT fk_recorrencias_categoria FOREIGN KEY (categoria_id) REFERENCES categorias (id),
+    CONSTRAINT fk_recorrencias_usuario FOREIGN KEY (usuario_id) REFERENCES tb_users (id)
+);
+
+-- Listagem das regras do usuário
+CREATE INDEX IF NOT EXISTS idx_recorrencias_usuario
+    ON recorrencias (usuario_id);
+
+-- Agendador: usuários com ocorrências vencidas, percorridos em ordem de usuario_id
+CREATE INDEX IF NOT EXISTS idx_recorrencias_pendentes
+    ON recorrencias (usuario_id, proxima_ocorrencia) WHERE ativa;
+
+-- Movimentações criadas por uma regra. A chave única (recorrencia_id, data) torna a materialização idempotente:
+-- uma execução repetida (ou concorrente) não duplica a ocorrência. Movimentações manuais ficam com NULL.
+ALTER TABLE receitas ADD COLUMN IF NOT EXISTS recorrencia_id BIGINT
+    CONSTRAINT fk_receitas_recorrencia REFERENCES recorrencias (id) ON DELETE SET NULL;
+ALTER TABLE receitas ADD CONSTRAINT uk_receitas_recorrencia_data UNIQUE (recorrencia_id, data);
+
+ALTER TABLE despesas ADD COLUMN IF NOT EXISTS recorrencia_id BIGINT
+    CONSTRAINT fk_despesas_recorrencia REFERENCES recorrencias (id) ON DELETE SET NULL;
+ALTER TABLE despesas ADD CONSTRAINT uk_despesas_recorrencia_data UNIQUE (recorrencia_id, data);
+
+-- Data da ocorrência de uma regra no mês que começa em inicio_mes (dia limitado ao tamanho do mês)
+CREATE OR REPLACE FUNCTION ocorrencia_no_mes(inicio_mes DATE, dia_do_mes INTEGER) RETURNS DATE
+    LANGUAGE sql IMMUTABLE AS
+$$
+SELECT inicio_mes + (LEAST(dia_do_mes, CAST(EXTRACT(DAY FROM inicio_mes + INTERVAL '1 month' - INTERVAL '1 day') AS INTEGER)) - 1)
+$$;
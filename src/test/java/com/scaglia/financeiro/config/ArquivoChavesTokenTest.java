@@ -0,0 +1,62 @@
+package com.scaglia.financeiro.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class ArquivoChavesTokenTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void verificar_DeveRotacionarChave_QuandoArquivoMudar_SemReiniciar() throws Exception {
+        // GIVEN: aplicação subiu com a chave v1 do arquivo
+        Path arquivo = Files.writeString(diretorio.resolve("chaves.properties"), "ativa=v1\nv1=segredo-1\n");
+        TokenService tokenService = new TokenService("segredo-da-propriedade", "principal", "");
+        ArquivoChavesToken arquivoChaves = new ArquivoChavesToken(tokenService, arquivo);
+        String tokenV1 = tokenService.generateToken(criarUsuario());
+
+        // WHEN: o arquivo passa a ter v2 como ativa e, depois, deixa de ter v1
+        Files.writeString(arquivo, "ativa=v2\nv2=segredo-2\nv1=segredo-1\n");
+        arquivoChaves.verificar();
+        String tokenV2 = tokenService.generateToken(criarUsuario());
+        boolean v1AceitaDuranteTransicao = "teste@email.com".equals(tokenService.validateToken(tokenV1));
+        Files.writeString(arquivo, "ativa=v2\nv2=segredo-2\n");
+        arquivoChaves.verificar();
+
+        // THEN
+        assertTrue(v1AceitaDuranteTransicao);
+        assertEquals("", tokenService.validateToken(tokenV1));
+        assertEquals("teste@email.com", tokenService.validateToken(tokenV2));
+    }
+
+    @Test
+    void verificar_DeveManterChavesAtuais_QuandoArquivoForInvalido() throws Exception {
+        // GIVEN
+        Path arquivo = Files.writeString(diretorio.resolve("chaves.properties"), "ativa=v1\nv1=segredo-1\n");
+        TokenService tokenService = new TokenService("segredo-da-propriedade", "principal", "");
+        ArquivoChavesToken arquivoChaves = new ArquivoChavesToken(tokenService, arquivo);
+        String token = tokenService.generateToken(criarUsuario());
+
+        // WHEN: a chave ativa aponta para um kid sem segredo
+        Files.writeString(arquivo, "ativa=v3\nv1=segredo-1\n");
+        arquivoChaves.verificar();
+
+        // THEN
+        assertEquals("teste@email.com", tokenService.validateToken(token));
+    }
+
+    private static User criarUsuario() {
+        User user = new User();
+        user.setId("usuario-1");
+        user.setEmail("teste@email.com");
+        user.setName("Teste");
+        return user;
+    }
+}
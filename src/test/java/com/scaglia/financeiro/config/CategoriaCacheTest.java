@@ -0,0 +1,69 @@
+package com.scaglia.financeiro.config;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.repository.CategoriaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class CategoriaCacheTest {
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+
+    private CategoriaCache categoriaCache;
+
+    @BeforeEach
+    void setUp() {
+        categoriaCache = new CategoriaCache(categoriaRepository, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void buscarPorId_DeveCarregarCategoriasApenasUmaVez_QuandoSnapshotEstiverValido() {
+        // GIVEN
+        when(categoriaRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(new Categoria(1L, "Salário", TipoMovimentacao.RECEITA)));
+
+        // WHEN: várias leituras seguidas
+        categoriaCache.buscarPorId(1L);
+        categoriaCache.listarTodas();
+        Optional<CategoriaResponseDTO> resultado = categoriaCache.buscarPorId(1L);
+
+        // THEN
+        assertTrue(resultado.isPresent());
+        assertEquals(TipoMovimentacao.RECEITA, resultado.get().getTipo());
+        verify(categoriaRepository, times(1)).findAll(any(Sort.class));
+        verify(categoriaRepository, never()).findById(any());
+    }
+
+    @Test
+    void invalidar_DeveRecarregarSnapshot_QuandoCategoriaForAlterada() {
+        // GIVEN
+        when(categoriaRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(new Categoria(1L, "Salário", TipoMovimentacao.RECEITA)))
+                .thenReturn(List.of(new Categoria(1L, "Salário Líquido", TipoMovimentacao.RECEITA)));
+        categoriaCache.listarTodas();
+
+        // WHEN: fora de transação a invalidação é imediata
+        categoriaCache.invalidar();
+        List<CategoriaResponseDTO> resultado = categoriaCache.listarTodas();
+
+        // THEN
+        assertEquals("Salário Líquido", resultado.get(0).getNome());
+        verify(categoriaRepository, times(2)).findAll(any(Sort.class));
+    }
+}
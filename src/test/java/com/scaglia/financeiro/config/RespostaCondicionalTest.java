@@ -0,0 +1,83 @@
+package com.scaglia.financeiro.config;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.model.VersaoDadosUsuario;
+import com.scaglia.financeiro.service.UsuarioAutenticadoService;
+import com.scaglia.financeiro.service.VersaoDadosService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+
+@ExtendWith(MockitoExtension.class)
+class RespostaCondicionalTest {
+
+    @Mock
+    private UsuarioAutenticadoService usuarioAutenticadoService;
+    @Mock
+    private VersaoDadosService versaoDadosService;
+    @Mock
+    private CategoriaCache categoriaCache;
+
+    @InjectMocks
+    private RespostaCondicional respostaCondicional;
+
+    @BeforeEach
+    void setUp() {
+        when(usuarioAutenticadoService.getUsuarioLogadoId()).thenReturn("usuario-1");
+        when(categoriaCache.assinatura()).thenReturn("abc123");
+        when(categoriaCache.ultimaAlteracao()).thenReturn(Instant.parse("2025-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void dadosDoUsuarioNaoModificados_DeveRetornar304_QuandoClienteJaTemVersaoAtual() {
+        // GIVEN: primeira resposta com a versão 5
+        when(versaoDadosService.buscar("usuario-1"))
+                .thenReturn(new VersaoDadosUsuario("usuario-1", 5L, Instant.parse("2025-02-01T10:00:00Z")));
+        MockHttpServletResponse primeiraResposta = new MockHttpServletResponse();
+        respostaCondicional.dadosDoUsuarioNaoModificados(
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/receitas"), primeiraResposta));
+        String etag = primeiraResposta.getHeader(HttpHeaders.ETAG);
+
+        // WHEN: o cliente revalida com a ETag recebida
+        MockHttpServletRequest revalidacao = new MockHttpServletRequest("GET", "/api/v1/receitas");
+        revalidacao.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse resposta = new MockHttpServletResponse();
+        boolean naoModificado = respostaCondicional.dadosDoUsuarioNaoModificados(new ServletWebRequest(revalidacao, resposta));
+
+        // THEN
+        assertNotNull(etag);
+        assertTrue(naoModificado);
+        assertEquals(304, resposta.getStatus());
+    }
+
+    @Test
+    void dadosDoUsuarioNaoModificados_DeveRetornarFalse_QuandoVersaoMudou() {
+        // GIVEN: ETag emitida na versão 5
+        when(versaoDadosService.buscar("usuario-1"))
+                .thenReturn(new VersaoDadosUsuario("usuario-1", 5L, Instant.parse("2025-02-01T10:00:00Z")))
+                .thenReturn(new VersaoDadosUsuario("usuario-1", 6L, Instant.parse("2025-02-01T10:05:00Z")));
+        MockHttpServletResponse primeiraResposta = new MockHttpServletResponse();
+        respostaCondicional.dadosDoUsuarioNaoModificados(
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/receitas"), primeiraResposta));
+
+        // WHEN: uma receita foi alterada (versão 6) e o cliente revalida
+        MockHttpServletRequest revalidacao = new MockHttpServletRequest("GET", "/api/v1/receitas");
+        revalidacao.addHeader(HttpHeaders.IF_NONE_MATCH, primeiraResposta.getHeader(HttpHeaders.ETAG));
+        boolean naoModificado = respostaCondicional.dadosDoUsuarioNaoModificados(
+                new ServletWebRequest(revalidacao, new MockHttpServletResponse()));
+
+        // THEN
+        assertFalse(naoModificado);
+    }
+}
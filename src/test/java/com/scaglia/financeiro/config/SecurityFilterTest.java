@@ -0,0 +1,93 @@
+package com.scaglia.financeiro.config;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.model.User;
+import com.scaglia.financeiro.repository.UserRepository;
+import com.scaglia.financeiro.service.UsuarioAutenticadoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityFilterTest {
+
+    @Mock
+    private UsuarioCache usuarioCache;
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenService tokenService;
+    private SecurityFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService("segredo", "v1", "");
+        filtro = new SecurityFilter();
+        filtro.tokenService = tokenService;
+        filtro.usuarioCache = usuarioCache;
+        filtro.claimsOnly = true;
+    }
+
+    @AfterEach
+    void limparContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void claimsOnly_DeveAutenticarComPrincipalDoToken_SemConsultarUsuario() throws Exception {
+        // GIVEN
+        User user = new User();
+        user.setId("usuario-1");
+        user.setEmail("teste@email.com");
+        user.setName("Teste");
+        User referencia = new User();
+        when(userRepository.getReferenceById("usuario-1")).thenReturn(referencia);
+
+        // WHEN
+        filtro.doFilterInternal(requisicaoCom(tokenService.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        // THEN: principal montado das claims; o usuário só vira referência (proxy) quando um serviço pede
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(new UsuarioToken("usuario-1", "teste@email.com", "Teste"), autenticacao.getPrincipal());
+        verifyNoInteractions(usuarioCache);
+
+        UsuarioAutenticadoService usuarioAutenticadoService = new UsuarioAutenticadoService(usuarioCache, userRepository);
+        assertEquals("usuario-1", usuarioAutenticadoService.getUsuarioLogadoId());
+        assertSame(referencia, usuarioAutenticadoService.getUsuarioLogado());
+    }
+
+    @Test
+    void claimsOnly_NaoDeveAutenticar_QuandoTokenForInvalido() throws Exception {
+        // GIVEN: token assinado com outro segredo
+        User user = new User();
+        user.setId("usuario-1");
+        user.setEmail("teste@email.com");
+        String token = new TokenService("outro-segredo", "v1", "").generateToken(user);
+        MockFilterChain cadeia = new MockFilterChain();
+
+        // WHEN
+        filtro.doFilterInternal(requisicaoCom(token), new MockHttpServletResponse(), cadeia);
+
+        // THEN: a requisição segue sem autenticação (o Spring Security responde 401/403 adiante)
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(cadeia.getRequest());
+        verifyNoInteractions(usuarioCache);
+    }
+
+    private static MockHttpServletRequest requisicaoCom(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/receitas");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+}
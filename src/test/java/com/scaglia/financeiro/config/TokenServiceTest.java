@@ -0,0 +1,120 @@
+package com.scaglia.financeiro.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.scaglia.financeiro.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+
+class TokenServiceTest {
+
+    private User criarUsuario() {
+        User user = new User();
+        user.setId("usuario-1");
+        user.setEmail("teste@email.com");
+        user.setName("Teste");
+        return user;
+    }
+
+    @Test
+    void validateToken_DeveAceitarTokenAntigo_AposRotacaoDaChave() {
+        // GIVEN: token emitido com a chave original
+        TokenService tokenService = new TokenService("segredo-original", "v1", "");
+        String tokenAntigo = tokenService.generateToken(criarUsuario());
+
+        // WHEN: a chave de assinatura é rotacionada, mantendo a anterior aceita
+        tokenService.atualizarChaves("v2", Map.of("v2", "segredo-novo", "v1", "segredo-original"));
+        String tokenNovo = tokenService.generateToken(criarUsuario());
+
+        // THEN: os dois tokens continuam válidos
+        assertEquals("teste@email.com", tokenService.validateToken(tokenAntigo));
+        assertEquals("teste@email.com", tokenService.validateToken(tokenNovo));
+    }
+
+    @Test
+    void validateToken_DeveRejeitarToken_QuandoChaveForRemovida() {
+        // GIVEN
+        TokenService tokenService = new TokenService("segredo-original", "v1", "");
+        String tokenAntigo = tokenService.generateToken(criarUsuario());
+        tokenService.atualizarChaves("v2", Map.of("v2", "segredo-novo", "v1", "segredo-original"));
+
+        // WHEN: a chave anterior sai do conjunto
+        tokenService.atualizarChaves("v2", Map.of("v2", "segredo-novo"));
+
+        // THEN
+        assertEquals("", tokenService.validateToken(tokenAntigo));
+    }
+
+    @Test
+    void validateTokenClaims_DeveRetornarUsuario_QuandoTokenForAssinadoComChaveAnterior() {
+        // GIVEN: token emitido por uma instância que ainda usava a chave "v0"
+        String tokenDeOutraChave = new TokenService("segredo-antigo", "v0", "").generateToken(criarUsuario());
+        TokenService tokenService = new TokenService("segredo-atual", "v1", "v0:segredo-antigo");
+
+        // WHEN
+        UsuarioToken usuario = tokenService.validateTokenClaims(tokenDeOutraChave);
+
+        // THEN
+        assertNotNull(usuario);
+        assertEquals("usuario-1", usuario.id());
+        assertEquals("Teste", usuario.name());
+    }
+
+    @Test
+    void validateTokenClaims_DeveMontarPrincipalDasClaims_QuandoTokenForValido() {
+        // GIVEN
+        TokenService tokenService = new TokenService("segredo", "v1", "");
+        String token = tokenService.generateToken(criarUsuario());
+
+        // WHEN
+        UsuarioToken usuario = tokenService.validateTokenClaims(token);
+
+        // THEN
+        assertEquals(new UsuarioToken("usuario-1", "teste@email.com", "Teste"), usuario);
+    }
+
+    @Test
+    void validateTokenClaims_DeveRetornarNull_QuandoTokenEstiverExpirado() {
+        // GIVEN
+        TokenService tokenService = new TokenService("segredo", "v1", "");
+        String token = JWT.create()
+                .withIssuer("financeiro")
+                .withKeyId("v1")
+                .withSubject("teste@email.com")
+                .withClaim("id", "usuario-1")
+                .withExpiresAt(Instant.now().minusSeconds(60))
+                .sign(Algorithm.HMAC256("segredo"));
+
+        // WHEN & THEN
+        assertNull(tokenService.validateTokenClaims(token));
+    }
+
+    @Test
+    void validateTokenClaims_DeveRetornarNull_QuandoAssinaturaNaoConferir() {
+        // GIVEN: mesmo kid, segredo diferente
+        String token = new TokenService("outro-segredo", "v1", "").generateToken(criarUsuario());
+        TokenService tokenService = new TokenService("segredo", "v1", "");
+
+        // WHEN & THEN
+        assertNull(tokenService.validateTokenClaims(token));
+    }
+
+    @Test
+    void validateTokenClaims_DeveRetornarNull_QuandoClaimIdEstiverAusente() {
+        // GIVEN: token bem assinado, mas sem o id do usuário
+        TokenService tokenService = new TokenService("segredo", "v1", "");
+        String token = JWT.create()
+                .withIssuer("financeiro")
+                .withKeyId("v1")
+                .withSubject("teste@email.com")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256("segredo"));
+
+        // WHEN & THEN
+        assertNull(tokenService.validateTokenClaims(token));
+    }
+}
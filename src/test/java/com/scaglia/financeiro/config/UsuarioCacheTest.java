@@ -0,0 +1,84 @@
+package com.scaglia.financeiro.config;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.model.User;
+import com.scaglia.financeiro.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class UsuarioCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UsuarioCache usuarioCache;
+
+    @BeforeEach
+    void setUp() {
+        usuarioCache = new UsuarioCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void buscarPorEmail_DeveConsultarBancoApenasUmaVez_QuandoUsuarioJaEstaNoCache() {
+        // GIVEN
+        User user = new User();
+        user.setId("usuario-1");
+        user.setEmail("teste@email.com");
+        when(userRepository.findByEmail("teste@email.com")).thenReturn(Optional.of(user));
+
+        // WHEN: duas requisições do mesmo usuário
+        usuarioCache.buscarPorEmail("teste@email.com");
+        Optional<User> resultado = usuarioCache.buscarPorEmail("teste@email.com");
+
+        // THEN
+        assertTrue(resultado.isPresent());
+        verify(userRepository, times(1)).findByEmail("teste@email.com");
+    }
+
+    @Test
+    void remover_DeveForcarNovaConsulta_QuandoUsuarioForAlterado() {
+        // GIVEN
+        User user = new User();
+        user.setId("usuario-1");
+        user.setEmail("teste@email.com");
+        when(userRepository.findByEmail("teste@email.com")).thenReturn(Optional.of(user));
+        usuarioCache.buscarPorEmail("teste@email.com");
+
+        // WHEN: fora de transação a remoção é imediata
+        usuarioCache.remover(user);
+        usuarioCache.buscarPorEmail("teste@email.com");
+
+        // THEN
+        verify(userRepository, times(2)).findByEmail("teste@email.com");
+    }
+
+    @Test
+    void remover_DeveDescartarEntradaDoEmailAnterior_QuandoEmailForAlterado() {
+        // GIVEN: usuário em cache pelo email antigo
+        User antigo = new User();
+        antigo.setId("usuario-1");
+        antigo.setEmail("antigo@email.com");
+        when(userRepository.findByEmail("antigo@email.com")).thenReturn(Optional.of(antigo));
+        usuarioCache.buscarPorEmail("antigo@email.com");
+
+        // WHEN: o listener recebe o estado novo (email já alterado)
+        User alterado = new User();
+        alterado.setId("usuario-1");
+        alterado.setEmail("novo@email.com");
+        usuarioCache.remover(alterado);
+        when(userRepository.findByEmail("antigo@email.com")).thenReturn(Optional.empty());
+
+        // THEN: o token antigo não autentica mais a partir do cache
+        assertTrue(usuarioCache.buscarPorEmail("antigo@email.com").isEmpty());
+    }
+}
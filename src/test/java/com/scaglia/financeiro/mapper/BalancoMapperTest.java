@@ -0,0 +1,42 @@
+package com.scaglia.financeiro.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.dto.SerieRelatorioDTO;
+import com.scaglia.financeiro.dto.TotalMensalCategoriaDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+class BalancoMapperTest {
+
+    // Valores saem sempre com escala 2, inclusive os meses sem movimentação
+    private static final BigDecimal ZERO = new BigDecimal("0.00");
+
+    private final BalancoMapper balancoMapper = new BalancoMapper();
+
+    @Test
+    void toSerieDTO_DevePreencherMesesSemMovimentacaoComZero_EAcumularPorCategoria() {
+        // GIVEN: movimentações em janeiro e março; fevereiro vazio
+        List<TotalMensalCategoriaDTO> totais = List.of(
+                new TotalMensalCategoriaDTO(2025, 1, TipoMovimentacao.RECEITA, "Salário", new BigDecimal("5000.00")),
+                new TotalMensalCategoriaDTO(2025, 1, TipoMovimentacao.DESPESA, "Moradia", new BigDecimal("1800.00")),
+                new TotalMensalCategoriaDTO(2025, 3, TipoMovimentacao.DESPESA, "Moradia", new BigDecimal("1800.00")),
+                new TotalMensalCategoriaDTO(2025, 3, TipoMovimentacao.DESPESA, "Mercado", new BigDecimal("700.00"))
+        );
+
+        // WHEN
+        SerieRelatorioDTO serie = balancoMapper.toSerieDTO(YearMonth.of(2025, 1), YearMonth.of(2025, 3), totais);
+
+        // THEN
+        assertEquals(List.of("2025-01", "2025-02", "2025-03"), serie.getMeses());
+        assertEquals(List.of(new BigDecimal("5000.00"), ZERO, ZERO), serie.getReceitas());
+        assertEquals(List.of(new BigDecimal("1800.00"), ZERO, new BigDecimal("2500.00")), serie.getDespesas());
+        assertEquals(new BigDecimal("-2500.00"), serie.getSaldo().get(2));
+        assertEquals(List.of(ZERO, ZERO, new BigDecimal("700.00")), serie.getDespesasPorCategoria().get("Mercado"));
+        assertEquals(new BigDecimal("700.00"), serie.getSaldoPeriodo());
+    }
+}
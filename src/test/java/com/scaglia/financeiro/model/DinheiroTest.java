@@ -0,0 +1,37 @@
+package com.scaglia.financeiro.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+class DinheiroTest {
+
+    @Test
+    void centavos_DeveConverterSemPerda_QuandoValorTiverAteDuasCasas() {
+        assertEquals(150_000L, Dinheiro.centavos(new BigDecimal("1500.00")));
+        assertEquals(150_000L, Dinheiro.centavos(new BigDecimal("1500")));
+        assertEquals(-5L, Dinheiro.centavos(new BigDecimal("-0.05")));
+        assertEquals(new BigDecimal("1500.00"), Dinheiro.reais(150_000L));
+    }
+
+    @Test
+    void centavos_DeveLancarExcecao_QuandoValorTiverMaisDeDuasCasas() {
+        assertThrows(ArithmeticException.class, () -> Dinheiro.centavos(new BigDecimal("10.005")));
+    }
+
+    @Test
+    void somar_DeveLancarExcecao_QuandoAcumuladorEstourarLong() {
+        assertEquals(250L, Dinheiro.somar(100L, 150L));
+        assertEquals(-50L, Dinheiro.subtrair(100L, 150L));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.somar(Long.MAX_VALUE, 1L));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.subtrair(Long.MIN_VALUE, 1L));
+    }
+
+    @Test
+    void centavos_DeveCaberEmLong_NoMaiorValorAceitoPelosDTOs() {
+        // @Digits(integer = 15, fraction = 2): 999.999.999.999.999,99
+        assertEquals(99_999_999_999_999_999L, Dinheiro.centavos(new BigDecimal("999999999999999.99")));
+    }
+}
@@ -0,0 +1,58 @@
+package com.scaglia.financeiro.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * O upsert do resumo mensal (INSERT ... ON CONFLICT DO UPDATE) só roda no PostgreSQL.
+ */
+@TestePostgreSql
+class BalancoMensalCategoriaRepositoryTest {
+
+    @Autowired
+    private BalancoMensalCategoriaRepository balancoMensalCategoriaRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private EntidadesDeTeste entidades;
+
+    @BeforeEach
+    void setUp() {
+        entidades = new EntidadesDeTeste(entityManager);
+    }
+
+    @Test
+    void somarAoTotal_DeveCriarALinhaEDepoisSomar() {
+        // GIVEN
+        User usuario = entidades.usuario("resumo@email.com");
+        Categoria categoria = entidades.categoria("Salário", TipoMovimentacao.RECEITA);
+
+        // WHEN: primeira variação cria a linha, a segunda soma (e uma negativa desconta)
+        balancoMensalCategoriaRepository.somarAoTotal(usuario.getId(), "RECEITA", categoria.getId(), 2025, 3, new BigDecimal("100.00"));
+        balancoMensalCategoriaRepository.somarAoTotal(usuario.getId(), "RECEITA", categoria.getId(), 2025, 3, new BigDecimal("50.00"));
+        balancoMensalCategoriaRepository.somarAoTotal(usuario.getId(), "RECEITA", categoria.getId(), 2025, 3, new BigDecimal("-30.00"));
+
+        // THEN: uma única linha com a soma
+        MapSqlParameterSource params = new MapSqlParameterSource("usuarioId", usuario.getId());
+        List<BigDecimal> totais = jdbcTemplate.queryForList(
+                "SELECT total FROM balanco_mensal_categoria WHERE usuario_id = :usuarioId AND ano = 2025 AND mes = 3",
+                params, BigDecimal.class);
+        assertEquals(List.of(new BigDecimal("120.00")), totais);
+    }
+}
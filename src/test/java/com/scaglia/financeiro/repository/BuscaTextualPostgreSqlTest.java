@@ -0,0 +1,109 @@
+package com.scaglia.financeiro.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.dto.ResultadoBuscaDTO;
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Busca textual (tsvector, pg_trgm e ILIKE): só existe no PostgreSQL.
+ */
+@TestePostgreSql
+@Import(MovimentacaoRepository.class)
+class BuscaTextualPostgreSqlTest {
+
+    private static final LocalDate DATA = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private MovimentacaoRepository movimentacaoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private EntidadesDeTeste entidades;
+    private User usuario;
+    private Categoria moradia;
+    private Categoria salario;
+
+    @BeforeEach
+    void setUp() {
+        entidades = new EntidadesDeTeste(entityManager);
+        usuario = entidades.usuario("busca@email.com");
+        moradia = entidades.categoria("Moradia", TipoMovimentacao.DESPESA);
+        salario = entidades.categoria("Salário", TipoMovimentacao.RECEITA);
+    }
+
+    @Test
+    void buscarPorTexto_DeveOrdenarPorRelevancia_EEncontrarComErroDeDigitacao() {
+        // GIVEN: a descrição exata, uma descrição longa que cita o termo e uma sem relação
+        entidades.despesa(usuario, moradia, DATA, "1500.00",
+                "Pagamento do aluguel do apartamento da praia em parcelas", NaturezaMovimentacao.FIXA);
+        entidades.receita(usuario, salario, DATA.minusDays(1), "800.00", "Aluguel", NaturezaMovimentacao.FIXA);
+        entidades.despesa(usuario, moradia, DATA, "90.00", "Conta de luz", NaturezaMovimentacao.FIXA);
+
+        // WHEN: termo correto e com erro de digitação
+        Page<ResultadoBuscaDTO> correto = movimentacaoRepository.buscarPorTexto(usuario.getId(), null, "aluguel", PageRequest.of(0, 10));
+        Page<ResultadoBuscaDTO> comErro = movimentacaoRepository.buscarPorTexto(usuario.getId(), null, "alugel", PageRequest.of(0, 10));
+
+        // THEN: a descrição exata vem antes da que só cita o termo, mesmo sendo mais antiga
+        assertEquals(List.of("Aluguel", "Pagamento do aluguel do apartamento da praia em parcelas"), descricoes(correto));
+        assertTrue(correto.getContent().get(0).relevancia() > correto.getContent().get(1).relevancia());
+        assertEquals(2, correto.getTotalElements());
+        // E o trigrama encontra a descrição curta apesar do erro
+        assertEquals("Aluguel", comErro.getContent().get(0).descricao());
+    }
+
+    @Test
+    void buscarPorTexto_DeveTratarPercentualESublinhadoComoTexto() {
+        // GIVEN: descrições que só casariam se % e _ fossem curingas do ILIKE
+        entidades.despesa(usuario, moradia, DATA, "10.00", "Cupom de 50% na farmácia", NaturezaMovimentacao.VARIAVEL);
+        entidades.despesa(usuario, moradia, DATA, "10.00", "Compra de 500 parafusos e pregos na loja de materiais",
+                NaturezaMovimentacao.VARIAVEL);
+        entidades.despesa(usuario, moradia, DATA, "10.00", "Arquivo nf_marco", NaturezaMovimentacao.VARIAVEL);
+        entidades.despesa(usuario, moradia, DATA, "10.00", "Reembolso de despesas de viagem conforme nfxmarco anexada",
+                NaturezaMovimentacao.VARIAVEL);
+
+        // WHEN
+        Page<ResultadoBuscaDTO> percentual = movimentacaoRepository.buscarPorTexto(
+                usuario.getId(), TipoMovimentacao.DESPESA, "50%", PageRequest.of(0, 10));
+        Page<ResultadoBuscaDTO> sublinhado = movimentacaoRepository.buscarPorTexto(
+                usuario.getId(), TipoMovimentacao.DESPESA, "nf_marco", PageRequest.of(0, 10));
+
+        // THEN: só o texto literal
+        assertEquals(List.of("Cupom de 50% na farmácia"), descricoes(percentual));
+        assertEquals(List.of("Arquivo nf_marco"), descricoes(sublinhado));
+    }
+
+    @Test
+    void buscarPorTexto_DeveManterOTotal_QuandoPaginaEstiverAlemDoFim() {
+        // GIVEN: três resultados
+        for (int dia = 1; dia <= 3; dia++) {
+            entidades.despesa(usuario, moradia, DATA.withDayOfMonth(dia), "100.00", "Condomínio", NaturezaMovimentacao.FIXA);
+        }
+
+        // WHEN: página 5 de tamanho 2
+        Page<ResultadoBuscaDTO> pagina = movimentacaoRepository.buscarPorTexto(
+                usuario.getId(), null, "condomínio", PageRequest.of(5, 2));
+
+        // THEN
+        assertTrue(pagina.getContent().isEmpty());
+        assertEquals(3, pagina.getTotalElements());
+    }
+
+    private static List<String> descricoes(Page<ResultadoBuscaDTO> pagina) {
+        return pagina.getContent().stream().map(ResultadoBuscaDTO::descricao).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.scaglia.financeiro.repository;
+
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.AbstractAuditEntity;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.Despesa;
+import com.scaglia.financeiro.model.Receita;
+import com.scaglia.financeiro.model.Recorrencia;
+import com.scaglia.financeiro.model.User;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Cria e persiste (com flush) as entidades dos testes de repositório, com os campos de auditoria preenchidos.
+ */
+class EntidadesDeTeste {
+
+    private final TestEntityManager entityManager;
+
+    EntidadesDeTeste(TestEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    User usuario(String email) {
+        User usuario = new User();
+        usuario.setName("Teste");
+        usuario.setEmail(email);
+        usuario.setPassword("123456");
+        preencherAuditoria(usuario);
+        return entityManager.persistFlushFind(usuario);
+    }
+
+    Categoria categoria(String nome, TipoMovimentacao tipo) {
+        Categoria categoria = new Categoria();
+        categoria.setNome(nome);
+        categoria.setTipo(tipo);
+        preencherAuditoria(categoria);
+        return entityManager.persistFlushFind(categoria);
+    }
+
+    Receita receita(User usuario, Categoria categoria, LocalDate data, String valor) {
+        return receita(usuario, categoria, data, valor, "Receita " + data, NaturezaMovimentacao.VARIAVEL);
+    }
+
+    Receita receita(User usuario, Categoria categoria, LocalDate data, String valor, String descricao,
+                    NaturezaMovimentacao natureza) {
+        Receita receita = new Receita();
+        receita.setDescricao(descricao);
+        receita.setValor(new BigDecimal(valor));
+        receita.setData(data);
+        receita.setNatureza(natureza);
+        receita.setCategoria(categoria);
+        receita.setUsuario(usuario);
+        preencherAuditoria(receita);
+        return entityManager.persistFlushFind(receita);
+    }
+
+    Despesa despesa(User usuario, Categoria categoria, LocalDate data, String valor) {
+        return despesa(usuario, categoria, data, valor, "Despesa " + data, NaturezaMovimentacao.VARIAVEL);
+    }
+
+    Despesa despesa(User usuario, Categoria categoria, LocalDate data, String valor, String descricao,
+                    NaturezaMovimentacao natureza) {
+        Despesa despesa = new Despesa();
+        despesa.setDescricao(descricao);
+        despesa.setValor(new BigDecimal(valor));
+        despesa.setData(data);
+        despesa.setNatureza(natureza);
+        despesa.setCategoria(categoria);
+        despesa.setUsuario(usuario);
+        preencherAuditoria(despesa);
+        return entityManager.persistFlushFind(despesa);
+    }
+
+    Recorrencia recorrencia(User usuario, Categoria categoria, LocalDate dataInicio, String valor) {
+        Recorrencia recorrencia = new Recorrencia();
+        recorrencia.setUsuario(usuario);
+        recorrencia.setTipo(categoria.getTipo());
+        recorrencia.setDescricao(categoria.getNome());
+        recorrencia.setValor(new BigDecimal(valor));
+        recorrencia.setCategoria(categoria);
+        recorrencia.setDiaDoMes(dataInicio.getDayOfMonth());
+        recorrencia.setDataInicio(dataInicio);
+        recorrencia.setProximaOcorrencia(dataInicio);
+        recorrencia.setAtiva(true);
+        preencherAuditoria(recorrencia);
+        return entityManager.persistFlushFind(recorrencia);
+    }
+
+    static void preencherAuditoria(AbstractAuditEntity entidade) {
+        Instant agora = Instant.now();
+        entidade.setCreatedAt(agora);
+        entidade.setUpdatedAt(agora);
+        entidade.setCreatedBy("sistema");
+        entidade.setUpdatedBy("sistema");
+    }
+}
@@ -0,0 +1,163 @@
+package com.scaglia.financeiro.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.dto.CursorExtratoDTO;
+import com.scaglia.financeiro.dto.LancamentoExtratoDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.Despesa;
+import com.scaglia.financeiro.model.Receita;
+import com.scaglia.financeiro.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extrato paginado por keyset com saldo acumulado: o saldo de abertura de cada página vem do resumo mensal
+ * (meses fechados) mais o mês parcial. Usa comparação de linha e funções de janela do PostgreSQL.
+ */
+@TestePostgreSql
+@Import(MovimentacaoRepository.class)
+class ExtratoPostgreSqlTest {
+
+    @Autowired
+    private MovimentacaoRepository movimentacaoRepository;
+
+    @Autowired
+    private BalancoMensalCategoriaRepository balancoMensalCategoriaRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private EntidadesDeTeste entidades;
+    private User usuario;
+    private Categoria salario;
+    private Categoria mercado;
+
+    @BeforeEach
+    void setUp() {
+        entidades = new EntidadesDeTeste(entityManager);
+        usuario = entidades.usuario("extrato@email.com");
+        salario = entidades.categoria("Salário", TipoMovimentacao.RECEITA);
+        mercado = entidades.categoria("Mercado", TipoMovimentacao.DESPESA);
+    }
+
+    @Test
+    void buscarExtrato_DeveAbrirAPaginaComOResumoMaisOMesParcial_QuandoAPaginaCruzarOMes() {
+        // GIVEN: janeiro fechado no resumo (saldo 800), fevereiro e março linha a linha
+        receita(LocalDate.of(2025, 1, 5), "1000.00");
+        despesa(LocalDate.of(2025, 1, 20), "200.00");
+        despesa(LocalDate.of(2025, 2, 3), "100.00");
+        receita(LocalDate.of(2025, 2, 10), "50.00");
+        despesa(LocalDate.of(2025, 2, 25), "30.00");
+        receita(LocalDate.of(2025, 3, 1), "500.00");
+        despesa(LocalDate.of(2025, 3, 15), "70.00");
+
+        // WHEN: a primeira página (3 linhas) termina em 25/02
+        List<LancamentoExtratoDTO> pagina = movimentacaoRepository.buscarExtrato(usuario.getId(), null, null, null, 3);
+
+        // THEN: abertura = janeiro pelo resumo (800) + fevereiro antes de 25/02 (-100 + 50) = 750
+        assertEquals(List.of(LocalDate.of(2025, 3, 15), LocalDate.of(2025, 3, 1), LocalDate.of(2025, 2, 25)),
+                pagina.stream().map(LancamentoExtratoDTO::data).toList());
+        assertEquals(List.of(new BigDecimal("1150.00"), new BigDecimal("1220.00"), new BigDecimal("720.00")), saldos(pagina));
+    }
+
+    @Test
+    void buscarExtrato_DeveDesempatarPeloTipo_QuandoReceitaEDespesaTiveremMesmaDataEId() {
+        // GIVEN: receita e despesa no mesmo dia com o mesmo id (cada tabela tem sua sequence)
+        LocalDate dia = LocalDate.of(2025, 4, 10);
+        Receita receita = receita(dia, "300.00");
+        Despesa despesa = despesa(dia, "120.00");
+        jdbcTemplate.update("UPDATE despesas SET id = :novo WHERE id = :atual", new MapSqlParameterSource()
+                .addValue("novo", receita.getId())
+                .addValue("atual", despesa.getId()));
+
+        // WHEN: uma linha por página
+        List<List<LancamentoExtratoDTO>> paginas = percorrer(1);
+
+        // THEN: a receita vem primeiro (tipo decrescente) e a despesa não se perde nem se repete
+        assertEquals(2, paginas.size());
+        LancamentoExtratoDTO primeira = paginas.get(0).get(0);
+        LancamentoExtratoDTO segunda = paginas.get(1).get(0);
+        assertEquals(TipoMovimentacao.RECEITA, primeira.tipo());
+        assertEquals(TipoMovimentacao.DESPESA, segunda.tipo());
+        assertEquals(primeira.id(), segunda.id());
+        assertEquals(new BigDecimal("180.00"), primeira.saldo());
+        assertEquals(new BigDecimal("-120.00"), segunda.saldo());
+    }
+
+    @Test
+    void buscarExtrato_DeveContinuarOSaldoEntrePaginas() {
+        // GIVEN: movimentações em três meses, algumas no mesmo dia
+        receita(LocalDate.of(2025, 1, 5), "1000.00");
+        despesa(LocalDate.of(2025, 1, 5), "40.00");
+        despesa(LocalDate.of(2025, 1, 31), "200.00");
+        receita(LocalDate.of(2025, 2, 1), "75.50");
+        despesa(LocalDate.of(2025, 2, 14), "99.90");
+        despesa(LocalDate.of(2025, 2, 14), "10.00");
+        receita(LocalDate.of(2025, 3, 3), "500.00");
+        despesa(LocalDate.of(2025, 3, 20), "310.00");
+
+        // WHEN: páginas de 3 linhas e tudo em uma página só
+        List<List<LancamentoExtratoDTO>> paginas = percorrer(3);
+        List<LancamentoExtratoDTO> completo = movimentacaoRepository.buscarExtrato(usuario.getId(), null, null, null, 100);
+
+        // THEN: o saldo antes da última linha da página N é o saldo da primeira linha da página N+1
+        for (int i = 0; i + 1 < paginas.size(); i++) {
+            LancamentoExtratoDTO ultima = paginas.get(i).get(paginas.get(i).size() - 1);
+            assertEquals(ultima.saldo().subtract(sinal(ultima)), paginas.get(i + 1).get(0).saldo());
+        }
+        // E a paginação entrega exatamente as linhas e saldos da consulta sem cortes
+        assertEquals(saldos(completo), saldos(paginas.stream().flatMap(List::stream).toList()));
+        assertEquals(new BigDecimal("915.60"), completo.get(0).saldo());
+    }
+
+    private Receita receita(LocalDate data, String valor) {
+        registrarNoResumo(TipoMovimentacao.RECEITA, salario, data, valor);
+        return entidades.receita(usuario, salario, data, valor);
+    }
+
+    private Despesa despesa(LocalDate data, String valor) {
+        registrarNoResumo(TipoMovimentacao.DESPESA, mercado, data, valor);
+        return entidades.despesa(usuario, mercado, data, valor);
+    }
+
+    // Mantém o resumo mensal coerente com as movimentações, como o BalancoMensalService faz na aplicação
+    private void registrarNoResumo(TipoMovimentacao tipo, Categoria categoria, LocalDate data, String valor) {
+        balancoMensalCategoriaRepository.somarAoTotal(usuario.getId(), tipo.name(), categoria.getId(),
+                data.getYear(), data.getMonthValue(), new BigDecimal(valor));
+    }
+
+    private List<List<LancamentoExtratoDTO>> percorrer(int limite) {
+        List<List<LancamentoExtratoDTO>> paginas = new ArrayList<>();
+        CursorExtratoDTO posicao = null;
+        List<LancamentoExtratoDTO> pagina;
+        while (!(pagina = movimentacaoRepository.buscarExtrato(usuario.getId(), null, null, posicao, limite)).isEmpty()) {
+            paginas.add(pagina);
+            LancamentoExtratoDTO ultima = pagina.get(pagina.size() - 1);
+            posicao = new CursorExtratoDTO(ultima.data(), ultima.tipo(), ultima.id());
+        }
+        return paginas;
+    }
+
+    private static BigDecimal sinal(LancamentoExtratoDTO lancamento) {
+        return lancamento.tipo() == TipoMovimentacao.RECEITA ? lancamento.valor() : lancamento.valor().negate();
+    }
+
+    private static List<BigDecimal> saldos(List<LancamentoExtratoDTO> lancamentos) {
+        return lancamentos.stream().map(LancamentoExtratoDTO::saldo).toList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.scaglia.financeiro.repository;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.dto.ResultadoBuscaDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * A busca usa funções do PostgreSQL (tsvector, pg_trgm) que o H2 não tem: aqui só a montagem da página é verificada.
+ */
+@ExtendWith(MockitoExtension.class)
+class MovimentacaoRepositoryBuscaTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private MovimentacaoRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // O construtor monta o template da exportação a partir do DataSource
+        when(jdbcTemplate.getJdbcTemplate()).thenReturn(new JdbcTemplate(mock(DataSource.class)));
+        repository = new MovimentacaoRepository(jdbcTemplate);
+    }
+
+    @Test
+    void buscarPorTexto_DeveContarSeparadamente_QuandoPaginaEstiverAlemDoFim() {
+        // GIVEN: a página 5 não tem linhas, mas a busca tem 42 resultados
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(contains("SELECT COUNT(*)"), any(SqlParameterSource.class), eq(Long.class)))
+                .thenReturn(42L);
+
+        // WHEN
+        Page<ResultadoBuscaDTO> pagina = repository.buscarPorTexto("usuario-1", null, "aluguel", PageRequest.of(5, 20));
+
+        // THEN: o total continua sendo o da busca, não 0
+        assertTrue(pagina.getContent().isEmpty());
+        assertEquals(42, pagina.getTotalElements());
+    }
+
+    @Test
+    void buscarPorTexto_NaoDeveContarSeparadamente_QuandoPrimeiraPaginaEstiverVazia() {
+        // GIVEN
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of());
+
+        // WHEN
+        Page<ResultadoBuscaDTO> pagina = repository.buscarPorTexto("usuario-1", null, "aluguel", PageRequest.of(0, 20));
+
+        // THEN: sem resultados na primeira página, o total é mesmo 0
+        assertEquals(0, pagina.getTotalElements());
+        verify(jdbcTemplate, never()).queryForObject(anyString(), any(SqlParameterSource.class), eq(Long.class));
+    }
+}
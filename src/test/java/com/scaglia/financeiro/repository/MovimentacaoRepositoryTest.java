@@ -0,0 +1,140 @@
+package com.scaglia.financeiro.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.dto.TotalCategoriaDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(MovimentacaoRepository.class)
+class MovimentacaoRepositoryTest {
+
+    @Autowired
+    private MovimentacaoRepository movimentacaoRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private EntidadesDeTeste entidades;
+
+    @BeforeEach
+    void setUp() {
+        entidades = new EntidadesDeTeste(entityManager);
+    }
+
+    /**
+     * Regressão de plano de execução: as agregações por período do repositório devem usar os índices
+     * (usuario_id, data) e nunca voltar a percorrer a tabela inteira (ex.: ao reintroduzir YEAR()/MONTH() no filtro).
+     * Os testes rodam no H2, então o marcador de varredura completa é o tableScan do H2.
+     */
+    @ParameterizedTest
+    @MethodSource("agregacoesPorTabela")
+    void agregacoesPorPeriodo_DevemUsarIndice_SemVarreduraCompleta(String sql, String tabela) {
+        String plano = explicar(sql);
+
+        assertFalse(plano.toLowerCase().contains(tabela + ".tablescan"), plano);
+    }
+
+    static Stream<Arguments> agregacoesPorTabela() {
+        return Stream.of(
+                Arguments.of(MovimentacaoRepository.SQL_TOTAIS_POR_CATEGORIA, "receitas"),
+                Arguments.of(MovimentacaoRepository.SQL_TOTAIS_POR_CATEGORIA, "despesas"),
+                Arguments.of(MovimentacaoRepository.SQL_TOTAIS_POR_MES_E_CATEGORIA, "receitas"),
+                Arguments.of(MovimentacaoRepository.SQL_TOTAIS_POR_MES_E_CATEGORIA, "despesas")
+        );
+    }
+
+    @Test
+    void somarPorCategoria_DeveConsiderarIntervaloSemiAberto() {
+        // GIVEN: movimentações no primeiro dia do mês, no último e no primeiro dia do mês seguinte
+        User usuario = entidades.usuario("periodo@email.com");
+        Categoria salario = entidades.categoria("Salário", TipoMovimentacao.RECEITA);
+        Categoria mercado = entidades.categoria("Mercado", TipoMovimentacao.DESPESA);
+        entidades.receita(usuario, salario, LocalDate.of(2024, 3, 1), "1000.00");
+        entidades.receita(usuario, salario, LocalDate.of(2024, 4, 1), "9999.00");
+        entidades.despesa(usuario, mercado, LocalDate.of(2024, 3, 31), "200.00");
+        entidades.despesa(usuario, mercado, LocalDate.of(2024, 4, 1), "9999.00");
+
+        // WHEN: [2024-03-01, 2024-04-01)
+        List<TotalCategoriaDTO> totais = movimentacaoRepository.somarPorCategoria(
+                usuario.getId(), LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1));
+
+        // THEN: o início entra, o fim não
+        assertEquals(2, totais.size());
+        assertTrue(totais.contains(new TotalCategoriaDTO(TipoMovimentacao.RECEITA, "Salário", new BigDecimal("1000.00"))));
+        assertTrue(totais.contains(new TotalCategoriaDTO(TipoMovimentacao.DESPESA, "Mercado", new BigDecimal("200.00"))));
+    }
+
+    @Test
+    void somarPorCategoria_DeveAgruparPorTipoECategoria_SomenteDoUsuario() {
+        // GIVEN: várias movimentações por categoria e uma receita de outro usuário no mesmo período
+        User usuario = entidades.usuario("totais@email.com");
+        User outro = entidades.usuario("outro@email.com");
+        Categoria salario = entidades.categoria("Salário", TipoMovimentacao.RECEITA);
+        Categoria freelance = entidades.categoria("Freelance", TipoMovimentacao.RECEITA);
+        Categoria mercado = entidades.categoria("Mercado", TipoMovimentacao.DESPESA);
+        Categoria moradia = entidades.categoria("Moradia", TipoMovimentacao.DESPESA);
+        entidades.receita(usuario, salario, LocalDate.of(2024, 3, 5), "1000.00");
+        entidades.receita(usuario, salario, LocalDate.of(2024, 3, 20), "500.00");
+        entidades.receita(usuario, freelance, LocalDate.of(2024, 3, 12), "300.00");
+        entidades.receita(outro, salario, LocalDate.of(2024, 3, 5), "7000.00");
+        entidades.despesa(usuario, mercado, LocalDate.of(2024, 3, 2), "200.00");
+        entidades.despesa(usuario, mercado, LocalDate.of(2024, 3, 16), "50.00");
+        entidades.despesa(usuario, moradia, LocalDate.of(2024, 3, 10), "1800.00");
+
+        // WHEN
+        List<TotalCategoriaDTO> totais = movimentacaoRepository.somarPorCategoria(
+                usuario.getId(), LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1));
+
+        // THEN: uma linha por tipo/categoria
+        assertEquals(4, totais.size());
+        assertTrue(totais.containsAll(List.of(
+                new TotalCategoriaDTO(TipoMovimentacao.RECEITA, "Salário", new BigDecimal("1500.00")),
+                new TotalCategoriaDTO(TipoMovimentacao.RECEITA, "Freelance", new BigDecimal("300.00")),
+                new TotalCategoriaDTO(TipoMovimentacao.DESPESA, "Mercado", new BigDecimal("250.00")),
+                new TotalCategoriaDTO(TipoMovimentacao.DESPESA, "Moradia", new BigDecimal("1800.00"))
+        )));
+
+        // E os totais gerais (soma das categorias, como no RelatorioService) batem com as movimentações
+        assertEquals(new BigDecimal("1800.00"), somarTipo(totais, TipoMovimentacao.RECEITA));
+        assertEquals(new BigDecimal("2050.00"), somarTipo(totais, TipoMovimentacao.DESPESA));
+    }
+
+    private static BigDecimal somarTipo(List<TotalCategoriaDTO> totais, TipoMovimentacao tipo) {
+        return totais.stream()
+                .filter(total -> total.tipo() == tipo)
+                .map(TotalCategoriaDTO::total)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private String explicar(String sql) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarioId", "usuario-1")
+                .addValue("inicio", LocalDate.of(2024, 3, 1))
+                .addValue("fim", LocalDate.of(2024, 4, 1));
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, params, String.class));
+    }
+}
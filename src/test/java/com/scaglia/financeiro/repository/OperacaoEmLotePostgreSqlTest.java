@@ -0,0 +1,165 @@
+package com.scaglia.financeiro.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+import com.scaglia.financeiro.config.CategoriaCache;
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.dto.ExclusaoEmLoteRequestDTO;
+import com.scaglia.financeiro.dto.OperacaoEmLoteResponseDTO;
+import com.scaglia.financeiro.dto.RecategorizacaoRequestDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.Despesa;
+import com.scaglia.financeiro.model.User;
+import com.scaglia.financeiro.service.BalancoMensalService;
+import com.scaglia.financeiro.service.OperacaoEmLoteService;
+import com.scaglia.financeiro.service.UsuarioAutenticadoService;
+import com.scaglia.financeiro.service.VersaoDadosService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Exclusão e recategorização em lote (DELETE/UPDATE ... RETURNING em CTE) com o ajuste do resumo mensal.
+ * O H2 não executa DML dentro de CTE, então estes testes rodam só no PostgreSQL.
+ */
+@TestePostgreSql
+@Import({MovimentacaoRepository.class, OperacaoEmLoteService.class, BalancoMensalService.class, VersaoDadosService.class})
+class OperacaoEmLotePostgreSqlTest {
+
+    @Autowired
+    private OperacaoEmLoteService operacaoEmLoteService;
+
+    @Autowired
+    private BalancoMensalService balancoMensalService;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private UsuarioAutenticadoService usuarioAutenticadoService;
+
+    @MockBean
+    private CategoriaCache categoriaCache;
+
+    private User usuario;
+    private User outro;
+    private Categoria mercado;
+    private Categoria feira;
+    private Despesa janeiro1;
+    private Despesa janeiro2;
+    private Despesa fevereiro;
+    private Despesa doOutro;
+
+    @BeforeEach
+    void setUp() {
+        // GIVEN (comum): três despesas do usuário em dois meses e uma de outro usuário na mesma categoria,
+        // já refletidas no resumo mensal
+        EntidadesDeTeste entidades = new EntidadesDeTeste(entityManager);
+        usuario = entidades.usuario("lote@email.com");
+        outro = entidades.usuario("outro-lote@email.com");
+        mercado = entidades.categoria("Mercado", TipoMovimentacao.DESPESA);
+        feira = entidades.categoria("Feira", TipoMovimentacao.DESPESA);
+        janeiro1 = registrar(entidades.despesa(usuario, mercado, LocalDate.of(2025, 1, 10), "100.00"));
+        janeiro2 = registrar(entidades.despesa(usuario, mercado, LocalDate.of(2025, 1, 20), "50.00"));
+        fevereiro = registrar(entidades.despesa(usuario, mercado, LocalDate.of(2025, 2, 5), "30.00"));
+        doOutro = registrar(entidades.despesa(outro, mercado, LocalDate.of(2025, 1, 15), "999.00"));
+
+        when(usuarioAutenticadoService.getUsuarioLogadoId()).thenReturn(usuario.getId());
+    }
+
+    @Test
+    void excluir_DeveRemoverSomenteAsDoUsuario_EDescontarDoResumoPorMes() {
+        // GIVEN: um id de outro usuário entre os informados
+        ExclusaoEmLoteRequestDTO dto = new ExclusaoEmLoteRequestDTO();
+        dto.setIds(List.of(janeiro1.getId(), fevereiro.getId(), doOutro.getId()));
+
+        // WHEN
+        OperacaoEmLoteResponseDTO resposta = operacaoEmLoteService.excluir(TipoMovimentacao.DESPESA, dto);
+
+        // THEN: só as duas do usuário saem; a do outro fica intacta
+        assertEquals(2, resposta.afetadas());
+        assertEquals(List.of(janeiro2.getId(), doOutro.getId()), idsRestantes());
+        assertEquals(new BigDecimal("50.00"), totalDoResumo(usuario, mercado, 1));
+        assertEquals(new BigDecimal("0.00"), totalDoResumo(usuario, mercado, 2));
+        assertEquals(new BigDecimal("999.00"), totalDoResumo(outro, mercado, 1));
+    }
+
+    @Test
+    void excluir_DeveRecusar_QuandoFiltroEstiverVazio() {
+        // GIVEN: sem ids e sem período completo
+        ExclusaoEmLoteRequestDTO vazio = new ExclusaoEmLoteRequestDTO();
+        ExclusaoEmLoteRequestDTO soInicio = new ExclusaoEmLoteRequestDTO();
+        soInicio.setDataInicial(LocalDate.of(2025, 1, 1));
+        soInicio.setCategoriaId(mercado.getId());
+
+        // WHEN & THEN: nada é excluído
+        assertThrows(IllegalArgumentException.class, () -> operacaoEmLoteService.excluir(TipoMovimentacao.DESPESA, vazio));
+        assertThrows(IllegalArgumentException.class, () -> operacaoEmLoteService.excluir(TipoMovimentacao.DESPESA, soInicio));
+        assertEquals(List.of(janeiro1.getId(), janeiro2.getId(), fevereiro.getId(), doOutro.getId()), idsRestantes());
+        assertEquals(new BigDecimal("150.00"), totalDoResumo(usuario, mercado, 1));
+    }
+
+    @Test
+    void recategorizar_DeveMoverSomenteAsDoUsuario_EAjustarAsDuasCategoriasPorMes() {
+        // GIVEN
+        when(categoriaCache.buscarPorId(feira.getId()))
+                .thenReturn(Optional.of(new CategoriaResponseDTO(feira.getId(), "Feira", TipoMovimentacao.DESPESA)));
+        RecategorizacaoRequestDTO dto = new RecategorizacaoRequestDTO();
+        dto.setIds(List.of(janeiro1.getId(), janeiro2.getId(), fevereiro.getId(), doOutro.getId()));
+        dto.setCategoriaId(feira.getId());
+
+        // WHEN: a segunda chamada não encontra nada a mover (já estão na categoria)
+        OperacaoEmLoteResponseDTO resposta = operacaoEmLoteService.recategorizar(TipoMovimentacao.DESPESA, dto);
+        OperacaoEmLoteResponseDTO repetida = operacaoEmLoteService.recategorizar(TipoMovimentacao.DESPESA, dto);
+
+        // THEN: sai da categoria anterior e entra na nova, mês a mês; a do outro usuário continua em Mercado
+        assertEquals(3, resposta.afetadas());
+        assertEquals(0, repetida.afetadas());
+        assertEquals(new BigDecimal("0.00"), totalDoResumo(usuario, mercado, 1));
+        assertEquals(new BigDecimal("0.00"), totalDoResumo(usuario, mercado, 2));
+        assertEquals(new BigDecimal("150.00"), totalDoResumo(usuario, feira, 1));
+        assertEquals(new BigDecimal("30.00"), totalDoResumo(usuario, feira, 2));
+        assertEquals(new BigDecimal("999.00"), totalDoResumo(outro, mercado, 1));
+        assertEquals(mercado.getId(), jdbcTemplate.queryForObject(
+                "SELECT categoria_id FROM despesas WHERE id = :id",
+                new MapSqlParameterSource("id", doOutro.getId()), Long.class));
+    }
+
+    private Despesa registrar(Despesa despesa) {
+        balancoMensalService.registrar(TipoMovimentacao.DESPESA, despesa.getUsuario().getId(), despesa.getCategoria(),
+                despesa.getData(), despesa.getValor());
+        return despesa;
+    }
+
+    private List<Long> idsRestantes() {
+        MapSqlParameterSource params = new MapSqlParameterSource("usuarios", List.of(usuario.getId(), outro.getId()));
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM despesas WHERE usuario_id IN (:usuarios) ORDER BY id", params, Long.class);
+    }
+
+    private BigDecimal totalDoResumo(User dono, Categoria categoria, int mes) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarioId", dono.getId())
+                .addValue("categoriaId", categoria.getId())
+                .addValue("mes", mes);
+        return jdbcTemplate.queryForObject("""
+                SELECT total FROM balanco_mensal_categoria
+                WHERE usuario_id = :usuarioId AND categoria_id = :categoriaId AND ano = 2025 AND mes = :mes
+                """, params, BigDecimal.class);
+    }
+}
@@ -0,0 +1,124 @@
+package com.scaglia.financeiro.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.dto.BaseProjecaoDTO;
+import com.scaglia.financeiro.dto.CompromissoFixoDTO;
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Consultas da projeção de caixa; a dos compromissos fixos usa DISTINCT ON, que só existe no PostgreSQL.
+ */
+@TestePostgreSql
+@Import(MovimentacaoRepository.class)
+class ProjecaoPostgreSqlTest {
+
+    private static final LocalDate INICIO_JANELA = LocalDate.of(2024, 12, 31);
+    private static final LocalDate HOJE = LocalDate.of(2025, 3, 31);
+
+    @Autowired
+    private MovimentacaoRepository movimentacaoRepository;
+
+    @Autowired
+    private BalancoMensalCategoriaRepository balancoMensalCategoriaRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private EntidadesDeTeste entidades;
+    private User usuario;
+    private Categoria salario;
+    private Categoria moradia;
+    private Categoria mercado;
+
+    @BeforeEach
+    void setUp() {
+        entidades = new EntidadesDeTeste(entityManager);
+        usuario = entidades.usuario("projecao@email.com");
+        salario = entidades.categoria("Salário", TipoMovimentacao.RECEITA);
+        moradia = entidades.categoria("Moradia", TipoMovimentacao.DESPESA);
+        mercado = entidades.categoria("Mercado", TipoMovimentacao.DESPESA);
+
+        // Antes da janela, na janela (aluguel reajustado em março, descrição com outra caixa em fevereiro) e depois de hoje
+        despesa(moradia, LocalDate.of(2024, 10, 5), "1400.00", "Aluguel", NaturezaMovimentacao.FIXA);
+        despesa(moradia, LocalDate.of(2025, 1, 5), "1500.00", "Aluguel", NaturezaMovimentacao.FIXA);
+        despesa(moradia, LocalDate.of(2025, 2, 5), "1500.00", "ALUGUEL", NaturezaMovimentacao.FIXA);
+        despesa(moradia, LocalDate.of(2025, 3, 5), "1600.00", "Aluguel", NaturezaMovimentacao.FIXA);
+        receita(salario, LocalDate.of(2025, 2, 28), "5000.00", "Salário", NaturezaMovimentacao.FIXA);
+        receita(salario, LocalDate.of(2025, 3, 28), "5200.00", "Salário", NaturezaMovimentacao.FIXA);
+        despesa(mercado, LocalDate.of(2025, 3, 10), "300.00", "Mercado do mês", NaturezaMovimentacao.VARIAVEL);
+        despesa(moradia, LocalDate.of(2025, 4, 5), "1600.00", "Aluguel", NaturezaMovimentacao.FIXA);
+    }
+
+    @Test
+    void buscarCompromissosFixos_DeveProjetarSomenteAOcorrenciaMaisRecente() {
+        // WHEN
+        List<CompromissoFixoDTO> compromissos = movimentacaoRepository.buscarCompromissosFixos(usuario.getId(), INICIO_JANELA, HOJE)
+                .stream()
+                .sorted(Comparator.comparing(CompromissoFixoDTO::tipo))
+                .toList();
+
+        // THEN: um por (tipo, categoria, descrição), com o valor e a data da última ocorrência até hoje
+        assertEquals(List.of(
+                new CompromissoFixoDTO(TipoMovimentacao.RECEITA, "Salário", salario.getId(), new BigDecimal("5200.00"), LocalDate.of(2025, 3, 28)),
+                new CompromissoFixoDTO(TipoMovimentacao.DESPESA, "Aluguel", moradia.getId(), new BigDecimal("1600.00"), LocalDate.of(2025, 3, 5))
+        ), compromissos);
+    }
+
+    @Test
+    void buscarBaseProjecao_DeveTerOSaldoDoResumoMensalAteHoje() {
+        // WHEN
+        BaseProjecaoDTO base = movimentacaoRepository.buscarBaseProjecao(usuario.getId(), INICIO_JANELA, HOJE);
+
+        // THEN: o saldo é o do resumo até o mês de hoje (abril fica de fora) e a tendência só considera as VARIAVEL da janela
+        assertEquals(saldoDoResumoAte(HOJE), base.saldoAtual());
+        assertEquals(new BigDecimal("3900.00"), base.saldoAtual());
+        assertEquals(new BigDecimal("-300.00"), base.resultadoVariaveis());
+    }
+
+    private void receita(Categoria categoria, LocalDate data, String valor, String descricao, NaturezaMovimentacao natureza) {
+        entidades.receita(usuario, categoria, data, valor, descricao, natureza);
+        registrarNoResumo(TipoMovimentacao.RECEITA, categoria, data, valor);
+    }
+
+    private void despesa(Categoria categoria, LocalDate data, String valor, String descricao, NaturezaMovimentacao natureza) {
+        entidades.despesa(usuario, categoria, data, valor, descricao, natureza);
+        registrarNoResumo(TipoMovimentacao.DESPESA, categoria, data, valor);
+    }
+
+    // Mantém o resumo mensal coerente com as movimentações, como o BalancoMensalService faz na aplicação
+    private void registrarNoResumo(TipoMovimentacao tipo, Categoria categoria, LocalDate data, String valor) {
+        balancoMensalCategoriaRepository.somarAoTotal(usuario.getId(), tipo.name(), categoria.getId(),
+                data.getYear(), data.getMonthValue(), new BigDecimal(valor));
+    }
+
+    private BigDecimal saldoDoResumoAte(LocalDate data) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarioId", usuario.getId())
+                .addValue("ano", data.getYear())
+                .addValue("mes", data.getMonthValue());
+        return jdbcTemplate.queryForObject("""
+                SELECT SUM(CASE WHEN tipo = 'RECEITA' THEN total ELSE -total END)
+                FROM balanco_mensal_categoria
+                WHERE usuario_id = :usuarioId AND (ano, mes) <= (:ano, :mes)
+                """, params, BigDecimal.class);
+    }
+}
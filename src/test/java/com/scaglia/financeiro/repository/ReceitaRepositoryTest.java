@@ -4,16 +4,21 @@ package com.scaglia.financeiro.repository;
 import static org.junit.jupiter.api.Assertions.*;
 
 
+import com.scaglia.financeiro.dto.ReceitaResponseDTO;
 import com.scaglia.financeiro.enums.NaturezaMovimentacao;
 import com.scaglia.financeiro.enums.TipoMovimentacao;
 import com.scaglia.financeiro.model.Categoria;
 import com.scaglia.financeiro.model.Receita;
 import com.scaglia.financeiro.model.User;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
@@ -21,6 +26,8 @@ import org.springframework.test.context.ActiveProfiles;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 
 @DataJpaTest // Configura um banco H2 automaticamente
@@ -33,6 +40,13 @@ class ReceitaRepositoryTest {
     @Autowired
     private TestEntityManager entityManager; // Ajuda a preparar os dados no banco
 
+    private EntidadesDeTeste entidades;
+
+    @BeforeEach
+    void setUp() {
+        entidades = new EntidadesDeTeste(entityManager);
+    }
+
     @Test
     void buscarComFiltros_DeveRetornarReceitas_DentroDoPeriodoInformado() {
         Instant agora = Instant.now();
@@ -77,11 +91,59 @@ class ReceitaRepositoryTest {
         entityManager.flush(); 
 
         // WHEN
-        Page<Receita> resultado = receitaRepository.buscarComFiltros(
+        Page<ReceitaResponseDTO> resultado = receitaRepository.buscarComFiltros(
             usuario.getId(), null, LocalDate.of(2023, 10, 1), LocalDate.of(2023, 10, 31), PageRequest.of(0, 10)
         );
 
         // THEN
         assertEquals(1, resultado.getTotalElements());
+        assertEquals("Salário", resultado.getContent().get(0).getCategoria().getNome());
+    }
+
+    @Test
+    void buscarPorCursor_DeveContinuarDepoisDaUltimaReceita_EmOrdemDecrescente() {
+        // GIVEN: três receitas, duas delas no mesmo dia (desempate pelo id)
+        User usuario = entidades.usuario("cursor@email.com");
+        Categoria cat = entidades.categoria("Freelance", TipoMovimentacao.RECEITA);
+        Receita maisAntiga = entidades.receita(usuario, cat, LocalDate.of(2023, 9, 1), "100.00");
+        Receita mesmoDia1 = entidades.receita(usuario, cat, LocalDate.of(2023, 10, 1), "100.00");
+        Receita mesmoDia2 = entidades.receita(usuario, cat, LocalDate.of(2023, 10, 1), "100.00");
+
+        // WHEN: primeira página com 2 itens e, em seguida, a página a partir do último item
+        List<ReceitaResponseDTO> primeira = receitaRepository.buscarPrimeiraPagina(
+                usuario.getId(), null, null, null, Limit.of(2));
+        ReceitaResponseDTO ultima = primeira.get(1);
+        List<ReceitaResponseDTO> segunda = receitaRepository.buscarPorCursor(
+                usuario.getId(), null, null, null, ultima.getData(), ultima.getId(), Limit.of(2));
+
+        // THEN
+        assertEquals(List.of(mesmoDia2.getId(), mesmoDia1.getId()), primeira.stream().map(ReceitaResponseDTO::getId).toList());
+        assertEquals(List.of(maisAntiga.getId()), segunda.stream().map(ReceitaResponseDTO::getId).toList());
+    }
+
+    @Test
+    void buscarDoUsuario_DeveCarregarReceitaECategoriaEmUmaConsulta_ESomenteParaODono() {
+        // GIVEN
+        User dono = entidades.usuario("dono@email.com");
+        User outro = entidades.usuario("outro@email.com");
+        Categoria cat = entidades.categoria("Salário", TipoMovimentacao.RECEITA);
+        Receita receita = entidades.receita(dono, cat, LocalDate.of(2023, 10, 1), "100.00");
+        entityManager.clear();
+
+        Statistics estatisticas = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+
+        // WHEN: busca e acessa a categoria, como faz o mapper
+        Optional<Receita> encontrada = receitaRepository.buscarDoUsuario(receita.getId(), dono.getId());
+        String nomeCategoria = encontrada.orElseThrow().getCategoria().getNome();
+
+        // THEN: uma única instrução SQL
+        assertEquals("Salário", nomeCategoria);
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+
+        // E para outro usuário a receita simplesmente não existe
+        assertTrue(receitaRepository.buscarDoUsuario(receita.getId(), outro.getId()).isEmpty());
     }
 }
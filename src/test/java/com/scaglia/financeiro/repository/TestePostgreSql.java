@@ -0,0 +1,36 @@
+package com.scaglia.financeiro.repository;
+
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Teste de repositório no PostgreSQL, para o SQL que o H2 não executa (upserts, advisory locks, DISTINCT ON,
+ * tsvector/pg_trgm). Roda apenas com FINANCEIRO_TESTE_POSTGRES_URL apontando para um banco de teste (ex.: o do
+ * docker-compose), migrado pelo Flyway; cada teste desfaz suas alterações.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${FINANCEIRO_TESTE_POSTGRES_URL}",
+        "spring.datasource.hikari.jdbc-url=${FINANCEIRO_TESTE_POSTGRES_URL}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.datasource.username=${FINANCEIRO_TESTE_POSTGRES_USUARIO:postgres}",
+        "spring.datasource.password=${FINANCEIRO_TESTE_POSTGRES_SENHA:123456}",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.flyway.enabled=true"
+})
+@EnabledIfEnvironmentVariable(named = "FINANCEIRO_TESTE_POSTGRES_URL", matches = ".+")
+@interface TestePostgreSql {
+}
@@ -0,0 +1,127 @@
+package com.scaglia.financeiro.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Upserts (INSERT ... ON CONFLICT DO UPDATE) e advisory locks só existem no PostgreSQL; o H2 dos demais testes
+ * não os executa.
+ */
+@TestePostgreSql
+@Import(MaterializacaoRecorrenciaRepository.class)
+class UpsertsPostgreSqlTest {
+
+    @Autowired
+    private BalancoMensalCategoriaRepository balancoMensalCategoriaRepository;
+
+    @Autowired
+    private VersaoDadosUsuarioRepository versaoDadosUsuarioRepository;
+
+    @Autowired
+    private MaterializacaoRecorrenciaRepository materializacaoRecorrenciaRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private EntidadesDeTeste entidades;
+
+    @BeforeEach
+    void setUp() {
+        entidades = new EntidadesDeTeste(entityManager);
+    }
+
+    @Test
+    void materializar_DeveSomarNoResumoEAvancarAVersao_SomenteComAsOcorrenciasInseridas() {
+        // GIVEN: regra desde janeiro; o resumo de janeiro e a versão do usuário já existem
+        User usuario = entidades.usuario("recorrencia@email.com");
+        Categoria categoria = entidades.categoria("Aluguel recebido", TipoMovimentacao.RECEITA);
+        entidades.recorrencia(usuario, categoria, LocalDate.of(2025, 1, 10), "1000.00");
+        balancoMensalCategoriaRepository.somarAoTotal(usuario.getId(), "RECEITA", categoria.getId(), 2025, 1, new BigDecimal("100.00"));
+        versaoDadosUsuarioRepository.incrementar(usuario.getId(), Instant.now());
+        LocalDate hoje = LocalDate.of(2025, 3, 15);
+
+        // WHEN: duas execuções no mesmo dia (a segunda não encontra nada novo)
+        long criadas = materializacaoRecorrenciaRepository.materializar(TipoMovimentacao.RECEITA, List.of(usuario.getId()), hoje);
+        long repetidas = materializacaoRecorrenciaRepository.materializar(TipoMovimentacao.RECEITA, List.of(usuario.getId()), hoje);
+
+        // THEN: janeiro, fevereiro e março; janeiro somado à linha existente
+        assertEquals(3, criadas);
+        assertEquals(0, repetidas);
+        assertEquals(List.of(new BigDecimal("1100.00")), totaisDoResumo(usuario.getId(), 2025, 1));
+        assertEquals(List.of(new BigDecimal("1000.00")), totaisDoResumo(usuario.getId(), 2025, 2));
+        assertEquals(List.of(new BigDecimal("1000.00")), totaisDoResumo(usuario.getId(), 2025, 3));
+        // A versão avança uma vez pela execução que inseriu; a repetida não altera nada
+        entityManager.clear();
+        assertEquals(2L, versaoDadosUsuarioRepository.findById(usuario.getId()).orElseThrow().getVersao());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void executarComBloqueio_NaoDeveExecutar_EnquantoOutraSessaoTiverOLock() throws Exception {
+        AtomicBoolean executou = new AtomicBoolean();
+
+        try (Connection outraInstancia = dataSource.getConnection()) {
+            // GIVEN: outra "instância" com o lock de sessão
+            assertTrue(funcaoDeBloqueio(outraInstancia, "SELECT pg_try_advisory_lock(?)"));
+
+            // WHEN & THEN: esta execução é ignorada
+            assertFalse(materializacaoRecorrenciaRepository.executarComBloqueio(() -> executou.set(true)));
+            assertFalse(executou.get());
+
+            funcaoDeBloqueio(outraInstancia, "SELECT pg_advisory_unlock(?)");
+
+            // Com o lock livre a tarefa roda e, ao terminar, o lock volta a ficar disponível
+            assertTrue(materializacaoRecorrenciaRepository.executarComBloqueio(() -> executou.set(true)));
+            assertTrue(executou.get());
+            assertTrue(funcaoDeBloqueio(outraInstancia, "SELECT pg_try_advisory_lock(?)"));
+            funcaoDeBloqueio(outraInstancia, "SELECT pg_advisory_unlock(?)");
+        }
+    }
+
+    private List<BigDecimal> totaisDoResumo(String usuarioId, int ano, int mes) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usuarioId", usuarioId)
+                .addValue("ano", ano)
+                .addValue("mes", mes);
+        return jdbcTemplate.queryForList(
+                "SELECT total FROM balanco_mensal_categoria WHERE usuario_id = :usuarioId AND ano = :ano AND mes = :mes",
+                params, BigDecimal.class);
+    }
+
+    private static boolean funcaoDeBloqueio(Connection conexao, String sql) throws Exception {
+        try (PreparedStatement instrucao = conexao.prepareStatement(sql)) {
+            instrucao.setLong(1, MaterializacaoRecorrenciaRepository.CHAVE_BLOQUEIO);
+            try (ResultSet resultado = instrucao.executeQuery()) {
+                return resultado.next() && resultado.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.scaglia.financeiro.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Instant;
+
+/**
+ * O incremento da versão é um upsert (INSERT ... ON CONFLICT DO UPDATE) que só roda no PostgreSQL.
+ */
+@TestePostgreSql
+class VersaoDadosUsuarioRepositoryTest {
+
+    @Autowired
+    private VersaoDadosUsuarioRepository versaoDadosUsuarioRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private EntidadesDeTeste entidades;
+
+    @BeforeEach
+    void setUp() {
+        entidades = new EntidadesDeTeste(entityManager);
+    }
+
+    @Test
+    void incrementar_DeveCriarAVersao1EDepoisIncrementar() {
+        // GIVEN
+        User usuario = entidades.usuario("versao@email.com");
+
+        // WHEN
+        versaoDadosUsuarioRepository.incrementar(usuario.getId(), Instant.now());
+        versaoDadosUsuarioRepository.incrementar(usuario.getId(), Instant.now());
+
+        // THEN
+        assertEquals(2L, versaoDadosUsuarioRepository.findById(usuario.getId()).orElseThrow().getVersao());
+    }
+}
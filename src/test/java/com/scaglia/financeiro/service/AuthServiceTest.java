@@ -0,0 +1,78 @@
+package com.scaglia.financeiro.service;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.config.TokenService;
+import com.scaglia.financeiro.dto.LoginRequestDto;
+import com.scaglia.financeiro.model.User;
+import com.scaglia.financeiro.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private SenhaService senhaService;
+    @Mock
+    private TokenService tokenService;
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuthService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new AuthService(userRepository, senhaService, tokenService, refreshTokenService, meterRegistry);
+    }
+
+    @Test
+    void login_DeveContarFalha_QuandoSenhaForInvalida() {
+        // GIVEN
+        User user = new User();
+        user.setEmail("usuario@email.com");
+        user.setPassword("hash");
+        when(userRepository.findByEmail("usuario@email.com")).thenReturn(Optional.of(user));
+        when(senhaService.confere("errada", "hash")).thenReturn(false);
+
+        // WHEN & THEN
+        assertThrows(BadCredentialsException.class,
+                () -> service.login(new LoginRequestDto("usuario@email.com", "errada")));
+
+        assertEquals(1.0, meterRegistry.counter("financeiro.auth.login", "resultado", "senha_invalida").count());
+        assertEquals(0.0, meterRegistry.counter("financeiro.auth.login", "resultado", "sucesso").count());
+        verify(tokenService, never()).generateToken(any());
+    }
+
+    @Test
+    void login_DeveRegravarHash_QuandoHashForDeAlgoritmoAntigo() {
+        // GIVEN: hash gravado antes do DelegatingPasswordEncoder (sem prefixo {bcrypt})
+        User user = new User();
+        user.setEmail("usuario@email.com");
+        user.setPassword("hash-antigo");
+        when(userRepository.findByEmail("usuario@email.com")).thenReturn(Optional.of(user));
+        when(senhaService.confere("senha123", "hash-antigo")).thenReturn(true);
+        when(senhaService.precisaAtualizar("hash-antigo")).thenReturn(true);
+        when(senhaService.gerarHash("senha123")).thenReturn("{bcrypt}hash-novo");
+
+        // WHEN
+        service.login(new LoginRequestDto("usuario@email.com", "senha123"));
+
+        // THEN
+        assertEquals("{bcrypt}hash-novo", user.getPassword());
+        verify(userRepository).save(user);
+        assertEquals(1.0, meterRegistry.counter("financeiro.auth.login", "resultado", "sucesso").count());
+    }
+}
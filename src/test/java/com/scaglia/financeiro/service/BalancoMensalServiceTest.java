@@ -0,0 +1,56 @@
+package com.scaglia.financeiro.service;
+
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.repository.BalancoMensalCategoriaRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@ExtendWith(MockitoExtension.class)
+class BalancoMensalServiceTest {
+
+    @Mock
+    private BalancoMensalCategoriaRepository balancoMensalCategoriaRepository;
+    @Mock
+    private VersaoDadosService versaoDadosService;
+
+    @InjectMocks
+    private BalancoMensalService service;
+
+    @Test
+    void registrar_DeveSomarAoResumoEmUmaInstrucao_EAvancarAVersao() {
+        // GIVEN
+        Categoria categoria = new Categoria(1L, "Salário", TipoMovimentacao.RECEITA);
+
+        // WHEN
+        service.registrar(TipoMovimentacao.RECEITA, "usuario-1", categoria, LocalDate.of(2024, 3, 10), new BigDecimal("1500.00"));
+
+        // THEN: upsert no banco (cria a linha ou soma à existente), sem leitura prévia nem save separado
+        verify(balancoMensalCategoriaRepository)
+                .somarAoTotal("usuario-1", "RECEITA", 1L, 2024, 3, new BigDecimal("1500.00"));
+        verify(balancoMensalCategoriaRepository, never()).save(any());
+        verify(versaoDadosService).registrarAlteracao("usuario-1");
+    }
+
+    @Test
+    void estornar_DeveSomarValorNegativoAoResumo() {
+        // GIVEN
+        Categoria categoria = new Categoria(2L, "Mercado", TipoMovimentacao.DESPESA);
+
+        // WHEN
+        service.estornar(TipoMovimentacao.DESPESA, "usuario-1", categoria, LocalDate.of(2024, 3, 5), new BigDecimal("80.00"));
+
+        // THEN
+        verify(balancoMensalCategoriaRepository)
+                .somarAoTotal("usuario-1", "DESPESA", 2L, 2024, 3, new BigDecimal("-80.00"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.scaglia.financeiro.service;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.repository.MovimentacaoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+@ExtendWith(MockitoExtension.class)
+class BuscaServiceTest {
+
+    @Mock
+    private MovimentacaoRepository movimentacaoRepository;
+    @Mock
+    private UsuarioAutenticadoService usuarioAutenticadoService;
+
+    @InjectMocks
+    private BuscaService service;
+
+    @Test
+    void buscar_DeveLancarExcecao_QuandoTermoForCurtoDemais() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.buscar(" a ", null, PageRequest.of(0, 20)));
+        verifyNoInteractions(movimentacaoRepository);
+    }
+
+    @Test
+    void buscar_DeveNormalizarTermo_EIgnorarOrdenacaoDaPagina() {
+        // GIVEN
+        when(usuarioAutenticadoService.getUsuarioLogadoId()).thenReturn("usuario-1");
+        when(movimentacaoRepository.buscarPorTexto("usuario-1", TipoMovimentacao.DESPESA, "aluguel", PageRequest.of(1, 20)))
+                .thenReturn(Page.empty());
+
+        // WHEN
+        service.buscar("  aluguel ", TipoMovimentacao.DESPESA, PageRequest.of(1, 20, Sort.by("data")));
+
+        // THEN: a ordem é sempre por relevância
+        verify(movimentacaoRepository).buscarPorTexto("usuario-1", TipoMovimentacao.DESPESA, "aluguel", PageRequest.of(1, 20));
+    }
+}
@@ -9,6 +9,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.scaglia.financeiro.config.CategoriaCache;
 import com.scaglia.financeiro.dto.CategoriaRequestDTO;
 import com.scaglia.financeiro.dto.CategoriaResponseDTO;
 import com.scaglia.financeiro.enums.TipoMovimentacao;
@@ -34,6 +35,8 @@ class CategoriaServiceTest {
     private ReceitaRepository receitaRepository;
     @Mock
     private DespesaRepository despesaRepository;
+    @Mock
+    private CategoriaCache categoriaCache;
 
     @InjectMocks
     private CategoriaService service;
@@ -60,6 +63,7 @@ class CategoriaServiceTest {
     // 3. THEN
     assertNotNull(resultado);
     assertEquals("Alimentação", resultado.getNome());
+    verify(categoriaCache).invalidar();
 }
     @Test
     void criarCategoria_DeveLancarExcecao_QuandoNomeJaExiste() {
@@ -0,0 +1,162 @@
+package com.scaglia.financeiro.service;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scaglia.financeiro.config.CategoriaCache;
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.dto.ImportacaoResponseDTO;
+import com.scaglia.financeiro.dto.MovimentacaoExportacaoDTO;
+import com.scaglia.financeiro.enums.FormatoExportacao;
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.Receita;
+import com.scaglia.financeiro.model.User;
+import com.scaglia.financeiro.repository.CategoriaRepository;
+import com.scaglia.financeiro.repository.MovimentacaoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@ExtendWith(MockitoExtension.class)
+class ExportacaoServiceTest {
+
+    @Mock
+    private MovimentacaoRepository movimentacaoRepository;
+    @Mock
+    private UsuarioAutenticadoService usuarioAutenticadoService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExportacaoService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ExportacaoService(movimentacaoRepository, usuarioAutenticadoService, transactionManager, new ObjectMapper());
+    }
+
+    @Test
+    void exportar_DeveEscreverCsvComDescricaoEscapada_QuandoDescricaoContiverSeparador() throws Exception {
+        // GIVEN
+        LocalDate inicio = LocalDate.of(2025, 1, 1);
+        LocalDate fim = LocalDate.of(2025, 1, 31);
+        when(usuarioAutenticadoService.getUsuarioLogadoId()).thenReturn("usuario-1");
+        when(movimentacaoRepository.streamParaExportacao(eq(TipoMovimentacao.RECEITA), eq("usuario-1"), eq(inicio), eq(fim)))
+                .thenReturn(Stream.of(new MovimentacaoExportacaoDTO(
+                        TipoMovimentacao.RECEITA, 7L, LocalDate.of(2025, 1, 5), "Salário; parte \"1\"",
+                        new BigDecimal("1500.00"), NaturezaMovimentacao.FIXA, 1L, "Salário"
+                )));
+
+        // WHEN
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        service.exportar(TipoMovimentacao.RECEITA, inicio, fim, FormatoExportacao.CSV).writeTo(saida);
+
+        // THEN
+        assertEquals(
+                "tipo;id;data;descricao;valor;natureza;categoriaId;categoria\n"
+                        + "RECEITA;7;2025-01-05;\"Salário; parte \"\"1\"\"\";1500.00;FIXA;1;Salário\n",
+                saida.toString(StandardCharsets.UTF_8)
+        );
+        verify(movimentacaoRepository, never()).streamParaExportacao(eq(TipoMovimentacao.DESPESA), any(), any(), any());
+    }
+
+    @Test
+    void exportar_DeveGerarArquivoReimportavel_QuandoFormatoForCsvImportacao() throws Exception {
+        // GIVEN: exportação de receitas no layout de importação
+        LocalDate inicio = LocalDate.of(2025, 1, 1);
+        LocalDate fim = LocalDate.of(2025, 1, 31);
+        when(usuarioAutenticadoService.getUsuarioLogadoId()).thenReturn("usuario-1");
+        when(movimentacaoRepository.streamParaExportacao(eq(TipoMovimentacao.RECEITA), eq("usuario-1"), eq(inicio), eq(fim)))
+                .thenReturn(Stream.of(
+                        new MovimentacaoExportacaoDTO(TipoMovimentacao.RECEITA, 7L, LocalDate.of(2025, 1, 5),
+                                "Salário; parte \"1\"", new BigDecimal("1500.00"), NaturezaMovimentacao.FIXA, 1L, "Salário"),
+                        new MovimentacaoExportacaoDTO(TipoMovimentacao.RECEITA, 8L, LocalDate.of(2025, 1, 20),
+                                "Freela\nmensal", new BigDecimal("300.50"), NaturezaMovimentacao.VARIAVEL, 1L, "Salário")
+                ));
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        service.exportar(TipoMovimentacao.RECEITA, inicio, fim, FormatoExportacao.CSV_IMPORTACAO).writeTo(saida);
+
+        // WHEN: o arquivo exportado é enviado para a importação
+        EntityManager entityManager = mock(EntityManager.class);
+        ImportacaoService importacaoService = criarImportacaoService(entityManager);
+        ImportacaoResponseDTO resultado = importacaoService.importarCsv(
+                TipoMovimentacao.RECEITA, new ByteArrayInputStream(saida.toByteArray())
+        );
+
+        // THEN: todas as linhas voltam com os mesmos dados
+        assertEquals(2, resultado.importadas());
+        assertTrue(resultado.erros().isEmpty());
+
+        ArgumentCaptor<Receita> receitas = ArgumentCaptor.forClass(Receita.class);
+        verify(entityManager, times(2)).persist(receitas.capture());
+        Receita primeira = receitas.getAllValues().get(0);
+        assertEquals("Salário; parte \"1\"", primeira.getDescricao());
+        assertEquals(new BigDecimal("1500.00"), primeira.getValor());
+        assertEquals(LocalDate.of(2025, 1, 5), primeira.getData());
+        assertEquals(NaturezaMovimentacao.FIXA, primeira.getNatureza());
+        assertEquals(1L, primeira.getCategoria().getId());
+        Receita segunda = receitas.getAllValues().get(1);
+        assertEquals("Freela mensal", segunda.getDescricao());
+        assertEquals(new BigDecimal("300.50"), segunda.getValor());
+    }
+
+    @Test
+    void exportar_DeveLancarExcecao_QuandoFormatoForCsvImportacaoSemTipo() {
+        // WHEN & THEN: a importação é por tipo, então um arquivo misto não é gerado
+        assertThrows(IllegalArgumentException.class, () -> service.exportar(
+                null, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), FormatoExportacao.CSV_IMPORTACAO
+        ));
+        verifyNoInteractions(movimentacaoRepository);
+    }
+
+    @Test
+    void exportar_DeveLancarExcecao_QuandoPeriodoForInvalido() {
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> service.exportar(
+                null, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), FormatoExportacao.CSV
+        ));
+        verifyNoInteractions(movimentacaoRepository);
+    }
+
+    private static ImportacaoService criarImportacaoService(EntityManager entityManager) {
+        User usuario = new User();
+        usuario.setId("usuario-1");
+        UsuarioAutenticadoService usuarioLogado = mock(UsuarioAutenticadoService.class);
+        when(usuarioLogado.getUsuarioLogado()).thenReturn(usuario);
+
+        CategoriaCache categoriaCache = mock(CategoriaCache.class);
+        when(categoriaCache.buscarPorId(1L)).thenReturn(Optional.of(new CategoriaResponseDTO(1L, "Salário", TipoMovimentacao.RECEITA)));
+        CategoriaRepository categoriaRepository = mock(CategoriaRepository.class);
+        when(categoriaRepository.getReferenceById(1L)).thenReturn(new Categoria(1L, "Salário", TipoMovimentacao.RECEITA));
+
+        ImportacaoService importacaoService = new ImportacaoService(
+                categoriaRepository,
+                categoriaCache,
+                usuarioLogado,
+                mock(BalancoMensalService.class),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                entityManager
+        );
+        ReflectionTestUtils.setField(importacaoService, "maxLinhas", 1000);
+        return importacaoService;
+    }
+}
@@ -0,0 +1,64 @@
+package com.scaglia.financeiro.service;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.dto.CursorExtratoDTO;
+import com.scaglia.financeiro.dto.CursorPageDTO;
+import com.scaglia.financeiro.dto.LancamentoExtratoDTO;
+import com.scaglia.financeiro.enums.NaturezaMovimentacao;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.repository.MovimentacaoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class ExtratoServiceTest {
+
+    @Mock
+    private MovimentacaoRepository movimentacaoRepository;
+    @Mock
+    private UsuarioAutenticadoService usuarioAutenticadoService;
+
+    @InjectMocks
+    private ExtratoService service;
+
+    @Test
+    void listar_DeveGerarCursorComTipo_QuandoHouverProximaPagina() {
+        // GIVEN: receita e despesa com o mesmo id (sequences distintas)
+        LocalDate data = LocalDate.of(2025, 3, 10);
+        when(usuarioAutenticadoService.getUsuarioLogadoId()).thenReturn("usuario-1");
+        when(movimentacaoRepository.buscarExtrato("usuario-1", null, null, null, 3)).thenReturn(List.of(
+                lancamento(TipoMovimentacao.RECEITA, 7L, data, "900.00"),
+                lancamento(TipoMovimentacao.DESPESA, 7L, data, "-100.00"),
+                lancamento(TipoMovimentacao.DESPESA, 5L, data, "0.00")
+        ));
+
+        // WHEN
+        CursorPageDTO<LancamentoExtratoDTO> pagina = service.listar(null, null, null, 2);
+
+        // THEN
+        assertEquals(2, pagina.content().size());
+        assertTrue(pagina.hasNext());
+        assertEquals(new CursorExtratoDTO(data, TipoMovimentacao.DESPESA, 7L), CursorExtratoDTO.decodificar(pagina.nextCursor()));
+    }
+
+    @Test
+    void listar_DeveLancarExcecao_QuandoPeriodoForInvertido() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.listar(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), null, 20));
+        verifyNoInteractions(movimentacaoRepository);
+    }
+
+    private static LancamentoExtratoDTO lancamento(TipoMovimentacao tipo, Long id, LocalDate data, String saldo) {
+        return new LancamentoExtratoDTO(tipo, id, data, "Lançamento", new BigDecimal("100.00"),
+                NaturezaMovimentacao.VARIAVEL, 1L, "Outros", new BigDecimal(saldo));
+    }
+}
@@ -0,0 +1,112 @@
+package com.scaglia.financeiro.service;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.config.CategoriaCache;
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.dto.ImportacaoResponseDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.Receita;
+import com.scaglia.financeiro.model.User;
+import com.scaglia.financeiro.repository.CategoriaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacaoServiceTest {
+
+    @Mock
+    private CategoriaRepository categoriaRepository;
+    @Mock
+    private CategoriaCache categoriaCache;
+    @Mock
+    private UsuarioAutenticadoService usuarioAutenticadoService;
+    @Mock
+    private BalancoMensalService balancoMensalService;
+    @Mock
+    private EntityManager entityManager;
+
+    private ImportacaoService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImportacaoService(
+                categoriaRepository,
+                categoriaCache,
+                usuarioAutenticadoService,
+                balancoMensalService,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                entityManager
+        );
+        ReflectionTestUtils.setField(service, "maxLinhas", 1000);
+    }
+
+    private void prepararUsuarioECategorias() {
+        User usuario = new User();
+        usuario.setId("usuario-1");
+        when(usuarioAutenticadoService.getUsuarioLogado()).thenReturn(usuario);
+
+        when(categoriaCache.buscarPorId(anyLong())).thenReturn(Optional.empty());
+        when(categoriaCache.buscarPorId(1L)).thenReturn(Optional.of(new CategoriaResponseDTO(1L, "Salário", TipoMovimentacao.RECEITA)));
+        when(categoriaCache.buscarPorId(2L)).thenReturn(Optional.of(new CategoriaResponseDTO(2L, "Mercado", TipoMovimentacao.DESPESA)));
+        when(categoriaRepository.getReferenceById(1L)).thenReturn(new Categoria(1L, "Salário", TipoMovimentacao.RECEITA));
+    }
+
+    @Test
+    void importarCsv_DeveGravarLinhasValidas_ERelatarLinhasInvalidas() {
+        // GIVEN: duas linhas válidas do mesmo mês e três inválidas (categoria de despesa, valor e categoria inexistente)
+        prepararUsuarioECategorias();
+        String csv = """
+                descricao;valor;data;natureza;categoriaId
+                Salário; parte 1;1.500,00;2025-01-05;FIXA;1
+                Salário parte 2;500.00;31/01/2025;FIXA;1
+                Compra;10,00;2025-01-10;VARIAVEL;2
+                Bônus;abc;2025-01-15;VARIAVEL;1
+                Freela;100,00;2025-01-20;VARIAVEL;99
+                """;
+
+        // WHEN
+        ImportacaoResponseDTO resultado = service.importarCsv(
+                TipoMovimentacao.RECEITA, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))
+        );
+
+        // THEN
+        assertEquals(5, resultado.totalLinhas());
+        assertEquals(2, resultado.importadas());
+        assertEquals(List.of(3, 4, 5), resultado.erros().stream().map(erro -> erro.linha()).toList());
+        verify(entityManager, times(2)).persist(any(Receita.class));
+
+        // Uma única atualização do resumo para a categoria/mês, com a soma das duas linhas
+        verify(balancoMensalService, times(1)).ajustar(
+                eq(TipoMovimentacao.RECEITA), eq("usuario-1"), any(Categoria.class), eq(2025), eq(1),
+                eq(new BigDecimal("2000.00"))
+        );
+    }
+
+    @Test
+    void importarCsv_DeveLancarExcecao_QuandoCabecalhoForInvalido() {
+        // GIVEN
+        String csv = "descricao,valor,data\nSalário,10,2025-01-05\n";
+
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> service.importarCsv(
+                TipoMovimentacao.RECEITA, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))
+        ));
+        verifyNoInteractions(entityManager);
+    }
+}
@@ -0,0 +1,82 @@
+package com.scaglia.financeiro.service;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.config.CategoriaCache;
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.dto.ExclusaoEmLoteRequestDTO;
+import com.scaglia.financeiro.dto.OperacaoEmLoteResponseDTO;
+import com.scaglia.financeiro.dto.RecategorizacaoRequestDTO;
+import com.scaglia.financeiro.dto.VariacaoMensalCategoriaDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.repository.CategoriaRepository;
+import com.scaglia.financeiro.repository.MovimentacaoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class OperacaoEmLoteServiceTest {
+
+    @Mock
+    private MovimentacaoRepository movimentacaoRepository;
+    @Mock
+    private CategoriaRepository categoriaRepository;
+    @Mock
+    private CategoriaCache categoriaCache;
+    @Mock
+    private UsuarioAutenticadoService usuarioAutenticadoService;
+    @Mock
+    private BalancoMensalService balancoMensalService;
+
+    @InjectMocks
+    private OperacaoEmLoteService service;
+
+    @Test
+    void excluir_DeveLancarExcecao_QuandoNaoHouverIdsNemPeriodo() {
+        // GIVEN: só a categoria, sem ids e sem período
+        ExclusaoEmLoteRequestDTO dto = new ExclusaoEmLoteRequestDTO();
+        dto.setCategoriaId(3L);
+
+        // WHEN & THEN
+        assertThrows(IllegalArgumentException.class, () -> service.excluir(TipoMovimentacao.DESPESA, dto));
+        verifyNoInteractions(movimentacaoRepository, balancoMensalService);
+    }
+
+    @Test
+    void recategorizar_DeveMoverTotaisEntreCategoriasNoResumo() {
+        // GIVEN: 3 despesas de março na categoria 1 passam para a categoria 2
+        RecategorizacaoRequestDTO dto = new RecategorizacaoRequestDTO();
+        dto.setIds(List.of(10L, 11L, 12L));
+        dto.setCategoriaId(2L);
+
+        Categoria anterior = new Categoria();
+        anterior.setId(1L);
+        Categoria nova = new Categoria();
+        nova.setId(2L);
+
+        when(categoriaCache.buscarPorId(2L)).thenReturn(Optional.of(new CategoriaResponseDTO(2L, "Mercado", TipoMovimentacao.DESPESA)));
+        when(usuarioAutenticadoService.getUsuarioLogadoId()).thenReturn("usuario-1");
+        when(categoriaRepository.getReferenceById(1L)).thenReturn(anterior);
+        when(categoriaRepository.getReferenceById(2L)).thenReturn(nova);
+        when(movimentacaoRepository.recategorizarEmLote(TipoMovimentacao.DESPESA, "usuario-1", dto.getIds(), 2L))
+                .thenReturn(List.of(new VariacaoMensalCategoriaDTO(1L, 2025, 3, new BigDecimal("150.00"), 3)));
+
+        // WHEN
+        OperacaoEmLoteResponseDTO resultado = service.recategorizar(TipoMovimentacao.DESPESA, dto);
+
+        // THEN
+        assertEquals(3, resultado.afetadas());
+        verify(balancoMensalService).ajustar(TipoMovimentacao.DESPESA, "usuario-1", anterior, 2025, 3, new BigDecimal("-150.00"));
+        verify(balancoMensalService).ajustar(TipoMovimentacao.DESPESA, "usuario-1", nova, 2025, 3, new BigDecimal("150.00"));
+    }
+}
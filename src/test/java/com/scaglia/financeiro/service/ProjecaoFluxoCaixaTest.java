@@ -0,0 +1,45 @@
+package com.scaglia.financeiro.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.dto.BaseProjecaoDTO;
+import com.scaglia.financeiro.dto.CompromissoFixoDTO;
+import com.scaglia.financeiro.dto.ProjecaoFluxoCaixaDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+class ProjecaoFluxoCaixaTest {
+
+    private final ProjecaoFluxoCaixa projecaoFluxoCaixa = new ProjecaoFluxoCaixa();
+
+    @Test
+    void projetar_DeveRepetirCompromissosMensalmente_ESomarTendenciaDiaria() {
+        // GIVEN: aluguel já pago neste mês, salário no último dia do mês e variáveis de -900,00 em 90 dias
+        LocalDate hoje = LocalDate.of(2025, 1, 15);
+        List<CompromissoFixoDTO> compromissos = List.of(
+                new CompromissoFixoDTO(TipoMovimentacao.DESPESA, "Aluguel", 1L, new BigDecimal("1000.00"), LocalDate.of(2025, 1, 5)),
+                new CompromissoFixoDTO(TipoMovimentacao.RECEITA, "Salário", 2L, new BigDecimal("5000.00"), LocalDate.of(2024, 12, 31))
+        );
+        BaseProjecaoDTO base = new BaseProjecaoDTO(new BigDecimal("500.00"), new BigDecimal("-900.00"));
+
+        // WHEN
+        ProjecaoFluxoCaixaDTO projecao = projecaoFluxoCaixa.projetar(hoje, 2, 90, base, compromissos);
+
+        // THEN: de 16/01 a 15/03
+        assertEquals(59, projecao.getSaldos().size());
+        assertEquals(LocalDate.of(2025, 1, 16), projecao.getDataInicial());
+        assertEquals(new BigDecimal("490.00"), projecao.getSaldos().get(0));
+        assertEquals(new BigDecimal("5340.00"), projecao.getSaldos().get(15));  // 31/01: salário
+        assertEquals(new BigDecimal("4290.00"), projecao.getSaldos().get(20));  // 05/02: aluguel
+        assertEquals(new BigDecimal("9060.00"), projecao.getSaldos().get(43));  // 28/02: salário do dia 31
+        assertEquals(new BigDecimal("7910.00"), projecao.getSaldoFinal());
+        assertEquals(new BigDecimal("350.00"), projecao.getSaldoMinimo());
+        assertEquals(LocalDate.of(2025, 1, 30), projecao.getDataSaldoMinimo());
+        assertNull(projecao.getPrimeiraDataNegativa());
+        assertEquals(new BigDecimal("-10.00"), projecao.getVariacaoDiariaVariaveis());
+    }
+}
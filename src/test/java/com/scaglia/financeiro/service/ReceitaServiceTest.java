@@ -46,11 +46,11 @@ class ReceitaServiceTest {
         receitaDoBanco.setId(1L);
         receitaDoBanco.setUsuario(dono); // A receita pertence ao 'dono'
 
-        // Ensinamos o Mockito
-        when(receitaRepository.findById(1L)).thenReturn(Optional.of(receitaDoBanco));
-        
         // Simulamos que quem está logado AGORA é o 'invasor'
-        when(usuarioAutenticadoService.getUsuarioLogado()).thenReturn(invasor);
+        when(usuarioAutenticadoService.getUsuarioLogadoId()).thenReturn(invasor.getId());
+
+        // A consulta filtra pelo dono: para o 'invasor', a receita do 'dono' não existe
+        when(receitaRepository.buscarDoUsuario(1L, invasor.getId())).thenReturn(Optional.empty());
 
         // WHEN & THEN: O teste espera que uma exceção aconteça
         assertThrows(RecursoNaoEncontradoException.class, () -> {
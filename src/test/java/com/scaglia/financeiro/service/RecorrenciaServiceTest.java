@@ -0,0 +1,146 @@
+package com.scaglia.financeiro.service;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.scaglia.financeiro.config.CategoriaCache;
+import com.scaglia.financeiro.dto.CategoriaResponseDTO;
+import com.scaglia.financeiro.dto.RecorrenciaRequestDTO;
+import com.scaglia.financeiro.enums.TipoMovimentacao;
+import com.scaglia.financeiro.mapper.RecorrenciaMapper;
+import com.scaglia.financeiro.model.Categoria;
+import com.scaglia.financeiro.model.Recorrencia;
+import com.scaglia.financeiro.model.User;
+import com.scaglia.financeiro.repository.CategoriaRepository;
+import com.scaglia.financeiro.repository.MaterializacaoRecorrenciaRepository;
+import com.scaglia.financeiro.repository.RecorrenciaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+@ExtendWith(MockitoExtension.class)
+class RecorrenciaServiceTest {
+
+    @Mock
+    private MaterializacaoRecorrenciaRepository materializacaoRecorrenciaRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private RecorrenciaRepository recorrenciaRepository;
+    @Mock
+    private CategoriaRepository categoriaRepository;
+    @Mock
+    private CategoriaCache categoriaCache;
+    @Mock
+    private UsuarioAutenticadoService usuarioAutenticadoService;
+    @Mock
+    private RecorrenciaMapper recorrenciaMapper;
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private RecorrenciaService service;
+
+    @Test
+    void materializarPendentes_DeveProcessarBlocosAteOUltimoIncompleto() {
+        // GIVEN: tamanho do lote padrão (500); o primeiro bloco vem cheio, o segundo não
+        List<String> primeiroBloco = IntStream.range(0, 500).mapToObj(i -> "usuario-%03d".formatted(i)).toList();
+        executarComLockObtido();
+        when(materializacaoRecorrenciaRepository.buscarUsuariosComPendencias(any(), eq(""), eq(500))).thenReturn(primeiroBloco);
+        when(materializacaoRecorrenciaRepository.buscarUsuariosComPendencias(any(), eq("usuario-499"), eq(500)))
+                .thenReturn(List.of("usuario-500"));
+
+        // WHEN
+        service.materializarPendentes();
+
+        // THEN: duas instruções de inserção e um avanço por bloco, com o lock obtido uma única vez para a execução
+        verify(materializacaoRecorrenciaRepository).materializar(eq(TipoMovimentacao.RECEITA), eq(primeiroBloco), any());
+        verify(materializacaoRecorrenciaRepository).materializar(eq(TipoMovimentacao.DESPESA), eq(List.of("usuario-500")), any());
+        verify(materializacaoRecorrenciaRepository, times(2)).avancar(any(), any());
+        verify(materializacaoRecorrenciaRepository, times(1)).executarComBloqueio(any());
+    }
+
+    @Test
+    void materializarPendentes_NaoDeveFazerNada_QuandoOutraInstanciaTiverOLock() {
+        // GIVEN
+        when(materializacaoRecorrenciaRepository.executarComBloqueio(any())).thenReturn(false);
+
+        // WHEN
+        service.materializarPendentes();
+
+        // THEN
+        verify(materializacaoRecorrenciaRepository, never()).buscarUsuariosComPendencias(any(), any(), anyInt());
+        verify(materializacaoRecorrenciaRepository, never()).materializar(any(), any(), any());
+    }
+
+    @Test
+    void criar_DeveMaterializarOcorrenciasVencidas_NaMesmaTransacao() {
+        // GIVEN: regra iniciada há dois meses
+        Recorrencia[] salva = new Recorrencia[1];
+        prepararCriacao();
+        when(recorrenciaRepository.saveAndFlush(any(Recorrencia.class))).thenAnswer(invocacao -> {
+            salva[0] = invocacao.getArgument(0);
+            return salva[0];
+        });
+        RecorrenciaRequestDTO dto = requisicao(LocalDate.now().minusMonths(2));
+
+        // WHEN
+        service.criar(dto);
+
+        // THEN: somente o usuário da regra, nos dois tipos, sem o lock do agendador; a entidade é relida após o avanço
+        verify(materializacaoRecorrenciaRepository).materializar(eq(TipoMovimentacao.RECEITA), eq(List.of("usuario-1")), any());
+        verify(materializacaoRecorrenciaRepository).materializar(eq(TipoMovimentacao.DESPESA), eq(List.of("usuario-1")), any());
+        verify(materializacaoRecorrenciaRepository).avancar(eq(List.of("usuario-1")), any());
+        verify(materializacaoRecorrenciaRepository, never()).executarComBloqueio(any());
+        verify(entityManager).refresh(salva[0]);
+    }
+
+    @Test
+    void criar_NaoDeveMaterializar_QuandoPrimeiraOcorrenciaForFutura() {
+        // GIVEN
+        prepararCriacao();
+
+        // WHEN
+        service.criar(requisicao(LocalDate.now().plusDays(10)));
+
+        // THEN
+        verify(recorrenciaRepository).saveAndFlush(any(Recorrencia.class));
+        verifyNoInteractions(materializacaoRecorrenciaRepository);
+        verify(entityManager, never()).refresh(any());
+    }
+
+    private void executarComLockObtido() {
+        when(materializacaoRecorrenciaRepository.executarComBloqueio(any())).thenAnswer(invocacao -> {
+            invocacao.<Runnable>getArgument(0).run();
+            return true;
+        });
+    }
+
+    private void prepararCriacao() {
+        User usuario = new User();
+        usuario.setId("usuario-1");
+        when(usuarioAutenticadoService.getUsuarioLogado()).thenReturn(usuario);
+        when(categoriaCache.buscarPorId(1L)).thenReturn(Optional.of(new CategoriaResponseDTO(1L, "Salário", TipoMovimentacao.RECEITA)));
+        when(categoriaRepository.getReferenceById(1L)).thenReturn(new Categoria(1L, "Salário", TipoMovimentacao.RECEITA));
+    }
+
+    private static RecorrenciaRequestDTO requisicao(LocalDate dataInicio) {
+        RecorrenciaRequestDTO dto = new RecorrenciaRequestDTO();
+        dto.setTipo(TipoMovimentacao.RECEITA);
+        dto.setDescricao("Salário");
+        dto.setValor(new BigDecimal("5000.00"));
+        dto.setCategoriaId(1L);
+        dto.setDataInicio(dataInicio);
+        return dto;
+    }
+}
@@ -0,0 +1,66 @@
+package com.scaglia.financeiro.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.model.RefreshToken;
+import com.scaglia.financeiro.model.User;
+import com.scaglia.financeiro.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService service;
+
+    @Test
+    void emitir_DeveGuardarApenasOHashDoToken() {
+        // GIVEN
+        User user = new User();
+        user.setId("usuario-1");
+
+        // WHEN
+        String token = service.emitir(user);
+
+        // THEN
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertNotEquals(token, captor.getValue().getTokenHash());
+        assertEquals(64, captor.getValue().getTokenHash().length());
+        assertTrue(captor.getValue().getExpiraEm().isAfter(Instant.now()));
+    }
+
+    @Test
+    void consumir_DeveRevogarTodasAsSessoes_QuandoTokenJaTiverSidoRotacionado() {
+        // GIVEN: token encontrado, mas a revogação condicional não altera nenhuma linha (já revogado)
+        User user = new User();
+        user.setId("usuario-1");
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setId(10L);
+        refreshToken.setUser(user);
+        refreshToken.setExpiraEm(Instant.now().plus(1, ChronoUnit.DAYS));
+        when(refreshTokenRepository.buscarPorHashComUsuario(anyString())).thenReturn(Optional.of(refreshToken));
+        when(refreshTokenRepository.revogar(eq(10L), any())).thenReturn(0);
+
+        // WHEN & THEN
+        assertThrows(BadCredentialsException.class, () -> service.consumir("token-reutilizado"));
+        verify(refreshTokenRepository).revogarTodosDoUsuario(eq("usuario-1"), any());
+    }
+}
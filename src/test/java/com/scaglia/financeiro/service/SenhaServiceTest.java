@@ -0,0 +1,66 @@
+package com.scaglia.financeiro.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.scaglia.financeiro.exception.LimiteRequisicoesException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class SenhaServiceTest {
+
+    @Test
+    void gerarHash_DeveLancarLimiteRequisicoes_QuandoPoolEFilaEstiveremCheios() throws Exception {
+        // GIVEN: 1 thread, fila de 1 e um encoder que só termina quando liberado
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch emExecucao = new CountDownLatch(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SenhaService senhaService = new SenhaService(encoderBloqueante(emExecucao, liberar), meterRegistry,
+                1, 1, Duration.ofSeconds(5));
+
+        CompletableFuture<String> primeiro = CompletableFuture.supplyAsync(() -> senhaService.gerarHash("a"));
+        assertTrue(emExecucao.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> segundo = CompletableFuture.supplyAsync(() -> senhaService.gerarHash("b"));
+        aguardarFila(meterRegistry);
+
+        // WHEN & THEN: o terceiro não cabe nem no pool nem na fila
+        assertThrows(LimiteRequisicoesException.class, () -> senhaService.gerarHash("c"));
+        assertEquals(1.0, meterRegistry.counter("financeiro.senha.rejeicoes").count());
+
+        liberar.countDown();
+        assertEquals("hash-a", primeiro.get(5, TimeUnit.SECONDS));
+        assertEquals("hash-b", segundo.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void aguardarFila(SimpleMeterRegistry meterRegistry) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("financeiro.senha.fila").gauge().value() < 1 && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static PasswordEncoder encoderBloqueante(CountDownLatch emExecucao, CountDownLatch liberar) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence senha) {
+                emExecucao.countDown();
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash-" + senha;
+            }
+
+            @Override
+            public boolean matches(CharSequence senha, String hash) {
+                return hash.equals(encode(senha));
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.scaglia.financeiro.service;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.scaglia.financeiro.repository.VersaoDadosUsuarioRepository;
+
+import java.time.Instant;
+
+@ExtendWith(MockitoExtension.class)
+class VersaoDadosServiceTest {
+
+    @Mock
+    private VersaoDadosUsuarioRepository versaoDadosUsuarioRepository;
+
+    @InjectMocks
+    private VersaoDadosService service;
+
+    @Test
+    void registrarAlteracao_DeveIncrementarEmUmaInstrucao_SemLeituraNemSaveSeparado() {
+        // WHEN
+        service.registrarAlteracao("usuario-1");
+
+        // THEN: o upsert cria a primeira versão ou incrementa a existente no próprio banco
+        verify(versaoDadosUsuarioRepository).incrementar(eq("usuario-1"), any(Instant.class));
+        verifyNoMoreInteractions(versaoDadosUsuarioRepository);
+    }
+}